@@ -0,0 +1,61 @@
+package br.com.walyson.secure_link.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import br.com.walyson.secure_link.config.filter.CorrelationFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+// One pass through the filter with and without a caller-supplied id; the
+// difference is the random UUID generation. Request and response are
+// reused, so the mocks add no allocation per call.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms512m", "-Xmx512m" })
+public class CorrelationFilterBenchmark {
+
+  private static final FilterChain NOOP_CHAIN = (request, response) -> { };
+
+  private final CorrelationFilter filter = new CorrelationFilter();
+
+  private MockHttpServletRequest withoutHeader;
+  private MockHttpServletRequest withHeader;
+  private MockHttpServletResponse response;
+
+  @Setup
+  public void setUp() {
+    withoutHeader = new MockHttpServletRequest("GET", "/l/abc12345");
+    withHeader = new MockHttpServletRequest("GET", "/l/abc12345");
+    withHeader.addHeader(CorrelationFilter.CORRELATION_ID_HEADER, "6f1c2b0e-5d7a-4e1b-9c3f-2a8d4e6b7c90");
+    response = new MockHttpServletResponse();
+  }
+
+  @Benchmark
+  public String generatedId() throws ServletException, IOException {
+    filter.doFilter(withoutHeader, response, NOOP_CHAIN);
+    return response.getHeader(CorrelationFilter.CORRELATION_ID_HEADER);
+  }
+
+  @Benchmark
+  public String propagatedId() throws ServletException, IOException {
+    filter.doFilter(withHeader, response, NOOP_CHAIN);
+    return response.getHeader(CorrelationFilter.CORRELATION_ID_HEADER);
+  }
+}
@@ -0,0 +1,61 @@
+package br.com.walyson.secure_link.benchmark;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.walyson.secure_link.domain.SecureLink;
+
+// State checks run on every resolve. isExpired reads the clock in the
+// link's offset; an expired link has already switched status after the
+// first call, so later calls measure the steady state.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms512m", "-Xmx512m" })
+public class SecureLinkStateBenchmark {
+
+  private SecureLink active;
+  private SecureLink expired;
+  private SecureLink withoutExpiration;
+
+  @Setup
+  public void setUp() {
+    active = new SecureLink("active01", "https://example.com", OffsetDateTime.now().plusDays(1), 10);
+    active.setViewCount(3);
+    expired = new SecureLink("expired1", "https://example.com", OffsetDateTime.now().minusDays(1), 10);
+    withoutExpiration = new SecureLink("forever1", "https://example.com", null, null);
+  }
+
+  @Benchmark
+  public boolean isExpiredActive() {
+    return active.isExpired();
+  }
+
+  @Benchmark
+  public boolean isExpiredPast() {
+    return expired.isExpired();
+  }
+
+  @Benchmark
+  public boolean isExpiredWithoutExpiration() {
+    return withoutExpiration.isExpired();
+  }
+
+  @Benchmark
+  public boolean hasReachedViewLimit() {
+    return active.hasReachedViewLimit();
+  }
+}
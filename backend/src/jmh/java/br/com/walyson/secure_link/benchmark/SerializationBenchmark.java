@@ -0,0 +1,71 @@
+package br.com.walyson.secure_link.benchmark;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.walyson.secure_link.dto.CreateLinkResponseDto;
+import br.com.walyson.secure_link.dto.stats.AccessSummaryDto;
+import br.com.walyson.secure_link.dto.stats.TopLinkDto;
+import tools.jackson.databind.json.JsonMapper;
+
+// Response bodies rendered with a plain Jackson 3 JsonMapper; the mapper of
+// the application only adds customizers on top of these defaults.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms512m", "-Xmx512m" })
+public class SerializationBenchmark {
+
+  private JsonMapper mapper;
+  private CreateLinkResponseDto createLinkResponse;
+  private AccessSummaryDto accessSummary;
+  private List<TopLinkDto> topLinks;
+
+  @Setup
+  public void setUp() {
+    mapper = JsonMapper.builder().build();
+    createLinkResponse = new CreateLinkResponseDto(
+      "abc12345",
+      "http://localhost:8080/l/abc12345",
+      OffsetDateTime.parse("2026-12-31T23:59:59Z"),
+      10
+    );
+    accessSummary = new AccessSummaryDto(1000, 850, 150, 40, 320);
+
+    List<TopLinkDto> items = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      items.add(new TopLinkDto("code%04d".formatted(i), 10_000 - i * 100L, i % 3));
+    }
+    topLinks = items;
+  }
+
+  @Benchmark
+  public byte[] createLinkResponse() {
+    return mapper.writeValueAsBytes(createLinkResponse);
+  }
+
+  @Benchmark
+  public byte[] accessSummary() {
+    return mapper.writeValueAsBytes(accessSummary);
+  }
+
+  @Benchmark
+  public byte[] topLinksPage() {
+    return mapper.writeValueAsBytes(topLinks);
+  }
+}
@@ -0,0 +1,41 @@
+package br.com.walyson.secure_link.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.walyson.secure_link.utils.CodeUtils;
+
+// NanoId over the shared SecureRandom. The contended variant shows what
+// concurrent creations pay for that single generator.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms512m", "-Xmx512m" })
+public class ShortCodeBenchmark {
+
+  // generateShortCode touches neither the repository nor the registry.
+  private final CodeUtils codeUtils = new CodeUtils(null, null);
+
+  @Benchmark
+  public String generateShortCode() {
+    return codeUtils.generateShortCode();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public String generateShortCodeContended() {
+    return codeUtils.generateShortCode();
+  }
+}
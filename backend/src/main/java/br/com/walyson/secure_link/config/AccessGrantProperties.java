@@ -0,0 +1,23 @@
+package br.com.walyson.secure_link.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "app.link.grant")
+public class AccessGrantProperties {
+
+  @NotNull
+  private Duration ttl = Duration.ofMinutes(5);
+
+  // When blank a random key is generated at startup, so grants are only
+  // honoured by the instance that issued them.
+  private String secret;
+
+}
@@ -0,0 +1,41 @@
+package br.com.walyson.secure_link.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "app.audit.retention")
+public class AuditRetentionProperties {
+
+  private boolean enabled = true;
+
+  @NotNull
+  private Duration interval = Duration.ofHours(1);
+
+  // Lease held by the replica running the job; it is renewed once per run,
+  // so it must outlast the interval.
+  @NotNull
+  private Duration leaseTtl = Duration.ofMinutes(75);
+
+  // Months kept in link_access_audit, counting the current one. Older
+  // partitions are archived and dropped once they are fully rolled up.
+  @Min(1)
+  private int keepMonths = 6;
+
+  // Empty monthly partitions created ahead of time, so rows never land in
+  // p_future and splitting it stays a metadata-only change.
+  @Min(1)
+  private int monthsAhead = 3;
+
+  @NotBlank
+  private String archivePath = "/tmp/audit-archive/";
+
+}
@@ -0,0 +1,34 @@
+package br.com.walyson.secure_link.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "app.audit.writer")
+public class AuditWriterProperties {
+
+  @Positive
+  private int capacity = 10_000;
+
+  @Positive
+  private int batchSize = 100;
+
+  @NotNull
+  private Duration flushInterval = Duration.ofSeconds(1);
+
+  @NotNull
+  private OverflowPolicy overflowPolicy = OverflowPolicy.SYNC;
+
+  public enum OverflowPolicy {
+    BLOCK,
+    DROP,
+    SYNC
+  }
+}
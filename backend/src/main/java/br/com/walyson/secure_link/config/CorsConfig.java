@@ -13,8 +13,10 @@ public class CorsConfig implements WebMvcConfigurer {
         .addMapping("/**")
         .allowedOrigins("http://localhost:4200", "http://127.0.0.1:4200")
         .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
-        .allowedHeaders("Content-Type", "Authorization", "X-Link-Password", "X-Correlation-Id")
-        .exposedHeaders("Location", "Content-Disposition", "X-Error-Id")
+        .allowedHeaders("Content-Type", "Authorization", "X-Link-Password", "X-Link-Grant", "X-Correlation-Id", "Range", "If-Range",
+            "If-None-Match")
+        .exposedHeaders("Location", "Content-Disposition", "X-Error-Id", "X-Link-Grant",
+            "Accept-Ranges", "Content-Range", "Content-Length", "ETag", "X-Next-Cursor")
         .allowCredentials(false)
         .maxAge(3600);
   }
@@ -0,0 +1,24 @@
+package br.com.walyson.secure_link.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "app.link.batch")
+public class LinkBatchProperties {
+
+  @Min(1)
+  @Max(10_000)
+  private int maxSize = 1_000;
+
+  // Threads hashing passwords for batch requests, shared by all of them.
+  @Positive
+  private int hashParallelism = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+}
@@ -0,0 +1,23 @@
+package br.com.walyson.secure_link.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "app.link.cache")
+public class LinkCacheProperties {
+
+  @Positive
+  private long maximumSize = 10_000;
+
+  @NotNull
+  private Duration ttl = Duration.ofMinutes(5);
+
+}
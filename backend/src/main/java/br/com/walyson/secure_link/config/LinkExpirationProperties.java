@@ -0,0 +1,43 @@
+package br.com.walyson.secure_link.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "app.link.expiration")
+public class LinkExpirationProperties {
+
+  @Positive
+  private int chunkSize = 1_000;
+
+  // Safety-net scan; due links are normally expired by the in-memory queue.
+  @NotNull
+  private Duration sweepInterval = Duration.ofMinutes(5);
+
+  private Queue queue = new Queue();
+
+  @Data
+  public static class Queue {
+
+    private boolean enabled = true;
+
+    // How far ahead expirations are loaded from the (status, expires_at, short_code) index.
+    @NotNull
+    private Duration horizon = Duration.ofHours(1);
+
+    @Positive
+    private int capacity = 100_000;
+
+    @Positive
+    private int batchSize = 500;
+
+  }
+
+}
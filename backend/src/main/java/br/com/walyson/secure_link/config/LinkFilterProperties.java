@@ -0,0 +1,40 @@
+package br.com.walyson.secure_link.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "app.link.filter")
+public class LinkFilterProperties {
+
+  private boolean enabled = true;
+
+  @Positive
+  private long expectedInsertions = 1_000_000;
+
+  @DecimalMin("0.000001")
+  @DecimalMax("0.5")
+  private double falsePositiveRate = 0.01;
+
+  @Positive
+  private int rebuildPageSize = 10_000;
+
+  // Codes created on other replicas are read back every sync-interval; a miss
+  // is trusted only while the last sync is younger than three intervals.
+  @NotNull
+  private Duration syncInterval = Duration.ofSeconds(10);
+
+  // Rows are stamped before they commit, so each sync re-reads this window.
+  @NotNull
+  private Duration syncOverlap = Duration.ofMinutes(1);
+
+}
@@ -0,0 +1,21 @@
+package br.com.walyson.secure_link.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "app.link.revoke")
+public class LinkRevokeProperties {
+
+  // Short codes per UPDATE ... WHERE short_code IN (...).
+  @Positive
+  private int chunkSize = 1_000;
+
+  @Positive
+  private int maxShortCodes = 100_000;
+
+}
@@ -0,0 +1,26 @@
+package br.com.walyson.secure_link.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "app.stats.origins")
+public class OriginSketchProperties {
+
+  // 2^precision registers per sketch; 14 keeps rows at 16 KB.
+  @Min(4)
+  @Max(14)
+  private int precision = 14;
+
+  @NotNull
+  private Duration flushInterval = Duration.ofMinutes(1);
+
+}
@@ -0,0 +1,25 @@
+package br.com.walyson.secure_link.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "app.scheduler.lease")
+public class SchedulerLeaseProperties {
+
+  private boolean enabled = true;
+
+  // Must outlast the sweep interval, since the owner renews on every run.
+  @NotNull
+  private Duration ttl = Duration.ofMinutes(12);
+
+  // Identifies this replica in scheduler_lease; generated when blank.
+  private String nodeId = "";
+
+}
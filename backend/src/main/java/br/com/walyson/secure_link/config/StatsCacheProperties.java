@@ -0,0 +1,24 @@
+package br.com.walyson.secure_link.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "app.stats.cache")
+public class StatsCacheProperties {
+
+  @Positive
+  private long maximumSize = 1_000;
+
+  // Also sent as Cache-Control max-age.
+  @NotNull
+  private Duration ttl = Duration.ofSeconds(5);
+
+}
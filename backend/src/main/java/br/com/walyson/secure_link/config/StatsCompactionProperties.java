@@ -0,0 +1,26 @@
+package br.com.walyson.secure_link.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "app.stats.compaction")
+public class StatsCompactionProperties {
+
+  private boolean enabled = true;
+
+  @NotNull
+  private Duration interval = Duration.ofHours(1);
+
+  // Rows not rewritten for this long belong to replicas that are gone; far
+  // longer than the flush intervals, so a live replica is never folded.
+  @NotNull
+  private Duration staleAfter = Duration.ofHours(24);
+
+}
@@ -0,0 +1,30 @@
+package br.com.walyson.secure_link.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "app.stats.rollup")
+public class StatsRollupProperties {
+
+  private boolean enabled = true;
+
+  @NotNull
+  private Duration interval = Duration.ofMinutes(5);
+
+  // Audits are written asynchronously; an hour is rolled up only once this
+  // long has passed after it ends, so late rows still land in it.
+  @NotNull
+  private Duration settleDelay = Duration.ofMinutes(2);
+
+  @Positive
+  private int maxHoursPerRun = 168;
+
+}
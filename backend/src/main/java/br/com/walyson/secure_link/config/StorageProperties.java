@@ -0,0 +1,78 @@
+package br.com.walyson.secure_link.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "app.storage")
+public class StorageProperties {
+
+  @NotBlank
+  private String path = "/tmp/uploads/";
+
+  @NotBlank
+  private String backend = "filesystem";
+
+  private ObjectStore objectStore = new ObjectStore();
+
+  private Migration migration = new Migration();
+
+  private Reclaim reclaim = new Reclaim();
+
+  @Data
+  public static class ObjectStore {
+
+    @NotBlank
+    private String path = "/tmp/objects/";
+
+  }
+
+  @Data
+  public static class Migration {
+
+    private boolean enabled = false;
+
+    @Positive
+    private int batchSize = 500;
+
+  }
+
+  @Data
+  public static class Reclaim {
+
+    private boolean enabled = true;
+
+    @NotNull
+    private Duration interval = Duration.ofMinutes(5);
+
+    @NotNull
+    private Duration gracePeriod = Duration.ofHours(24);
+
+    // Staged uploads in incoming/ are only orphans once no upload could still
+    // be streaming into them; never shorter than gracePeriod.
+    @NotNull
+    private Duration incomingGracePeriod = Duration.ofHours(72);
+
+    @Positive
+    private int batchSize = 100;
+
+    @Positive
+    private int maxDeletesPerSecond = 20;
+
+    @NotNull
+    private Duration maxRunDuration = Duration.ofMinutes(1);
+
+    private boolean orphanScanEnabled = true;
+
+    private boolean deleteOrphans = false;
+
+  }
+}
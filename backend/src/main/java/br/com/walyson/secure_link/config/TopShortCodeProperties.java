@@ -0,0 +1,27 @@
+package br.com.walyson.secure_link.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "app.stats.top")
+public class TopShortCodeProperties {
+
+  // Short codes tracked per result; counts are exact while fewer distinct
+  // codes than this have been seen.
+  @Min(10)
+  @Max(100000)
+  private int capacity = 1000;
+
+  @NotNull
+  private Duration flushInterval = Duration.ofMinutes(1);
+
+}
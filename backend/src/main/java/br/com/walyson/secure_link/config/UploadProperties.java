@@ -0,0 +1,21 @@
+package br.com.walyson.secure_link.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "app.upload")
+public class UploadProperties {
+
+  @NotNull
+  private DataSize maxFileSize = DataSize.ofMegabytes(50);
+
+  @NotNull
+  private DataSize maxRequestSize = DataSize.ofMegabytes(50);
+
+}
@@ -1,12 +1,16 @@
 package br.com.walyson.secure_link.controller;
 
+import java.util.List;
+
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import br.com.walyson.secure_link.dto.CreateLinkBatchResponseDto;
 import br.com.walyson.secure_link.dto.CreateLinkRequestDto;
 import br.com.walyson.secure_link.dto.CreateLinkResponseDto;
 import br.com.walyson.secure_link.service.CreateLinkService;
@@ -25,4 +29,13 @@ public class CreateLinkController {
   public CreateLinkResponseDto create(@RequestBody @Valid CreateLinkRequestDto request){
     return createLinkService.create(request);
   }
+
+  // Items are validated one by one and reported in the response: 201 when
+  // every item was created, 207 when any was rejected.
+  @PostMapping("/batch")
+  public ResponseEntity<CreateLinkBatchResponseDto> createBatch(@RequestBody List<CreateLinkRequestDto> requests) {
+    CreateLinkBatchResponseDto response = createLinkService.createBatch(requests);
+    HttpStatus status = response.rejected() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+    return ResponseEntity.status(status).body(response);
+  }
 }
@@ -2,8 +2,11 @@ package br.com.walyson.secure_link.controller;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.List;
 import java.util.Locale;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -15,49 +18,88 @@ import br.com.walyson.secure_link.domain.enums.LinkType;
 import br.com.walyson.secure_link.dto.AccessContextDto;
 import br.com.walyson.secure_link.dto.ResolveRedirectResponseDto;
 import br.com.walyson.secure_link.dto.ResolveResultDto;
+import br.com.walyson.secure_link.infra.download.FileDownloadWriter;
 import br.com.walyson.secure_link.service.ResolveLinkService;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 @RestController
 public class ResolveLinkController {
 
+  public static final String ACCESS_GRANT_HEADER = "X-Link-Grant";
+
   private final ResolveLinkService resolveLinkService;
+  private final FileDownloadWriter fileDownloadWriter;
 
-  public ResolveLinkController(ResolveLinkService resolveLinkService) {
+  public ResolveLinkController(ResolveLinkService resolveLinkService, FileDownloadWriter fileDownloadWriter) {
     this.resolveLinkService = resolveLinkService;
+    this.fileDownloadWriter = fileDownloadWriter;
   }
 
   @GetMapping("/l/{shortCode}")
   public ResponseEntity<?> resolve(
       @PathVariable String shortCode,
       @RequestHeader(value = "X-Link-Password", required = false) String password,
+      @RequestHeader(value = ACCESS_GRANT_HEADER, required = false) String accessGrant,
       @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String acceptHeader,
-      HttpServletRequest request) throws IOException {
+      HttpServletRequest request,
+      HttpServletResponse response) throws IOException {
 
     AccessContextDto context = new AccessContextDto(
         request.getRemoteAddr(),
         request.getHeader("User-Agent"));
 
-    ResolveResultDto result = resolveLinkService.resolve(shortCode, password, context);
+    ResolveResultDto result;
+    if (HttpMethod.HEAD.matches(request.getMethod())) {
+      result = resolveLinkService.inspect(shortCode, password, accessGrant, context);
+    } else if (accessGrant == null || startsDownload(request.getHeader(HttpHeaders.RANGE))) {
+      result = resolveLinkService.resolve(shortCode, password, accessGrant, context);
+    } else {
+      result = resolveLinkService.resume(shortCode, accessGrant, context);
+    }
+
+    HttpHeaders headers = new HttpHeaders();
+    if (result.accessGrant() != null) {
+      headers.set(ACCESS_GRANT_HEADER, result.accessGrant());
+    }
 
     if (result.type() == LinkType.REDIRECT) {
       boolean wantsJson = acceptHeader != null
           && acceptHeader.toLowerCase(Locale.ROOT).contains(MediaType.APPLICATION_JSON_VALUE);
 
       if (wantsJson) {
-        return ResponseEntity.ok(new ResolveRedirectResponseDto("REDIRECT", result.targetUrl()));
+        return ResponseEntity.ok()
+            .headers(headers)
+            .body(new ResolveRedirectResponseDto("REDIRECT", result.targetUrl()));
       }
 
       return ResponseEntity.status(HttpStatus.FOUND)
+          .headers(headers)
           .location(URI.create(result.targetUrl()))
           .build();
     }
 
-    return ResponseEntity.ok()
-        .header(HttpHeaders.CONTENT_DISPOSITION,
-            "attachment; filename=\"" + result.originalFilename() + "\"")
-        .contentType(MediaType.APPLICATION_OCTET_STREAM)
-        .body(result.fileUri());
+    if (result.accessGrant() != null) {
+      response.setHeader(ACCESS_GRANT_HEADER, result.accessGrant());
+    }
+    fileDownloadWriter.write(result.fileUri().getFile().toPath(), result.originalFilename(), request, response);
+
+    return null;
+
+  }
 
+  // Only the request that starts a download counts a view. Ranges that
+  // FileDownloadWriter answers with the whole file count as well, and so
+  // does any range sent without a grant (browsers, download managers).
+  private static boolean startsDownload(String rangeHeader) {
+    if (rangeHeader == null) {
+      return true;
+    }
+    try {
+      List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+      return ranges.size() != 1 || ranges.get(0).getRangeStart(Long.MAX_VALUE) == 0;
+    } catch (IllegalArgumentException e) {
+      return true;
+    }
   }
 }
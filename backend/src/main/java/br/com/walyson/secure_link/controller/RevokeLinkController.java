@@ -3,9 +3,13 @@ package br.com.walyson.secure_link.controller;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import br.com.walyson.secure_link.dto.RevokeLinksRequestDto;
+import br.com.walyson.secure_link.dto.RevokeLinksResultDto;
 import br.com.walyson.secure_link.service.RevokeLinkService;
 import lombok.RequiredArgsConstructor;
 
@@ -20,4 +24,9 @@ public class RevokeLinkController {
   public void revoke(@PathVariable String shortCode){
     revokeLinkService.revoke(shortCode);
   }
+
+  @PostMapping("/api/links/revoke")
+  public RevokeLinksResultDto revokeAll(@RequestBody RevokeLinksRequestDto request){
+    return revokeLinkService.revokeAll(request);
+  }
 }
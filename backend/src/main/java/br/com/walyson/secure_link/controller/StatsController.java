@@ -1,101 +1,115 @@
 package br.com.walyson.secure_link.controller;
 
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
-import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import br.com.walyson.secure_link.domain.enums.LinkStatus;
 import br.com.walyson.secure_link.dto.stats.AccessByResultDto;
 import br.com.walyson.secure_link.dto.stats.AccessSummaryDto;
 import br.com.walyson.secure_link.dto.stats.DailyAccessDto;
 import br.com.walyson.secure_link.dto.stats.HourlyAccessDto;
 import br.com.walyson.secure_link.dto.stats.LinkStatusStatsDto;
 import br.com.walyson.secure_link.dto.stats.SecurityExceptionDto;
+import br.com.walyson.secure_link.dto.stats.StatsFilterDto;
+import br.com.walyson.secure_link.dto.stats.StatsPageDto;
 import br.com.walyson.secure_link.dto.stats.TopLinkDto;
-import br.com.walyson.secure_link.repository.LinkAccessAuditRepository;
-import br.com.walyson.secure_link.repository.SecureLinkRepository;
-import br.com.walyson.secure_link.repository.projection.LinkStatusCountProjection;
+import br.com.walyson.secure_link.infra.cache.StatsResponseCache;
+import br.com.walyson.secure_link.service.AccessStatsService;
 import lombok.RequiredArgsConstructor;
 
+// Every endpoint accepts the optional `from`, `to` and `shortCode` query
+// parameters bound into StatsFilterDto. Responses are memoized briefly and
+// tagged; Spring answers a matching If-None-Match with 304 before writing
+// the body. Paginated endpoints keep a plain array as the body and send the
+// cursor for the next page in X-Next-Cursor, absent on the last page.
 @RestController
 @RequestMapping("/api/stats")
 @RequiredArgsConstructor
 public class StatsController {
-  private final LinkAccessAuditRepository repository;
-  private final SecureLinkRepository secureLinkRepository;
 
-  @GetMapping("/access/summary")
-  public AccessSummaryDto summary() {
-    var projection = repository.fetchAccessSummaryProjection();
-    long uniqueOrigins = repository.countUniqueOrigins();
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  private final AccessStatsService accessStatsService;
+  private final StatsResponseCache responseCache;
 
-    return new AccessSummaryDto(
-      projection.getTotal(), 
-      projection.getSuccess(), 
-      projection.getFailed(),
-      projection.getExpired(),
-      uniqueOrigins
-    );
+  @GetMapping("/access/summary")
+  public ResponseEntity<AccessSummaryDto> summary(
+    StatsFilterDto filter,
+    @RequestParam(defaultValue = "false") boolean exact
+  ) {
+    return cached("summary|" + filter + "|" + exact, () -> accessStatsService.summary(filter, exact));
   }
 
   @GetMapping("/access/hourly")
-  public List<HourlyAccessDto> hourly() {
-    return repository.countHourlyAccesses().stream()
-    .map(p -> new HourlyAccessDto(p.getHour(), p.getCount()))
-    .toList();
+  public ResponseEntity<List<HourlyAccessDto>> hourly(StatsFilterDto filter) {
+    return cached("hourly|" + filter, () -> accessStatsService.hourly(filter));
   }
 
   @GetMapping("/security/exceptions")
-  public List<SecurityExceptionDto> securityExceptions(@RequestParam(defaultValue = "5") int limit) {
-    return repository.findTopSecurityExceptions(PageRequest.of(0, limit)).getContent().stream()
-    .map(p -> new SecurityExceptionDto(p.getShortCode(), p.getCount()))
-    .toList();
+  public ResponseEntity<List<SecurityExceptionDto>> securityExceptions(
+    StatsFilterDto filter,
+    @RequestParam(required = false) String after,
+    @RequestParam(defaultValue = "5") int limit,
+    @RequestParam(defaultValue = "false") boolean exact
+  ) {
+    return paged("exceptions|" + filter + "|" + after + "|" + limit + "|" + exact,
+      () -> accessStatsService.securityExceptions(filter, after, limit, exact));
   }
 
   @GetMapping("/access/failures")
-  public List<AccessByResultDto> failures() {
-    return repository.countFailuresByResult().stream()
-    .map(p -> new AccessByResultDto(p.getResult(), p.getCount()))
-    .toList();
+  public ResponseEntity<List<AccessByResultDto>> failures(StatsFilterDto filter) {
+    return cached("failures|" + filter, () -> accessStatsService.failures(filter));
   }
 
-
   @GetMapping("/access/daily")
-  public List<DailyAccessDto> daily() {
-    return repository.countDailyAccesses().stream()
-    .map(p -> new DailyAccessDto(p.getAccessDate(), p.getCount()))
-    .toList();
+  public ResponseEntity<List<DailyAccessDto>> daily(
+    StatsFilterDto filter,
+    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate after,
+    @RequestParam(defaultValue = "31") int limit
+  ) {
+    return paged("daily|" + filter + "|" + after + "|" + limit,
+      () -> accessStatsService.daily(filter, after, limit));
   }
 
   @GetMapping("/links")
-  public LinkStatusStatsDto linkStats() {
-
-    List<LinkStatusCountProjection> data =
-    secureLinkRepository.countLinksByStatus();
+  public ResponseEntity<LinkStatusStatsDto> linkStats(StatsFilterDto filter) {
+    return cached("links|" + filter, () -> accessStatsService.linkStatus(filter));
+  }
 
-    Map<LinkStatus, Long> counts = data.stream()
-    .collect(Collectors.toMap(
-      LinkStatusCountProjection::getStatus,
-      LinkStatusCountProjection::getCount
-    ));
+  @GetMapping("/links/top")
+  public ResponseEntity<List<TopLinkDto>> topLinks(
+    StatsFilterDto filter,
+    @RequestParam(required = false) String after,
+    @RequestParam(defaultValue = "5") int limit,
+    @RequestParam(defaultValue = "false") boolean exact
+  ) {
+    return paged("top|" + filter + "|" + after + "|" + limit + "|" + exact,
+      () -> accessStatsService.topLinks(filter, after, limit, exact));
+  }
 
-    return new LinkStatusStatsDto(
-      counts.getOrDefault(LinkStatus.ACTIVE, 0L),
-      counts.getOrDefault(LinkStatus.EXPIRED, 0L),
-      counts.getOrDefault(LinkStatus.REVOKED, 0L)
-    );
+  private <T> ResponseEntity<List<T>> paged(String key, Supplier<StatsPageDto<T>> loader) {
+    StatsResponseCache.Snapshot<StatsPageDto<T>> snapshot = responseCache.get(key, loader);
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+      .eTag(snapshot.eTag())
+      .cacheControl(responseCache.cacheControl());
+    if (snapshot.body().nextCursor() != null) {
+      response.header(NEXT_CURSOR_HEADER, snapshot.body().nextCursor());
+    }
+    return response.body(snapshot.body().items());
   }
 
-  @GetMapping("/links/top")
-  public List<TopLinkDto> topLinks(@RequestParam(defaultValue = "5") int limit) {
-    return repository.findTopLinks(PageRequest.of(0, limit)).getContent().stream()
-    .map(p -> new TopLinkDto(p.getShortCode(), p.getAccessCount()))
-    .toList();
+  private <T> ResponseEntity<T> cached(String key, Supplier<T> loader) {
+    StatsResponseCache.Snapshot<T> snapshot = responseCache.get(key, loader);
+    return ResponseEntity.ok()
+      .eTag(snapshot.eTag())
+      .cacheControl(responseCache.cacheControl())
+      .body(snapshot.body());
   }
 }
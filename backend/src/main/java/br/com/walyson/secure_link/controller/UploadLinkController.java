@@ -2,14 +2,15 @@ package br.com.walyson.secure_link.controller;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import br.com.walyson.secure_link.dto.CreateLinkResponseDto;
 import br.com.walyson.secure_link.dto.LinkUploadRequestDto;
+import br.com.walyson.secure_link.infra.upload.MultipartUploadParser;
 import br.com.walyson.secure_link.service.UploadLinkService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -18,10 +19,13 @@ import lombok.RequiredArgsConstructor;
 public class UploadLinkController {
 
   private final UploadLinkService uploadLinkService;
+  private final MultipartUploadParser uploadParser;
 
   @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
   @ResponseStatus(HttpStatus.CREATED)
-  public CreateLinkResponseDto upload(@ModelAttribute LinkUploadRequestDto request) {
+  public CreateLinkResponseDto upload(HttpServletRequest servletRequest) {
+
+    LinkUploadRequestDto request = uploadParser.parse(servletRequest);
 
     return uploadLinkService.upload(
       request.file(), 
@@ -0,0 +1,54 @@
+package br.com.walyson.secure_link.domain;
+
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+
+import br.com.walyson.secure_link.domain.enums.AccessResult;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Access counts per hour, short code and result, built from link_access_audit
+// by the rollup job.
+@Entity
+@Table(name = "link_access_rollup_hourly")
+@IdClass(LinkAccessRollup.Key.class)
+@Data
+@NoArgsConstructor
+public class LinkAccessRollup {
+
+  @Id
+  @Column(name = "bucket_start")
+  private OffsetDateTime bucketStart;
+
+  @Id
+  @Column(name = "short_code", length = 20)
+  private String shortCode;
+
+  @Id
+  @Enumerated(EnumType.STRING)
+  @Column(length = 30)
+  private AccessResult result;
+
+  @Column(name = "access_count", nullable = false)
+  private long accessCount;
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Key implements Serializable {
+
+    private OffsetDateTime bucketStart;
+    private String shortCode;
+    private AccessResult result;
+
+  }
+}
@@ -0,0 +1,48 @@
+package br.com.walyson.secure_link.domain;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// HyperLogLog registers of the client IPs seen by one replica on one day.
+@Entity
+@Table(name = "origin_sketch_daily")
+@IdClass(OriginSketch.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OriginSketch {
+
+  @Id
+  @Column(name = "bucket_date")
+  private LocalDate bucketDate;
+
+  @Id
+  @Column(name = "node_id", length = 100)
+  private String nodeId;
+
+  @Column(nullable = false, length = 16384)
+  private byte[] registers;
+
+  @Column(name = "updated_at", nullable = false)
+  private OffsetDateTime updatedAt;
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Key implements Serializable {
+
+    private LocalDate bucketDate;
+    private String nodeId;
+
+  }
+}
@@ -0,0 +1,28 @@
+package br.com.walyson.secure_link.domain;
+
+import java.time.OffsetDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "rollup_watermark")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupWatermark {
+
+  @Id
+  @Column(length = 100)
+  private String name;
+
+  // Audits accessed before this instant are counted in the rollup table.
+  @Column(name = "rolled_up_until", nullable = false)
+  private OffsetDateTime rolledUpUntil;
+
+}
@@ -0,0 +1,31 @@
+package br.com.walyson.secure_link.domain;
+
+import java.time.OffsetDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "scheduler_lease")
+@Data
+@NoArgsConstructor
+public class SchedulerLease {
+
+  @Id
+  @Column(length = 100)
+  private String name;
+
+  @Column(nullable = false, length = 100)
+  private String owner;
+
+  @Column(name = "expires_at", nullable = false)
+  private OffsetDateTime expiresAt;
+
+  @Column(name = "renewed_at", nullable = false)
+  private OffsetDateTime renewedAt;
+
+}
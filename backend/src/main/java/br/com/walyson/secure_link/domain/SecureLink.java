@@ -35,6 +35,15 @@ public class SecureLink {
   @Column(name = "original_file_name")
   private String originalFileName;
 
+  @Column(name = "file_size")
+  private Long fileSize;
+
+  @Column(name = "file_sha256", length = 64)
+  private String fileSha256;
+
+  @Column(name = "blob_released", nullable = false)
+  private boolean blobReleased;
+
   @Column(name = "target_url", length = 500)
   private String targetUrl;
 
@@ -51,6 +60,9 @@ public class SecureLink {
   @Column(nullable = false)
   private LinkStatus status = LinkStatus.ACTIVE;
 
+  @Column(name = "status_changed_at")
+  private OffsetDateTime statusChangedAt;
+
   @Column(name = "password_hash")
   private String passwordHash;
 
@@ -104,7 +116,7 @@ public class SecureLink {
   }
 
   public void expire() {
-    this.status = LinkStatus.EXPIRED;
+    changeStatus(LinkStatus.EXPIRED);
   }
 
   public boolean isRevoked() {
@@ -112,7 +124,14 @@ public class SecureLink {
   }
 
   public void revoke() {
-    this.status = LinkStatus.REVOKED;
+    changeStatus(LinkStatus.REVOKED);
+  }
+
+  private void changeStatus(LinkStatus newStatus) {
+    if (this.status != newStatus) {
+      this.status = newStatus;
+      this.statusChangedAt = OffsetDateTime.now();
+    }
   }
 
   public void protectWithPassword(String passwordHash) {
@@ -120,6 +139,11 @@ public class SecureLink {
     this.passwordProtected = true;
   }
 
+  public void recordFileDigest(long fileSize, String fileSha256) {
+    this.fileSize = fileSize;
+    this.fileSha256 = fileSha256;
+  }
+
   public boolean isPasswordProtected() {
     return passwordProtected;
   }
@@ -0,0 +1,34 @@
+package br.com.walyson.secure_link.domain;
+
+import java.time.OffsetDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "stored_blob")
+@Data
+@NoArgsConstructor
+public class StoredBlob {
+
+  @Id
+  @Column(length = 64)
+  private String sha256;
+
+  @Column(name = "file_path", nullable = false, length = 500)
+  private String filePath;
+
+  @Column(nullable = false)
+  private long size;
+
+  @Column(name = "ref_count", nullable = false)
+  private int refCount;
+
+  @Column(name = "created_at", nullable = false)
+  private OffsetDateTime createdAt;
+
+}
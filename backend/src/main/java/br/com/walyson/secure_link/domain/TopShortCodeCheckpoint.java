@@ -0,0 +1,53 @@
+package br.com.walyson.secure_link.domain;
+
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+
+import br.com.walyson.secure_link.domain.enums.AccessResult;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Space-Saving summary of the short codes one replica saw with one result.
+@Entity
+@Table(name = "top_short_code_checkpoint")
+@IdClass(TopShortCodeCheckpoint.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopShortCodeCheckpoint {
+
+  @Id
+  @Enumerated(EnumType.STRING)
+  @Column(length = 30)
+  private AccessResult result;
+
+  @Id
+  @Column(name = "node_id", length = 100)
+  private String nodeId;
+
+  @Lob
+  @Column(nullable = false, length = 16777215)
+  private byte[] summary;
+
+  @Column(name = "updated_at", nullable = false)
+  private OffsetDateTime updatedAt;
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Key implements Serializable {
+
+    private AccessResult result;
+    private String nodeId;
+
+  }
+}
@@ -2,11 +2,13 @@ package br.com.walyson.secure_link.domain.enums;
 
 public enum AccessResult {
   SUCCESS,
+  RESUMED,
   NOT_FOUND,
   REVOKED,
   EXPIRED,
   VIEW_LIMIT_REACHED,
   PASSWORD_REQUIRED,
   INVALID_PASSWORD,
+  GRANT_REQUIRED,
   UNEXPECTED_STATE
 }
@@ -0,0 +1,7 @@
+package br.com.walyson.secure_link.dto;
+
+public record AuditRetentionResultDto(
+  int partitionsCreated,
+  int partitionsArchived,
+  long rowsArchived
+) {}
@@ -0,0 +1,8 @@
+package br.com.walyson.secure_link.dto;
+
+// Exactly one of link and error is set.
+public record CreateLinkBatchItemDto(
+  int index,
+  CreateLinkResponseDto link,
+  String error
+) {}
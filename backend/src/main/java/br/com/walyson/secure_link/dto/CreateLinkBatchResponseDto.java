@@ -0,0 +1,9 @@
+package br.com.walyson.secure_link.dto;
+
+import java.util.List;
+
+public record CreateLinkBatchResponseDto(
+  int created,
+  int rejected,
+  List<CreateLinkBatchItemDto> items
+) {}
@@ -8,5 +8,6 @@ public record ResolveResultDto(
     LinkType type,
     String targetUrl,
     Resource fileUri,
-    String originalFilename
+    String originalFilename,
+    String accessGrant
 ) {}
@@ -0,0 +1,12 @@
+package br.com.walyson.secure_link.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+// Either shortCodes or a creation range [createdFrom, createdTo); an open
+// end is the epoch or the time of the call.
+public record RevokeLinksRequestDto(
+  List<String> shortCodes,
+  OffsetDateTime createdFrom,
+  OffsetDateTime createdTo
+) {}
@@ -0,0 +1,9 @@
+package br.com.walyson.secure_link.dto;
+
+// matched links that were not revoked were already revoked; notFound only
+// applies to a list of short codes.
+public record RevokeLinksResultDto(
+  int matched,
+  int revoked,
+  int notFound
+) {}
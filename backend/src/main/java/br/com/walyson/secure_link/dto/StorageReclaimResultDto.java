@@ -0,0 +1,8 @@
+package br.com.walyson.secure_link.dto;
+
+public record StorageReclaimResultDto(
+  int released,
+  long backlog,
+  int orphansFound,
+  int orphansDeleted
+) {}
@@ -0,0 +1,8 @@
+package br.com.walyson.secure_link.dto;
+
+public record StoredFileDto(
+  String filePath,
+  String originalFileName,
+  long size,
+  String sha256
+) {}
@@ -2,5 +2,6 @@ package br.com.walyson.secure_link.dto.stats;
 
 public record SecurityExceptionDto(
     String shortCode,
-    long count
+    long count,
+    long maxError
 ) {}
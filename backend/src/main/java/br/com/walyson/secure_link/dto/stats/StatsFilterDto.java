@@ -0,0 +1,19 @@
+package br.com.walyson.secure_link.dto.stats;
+
+import java.time.OffsetDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+// Optional bounds accepted by every /api/stats endpoint; null means open.
+public record StatsFilterDto(
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+  String shortCode
+) {
+
+  public static final StatsFilterDto NONE = new StatsFilterDto(null, null, null);
+
+  public boolean isUnbounded() {
+    return from == null && to == null && (shortCode == null || shortCode.isBlank());
+  }
+}
@@ -0,0 +1,10 @@
+package br.com.walyson.secure_link.dto.stats;
+
+import java.util.List;
+
+// nextCursor is passed back as `after` to read the next page; null on the
+// last page. StatsController sends it in a header, not in the body.
+public record StatsPageDto<T>(
+  List<T> items,
+  String nextCursor
+) {}
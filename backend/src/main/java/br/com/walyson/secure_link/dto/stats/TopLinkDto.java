@@ -2,5 +2,6 @@ package br.com.walyson.secure_link.dto.stats;
 
 public record TopLinkDto(
   String shortCode,
-  long accessCount
+  long accessCount,
+  long maxError
 ) {}
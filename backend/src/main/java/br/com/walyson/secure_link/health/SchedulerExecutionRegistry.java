@@ -5,16 +5,44 @@ import java.util.concurrent.atomic.AtomicReference;
 
 import org.springframework.stereotype.Component;
 
+// Tracks the expiration job on this replica. Every tick is recorded; only the
+// lease owner actually executes, the others stand by.
 @Component
 public class SchedulerExecutionRegistry {
 
   private final AtomicReference<Instant> lastExecution = new AtomicReference<>();
+  private final AtomicReference<Instant> lastTick = new AtomicReference<>();
+  private final AtomicReference<String> leaseOwner = new AtomicReference<>();
+
+  private volatile boolean owner;
 
   public void markExecution() {
-    lastExecution.set(Instant.now());
+    Instant now = Instant.now();
+    lastExecution.set(now);
+    lastTick.set(now);
+    owner = true;
+    leaseOwner.set(null);
+  }
+
+  public void markStandby(String currentOwner) {
+    lastTick.set(Instant.now());
+    owner = false;
+    leaseOwner.set(currentOwner);
   }
 
   public Instant getLastExecution() {
     return lastExecution.get();
   }
+
+  public Instant getLastTick() {
+    return lastTick.get();
+  }
+
+  public boolean isLeaseOwner() {
+    return owner;
+  }
+
+  public String getLeaseOwner() {
+    return leaseOwner.get();
+  }
 }
@@ -7,36 +7,51 @@ import org.springframework.boot.health.contributor.Health;
 import org.springframework.boot.health.contributor.HealthIndicator;
 import org.springframework.stereotype.Component;
 
-import lombok.RequiredArgsConstructor;
+import br.com.walyson.secure_link.config.LinkExpirationProperties;
 
 @Component
-@RequiredArgsConstructor
 public class SchedulerHealthIndicator implements HealthIndicator {
 
-  private static final Duration MAX_DELAY = Duration.ofMinutes(2);
-
   private final SchedulerExecutionRegistry registry;
+  private final Duration maxDelay;
+
+  // Two missed sweeps in a row mean the scheduler is stuck.
+  public SchedulerHealthIndicator(SchedulerExecutionRegistry registry, LinkExpirationProperties properties) {
+    this.registry = registry;
+    this.maxDelay = properties.getSweepInterval().multipliedBy(2);
+  }
 
+  // A replica that does not hold the lease is healthy as long as its own
+  // scheduler keeps ticking and checking the lease.
   @Override
   public Health health() {
+    Instant lastTick = registry.getLastTick();
     Instant lastExecution = registry.getLastExecution();
 
-    if (lastExecution == null) {
+    if (lastTick == null) {
       return Health.outOfService()
         .withDetail("scheduler", "never executed")
         .build();
     }
 
-    Duration delay = Duration.between(lastExecution, Instant.now());
+    Duration delay = Duration.between(lastTick, Instant.now());
 
-    if (delay.compareTo(MAX_DELAY) > 0) {
+    if (delay.compareTo(maxDelay) > 0) {
       return Health.outOfService()
         .withDetail("scheduler", "execution delayed")
-        .withDetail("lastExecution", lastExecution)
+        .withDetail("lastExecution", lastTick)
         .withDetail("delaySeconds", delay.getSeconds())
         .build();
     }
 
+    if (!registry.isLeaseOwner()) {
+      return Health.up()
+        .withDetail("scheduler", "standby")
+        .withDetail("leaseOwner", String.valueOf(registry.getLeaseOwner()))
+        .withDetail("lastCheck", lastTick)
+        .build();
+    }
+
     return Health.up()
       .withDetail("scheduler", "running")
       .withDetail("lastExecution", lastExecution)
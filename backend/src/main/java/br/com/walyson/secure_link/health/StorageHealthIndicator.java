@@ -1,29 +1,62 @@
 package br.com.walyson.secure_link.health;
 
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.health.contributor.Health;
 import org.springframework.boot.health.contributor.HealthIndicator;
 import org.springframework.stereotype.Component;
 
+import br.com.walyson.secure_link.infra.storage.ShardedFileSystemBackend;
+import br.com.walyson.secure_link.infra.storage.StorageBackend;
+import br.com.walyson.secure_link.infra.storage.StorageProbe;
+import br.com.walyson.secure_link.utils.FileUtils;
+import lombok.RequiredArgsConstructor;
+
 @Component
+@RequiredArgsConstructor
 public class StorageHealthIndicator implements HealthIndicator {
 
-  @Value("${app.storage.path}")
-  private String storagePath;
+  private final FileUtils fileUtils;
+  private final List<StorageBackend> backends;
 
+  // Uploads are staged on the filesystem backend's volume whichever backend
+  // is active, so both must be healthy for the service to accept files.
   @Override
   public Health health() {
-    try {
-      Path path = Path.of(storagePath);
-      if (Files.exists(path) && Files.isWritable(path)) {
-        return Health.up().build();
+    String active = fileUtils.activeBackend().name();
+    boolean healthy = true;
+    Map<String, Object> details = new LinkedHashMap<>();
+
+    for (StorageBackend backend : backends) {
+      StorageProbe probe = backend.probe();
+      boolean required = backend.name().equals(active) || backend.name().equals(ShardedFileSystemBackend.NAME);
+      if (required && !probe.healthy()) {
+        healthy = false;
       }
-      return Health.down().withDetail("storage", "Not writable").build();
-    } catch (Exception e) {
-      return Health.down(e).build();
+      details.put(backend.name(), describe(probe, backend.name().equals(active)));
+    }
+
+    Health.Builder builder = healthy ? Health.up() : Health.down();
+    return builder
+      .withDetail("activeBackend", active)
+      .withDetail("backends", details)
+      .build();
+  }
+
+  private static Map<String, Object> describe(StorageProbe probe, boolean active) {
+    Map<String, Object> detail = new LinkedHashMap<>();
+    detail.put("status", probe.healthy() ? "UP" : "DOWN");
+    detail.put("active", active);
+    detail.put("root", probe.root());
+    detail.put("latencyMs", probe.latencyMillis());
+    if (probe.healthy()) {
+      detail.put("totalBytes", probe.totalBytes());
+      detail.put("usableBytes", probe.usableBytes());
+    } else {
+      detail.put("error", probe.error());
     }
+    return detail;
   }
 }
@@ -0,0 +1,248 @@
+package br.com.walyson.secure_link.infra.audit;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.stereotype.Component;
+
+import br.com.walyson.secure_link.config.AuditRetentionProperties;
+import br.com.walyson.secure_link.domain.LinkAccessAudit;
+
+// Archived audit partitions, one gzip-compressed NDJSON file per partition.
+// Each line is a flat object with the columns of link_access_audit.
+@Component
+public class AuditArchiveStore {
+
+  private static final String PREFIX = "link_access_audit-";
+  private static final String SUFFIX = ".ndjson.gz";
+  private static final String SHORT_CODE_FIELD = ",\"shortCode\":";
+  private static final String IP_ADDRESS_FIELD = ",\"ipAddress\":";
+  private static final String ACCESSED_AT_FIELD = ",\"accessedAt\":";
+  private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("'p'yyyyMM");
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final Path root;
+
+  public AuditArchiveStore(AuditRetentionProperties properties) {
+    this.root = Path.of(properties.getArchivePath());
+  }
+
+  // Written to a temporary file and moved in place, so a file under the
+  // final name is always complete. Archiving a partition again replaces it.
+  public long write(String partition, Stream<LinkAccessAudit> rows) throws IOException {
+    Files.createDirectories(root);
+    Path target = root.resolve(PREFIX + partition + SUFFIX);
+    Path temporary = root.resolve(target.getFileName() + ".part");
+    long written = 0;
+
+    try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+        new GZIPOutputStream(Files.newOutputStream(temporary), BUFFER_SIZE), StandardCharsets.UTF_8))) {
+      Iterator<LinkAccessAudit> iterator = rows.iterator();
+      while (iterator.hasNext()) {
+        writer.write(toJson(iterator.next()));
+        writer.write('\n');
+        written++;
+      }
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(temporary);
+      throw e;
+    }
+
+    Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    return written;
+  }
+
+  public List<Path> archives() throws IOException {
+    if (!Files.isDirectory(root)) {
+      return List.of();
+    }
+    try (Stream<Path> files = Files.list(root)) {
+      return files
+        .filter(file -> {
+          String name = file.getFileName().toString();
+          return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+        })
+        .sorted()
+        .toList();
+    }
+  }
+
+  // Archives whose partition month overlaps [from, to). Months are widened
+  // by a day on each side, since partitions follow the database time zone.
+  public List<Path> archives(OffsetDateTime from, OffsetDateTime to) throws IOException {
+    return archives().stream()
+      .filter(archive -> overlaps(archive, from, to))
+      .toList();
+  }
+
+  // Streams every archived ipAddress, nulls excluded, like COUNT(DISTINCT).
+  public void forEachIpAddress(Consumer<String> action) throws IOException {
+    forEachLine(archives(), line -> {
+      String ipAddress = ipAddressOf(line);
+      if (ipAddress != null) {
+        action.accept(ipAddress);
+      }
+    });
+  }
+
+  // Same as above for the rows accessed in [from, to), of one link when
+  // shortCode is not null.
+  public void forEachIpAddress(OffsetDateTime from, OffsetDateTime to, String shortCode,
+      Consumer<String> action) throws IOException {
+    forEachLine(archives(from, to), line -> {
+      if (shortCode != null && !shortCode.equals(stringField(line, line.indexOf(SHORT_CODE_FIELD), SHORT_CODE_FIELD))) {
+        return;
+      }
+      OffsetDateTime accessedAt = accessedAtOf(line);
+      if (accessedAt == null || accessedAt.isBefore(from) || !accessedAt.isBefore(to)) {
+        return;
+      }
+      String ipAddress = ipAddressOf(line);
+      if (ipAddress != null) {
+        action.accept(ipAddress);
+      }
+    });
+  }
+
+  // Streams (accessedAt, ipAddress) of every archived row with an ipAddress.
+  public void forEachOrigin(BiConsumer<OffsetDateTime, String> action) throws IOException {
+    forEachLine(archives(), line -> {
+      String ipAddress = ipAddressOf(line);
+      OffsetDateTime accessedAt = ipAddress == null ? null : accessedAtOf(line);
+      if (accessedAt != null) {
+        action.accept(accessedAt, ipAddress);
+      }
+    });
+  }
+
+  private static void forEachLine(List<Path> archives, Consumer<String> action) throws IOException {
+    for (Path archive : archives) {
+      try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+          new GZIPInputStream(Files.newInputStream(archive), BUFFER_SIZE), StandardCharsets.UTF_8))) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          action.accept(line);
+        }
+      }
+    }
+  }
+
+  // Field order is fixed and ipAddress precedes the free-text userAgent.
+  // Quotes inside values are always escaped, so the unescaped field marker
+  // can only be the real field.
+  static String toJson(LinkAccessAudit audit) {
+    StringBuilder json = new StringBuilder(256).append('{');
+    field(json, "id", audit.getId() == null ? null : audit.getId().toString()).append(',');
+    field(json, "shortCode", audit.getShortCode()).append(',');
+    field(json, "result", audit.getResult() == null ? null : audit.getResult().name()).append(',');
+    field(json, "ipAddress", audit.getIpAddress()).append(',');
+    field(json, "userAgent", audit.getUserAgent()).append(',');
+    field(json, "accessedAt", audit.getAccessedAt() == null ? null : audit.getAccessedAt().toString());
+    return json.append('}').toString();
+  }
+
+  static String ipAddressOf(String line) {
+    return stringField(line, line.indexOf(IP_ADDRESS_FIELD), IP_ADDRESS_FIELD);
+  }
+
+  // accessedAt is the last field, after the free-text userAgent.
+  static OffsetDateTime accessedAtOf(String line) {
+    String accessedAt = stringField(line, line.lastIndexOf(ACCESSED_AT_FIELD), ACCESSED_AT_FIELD);
+    return accessedAt == null ? null : OffsetDateTime.parse(accessedAt);
+  }
+
+  private static boolean overlaps(Path archive, OffsetDateTime from, OffsetDateTime to) {
+    String name = archive.getFileName().toString();
+    YearMonth month;
+    try {
+      month = YearMonth.parse(name.substring(PREFIX.length(), name.length() - SUFFIX.length()), PARTITION_MONTH);
+    } catch (DateTimeParseException e) {
+      return true;
+    }
+    OffsetDateTime start = month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC).minusDays(1);
+    OffsetDateTime end = month.plusMonths(1).atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC).plusDays(1);
+    return start.isBefore(to) && end.isAfter(from);
+  }
+
+  private static String stringField(String line, int start, String marker) {
+    if (start < 0) {
+      return null;
+    }
+    int position = start + marker.length();
+    if (line.charAt(position) != '"') {
+      return null;
+    }
+
+    StringBuilder value = new StringBuilder();
+    for (int i = position + 1; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (c == '"') {
+        return value.toString();
+      }
+      if (c != '\\') {
+        value.append(c);
+        continue;
+      }
+      char escaped = line.charAt(++i);
+      switch (escaped) {
+        case 'n' -> value.append('\n');
+        case 'r' -> value.append('\r');
+        case 't' -> value.append('\t');
+        case 'b' -> value.append('\b');
+        case 'f' -> value.append('\f');
+        case 'u' -> {
+          value.append((char) Integer.parseInt(line, i + 1, i + 5, 16));
+          i += 4;
+        }
+        default -> value.append(escaped);
+      }
+    }
+    throw new IllegalStateException("Unterminated field in audit archive");
+  }
+
+  private static StringBuilder field(StringBuilder json, String name, String value) {
+    json.append('"').append(name).append("\":");
+    if (value == null) {
+      return json.append("null");
+    }
+    json.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"' -> json.append("\\\"");
+        case '\\' -> json.append("\\\\");
+        case '\n' -> json.append("\\n");
+        case '\r' -> json.append("\\r");
+        case '\t' -> json.append("\\t");
+        default -> {
+          if (c < 0x20) {
+            json.append("\\u%04x".formatted((int) c));
+          } else {
+            json.append(c);
+          }
+        }
+      }
+    }
+    return json.append('"');
+  }
+}
@@ -0,0 +1,201 @@
+package br.com.walyson.secure_link.infra.audit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.walyson.secure_link.config.AuditWriterProperties;
+import br.com.walyson.secure_link.domain.LinkAccessAudit;
+import br.com.walyson.secure_link.repository.LinkAccessAuditRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class AuditBatchWriter implements SmartLifecycle {
+
+  private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+
+  // Upper bound on one poll, so the worker notices shutdown without being
+  // interrupted: an interrupt during JDBC I/O on a virtual thread closes the
+  // connection and fails the batch being written.
+  private static final long POLL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private final LinkAccessAuditRepository repository;
+  private final TransactionTemplate transactionTemplate;
+  private final AuditWriterProperties properties;
+  private final BlockingQueue<LinkAccessAudit> queue;
+  private final boolean virtualThreads;
+
+  private final Timer flushTimer;
+  private final Counter droppedCounter;
+  private final Counter failedCounter;
+  private final Counter syncFallbackCounter;
+
+  private volatile boolean running;
+  private Thread worker;
+
+  public AuditBatchWriter(
+    LinkAccessAuditRepository repository,
+    PlatformTransactionManager transactionManager,
+    AuditWriterProperties properties,
+    MeterRegistry meterRegistry,
+    @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+  ) {
+    this.repository = repository;
+    this.properties = properties;
+    this.virtualThreads = virtualThreads;
+    this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+    Gauge.builder("secure_link_audit_queue_depth", queue, BlockingQueue::size)
+      .description("Audit rows waiting to be flushed")
+      .register(meterRegistry);
+
+    this.flushTimer = Timer.builder("secure_link_audit_flush_duration_seconds")
+      .description("Time spent writing one audit batch")
+      .publishPercentileHistogram()
+      .register(meterRegistry);
+
+    this.droppedCounter = Counter.builder("secure_link_audit_dropped_total")
+      .description("Audit rows discarded because the queue was full")
+      .register(meterRegistry);
+
+    this.failedCounter = Counter.builder("secure_link_audit_failed_total")
+      .description("Audit rows lost because their batch failed to persist")
+      .register(meterRegistry);
+
+    this.syncFallbackCounter = Counter.builder("secure_link_audit_sync_fallback_total")
+      .description("Audit rows written on the caller thread because the queue was full")
+      .register(meterRegistry);
+  }
+
+  public void submit(LinkAccessAudit audit) {
+    if (queue.offer(audit)) {
+      return;
+    }
+
+    switch (properties.getOverflowPolicy()) {
+      case BLOCK -> enqueueBlocking(audit);
+      case DROP -> {
+        droppedCounter.increment();
+        log.warn("secure_link_audit_dropped | shortCode={} result={}", audit.getShortCode(), audit.getResult());
+      }
+      case SYNC -> {
+        syncFallbackCounter.increment();
+        persist(List.of(audit));
+      }
+    }
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    Thread.Builder builder = virtualThreads
+      ? Thread.ofVirtual()
+      : Thread.ofPlatform().daemon(true);
+
+    worker = builder.name("audit-writer").start(this::drainLoop);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+
+    if (worker != null) {
+      try {
+        worker.join(SHUTDOWN_TIMEOUT_MS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    flushRemaining();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  // Stops after the web server so audits of in-flight requests are still flushed.
+  @Override
+  public int getPhase() {
+    return SmartLifecycle.DEFAULT_PHASE - 4096;
+  }
+
+  private void drainLoop() {
+    List<LinkAccessAudit> batch = new ArrayList<>(properties.getBatchSize());
+    long flushIntervalNanos = properties.getFlushInterval().toNanos();
+    long deadline = System.nanoTime() + flushIntervalNanos;
+
+    while (running) {
+      try {
+        long wait = Math.min(POLL_INTERVAL_NANOS, Math.max(0, deadline - System.nanoTime()));
+        LinkAccessAudit next = queue.poll(wait, TimeUnit.NANOSECONDS);
+        if (next != null) {
+          batch.add(next);
+          queue.drainTo(batch, properties.getBatchSize() - batch.size());
+        }
+      } catch (InterruptedException e) {
+        break;
+      }
+
+      if (batch.size() >= properties.getBatchSize() || System.nanoTime() >= deadline) {
+        flush(batch);
+        deadline = System.nanoTime() + flushIntervalNanos;
+      }
+    }
+
+    flush(batch);
+  }
+
+  private void flushRemaining() {
+    List<LinkAccessAudit> batch = new ArrayList<>(properties.getBatchSize());
+    while (queue.drainTo(batch, properties.getBatchSize()) > 0) {
+      flush(batch);
+    }
+  }
+
+  private void flush(List<LinkAccessAudit> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    // The list is reused by the caller, so the repository gets its own copy.
+    List<LinkAccessAudit> rows = List.copyOf(batch);
+    batch.clear();
+    flushTimer.record(() -> persist(rows));
+  }
+
+  private void persist(List<LinkAccessAudit> batch) {
+    try {
+      transactionTemplate.executeWithoutResult(status -> repository.saveAll(batch));
+    } catch (RuntimeException e) {
+      failedCounter.increment(batch.size());
+      log.error("secure_link_audit_flush_failed | size={}", batch.size(), e);
+    }
+  }
+
+  private void enqueueBlocking(LinkAccessAudit audit) {
+    try {
+      queue.put(audit);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      droppedCounter.increment();
+    }
+  }
+}
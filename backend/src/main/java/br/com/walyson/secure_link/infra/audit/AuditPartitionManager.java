@@ -0,0 +1,140 @@
+package br.com.walyson.secure_link.infra.audit;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import br.com.walyson.secure_link.domain.LinkAccessAudit;
+import br.com.walyson.secure_link.domain.enums.AccessResult;
+import lombok.extern.slf4j.Slf4j;
+
+// Monthly RANGE partitions of link_access_audit (see V14). Partition names
+// end up in DDL, so only the names this class creates are accepted.
+@Slf4j
+@Component
+public class AuditPartitionManager {
+
+  private static final String FUTURE = "p_future";
+  private static final Pattern NAME = Pattern.compile("p_history|p\\d{6}");
+  private static final DateTimeFormatter MONTH_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+  private final JdbcTemplate jdbcTemplate;
+  private final JdbcTemplate streamingTemplate;
+
+  public AuditPartitionManager(DataSource dataSource) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    // Makes MySQL Connector/J stream rows instead of buffering a whole month.
+    this.streamingTemplate = new JdbcTemplate(dataSource);
+    this.streamingTemplate.setFetchSize(Integer.MIN_VALUE);
+  }
+
+  // Ordered by range; empty when the table is not partitioned.
+  public List<Partition> partitions() {
+    return jdbcTemplate.query("""
+      select partition_name, partition_description
+      from information_schema.partitions
+      where table_schema = database()
+      and table_name = 'link_access_audit'
+      and partition_name is not null
+      order by partition_ordinal_position
+      """,
+      (rs, rowNum) -> new Partition(rs.getString(1), upperBound(rs.getString(2))));
+  }
+
+  // Splits p_future into the missing months up to `last`. p_future is empty,
+  // so MySQL only rewrites partition metadata.
+  public int createMonthsUntil(List<Partition> partitions, YearMonth last) {
+    if (partitions.stream().noneMatch(partition -> FUTURE.equals(partition.name()))) {
+      return 0;
+    }
+    Instant covered = partitions.stream()
+      .map(Partition::upperBound)
+      .filter(Objects::nonNull)
+      .max(Comparator.naturalOrder())
+      .orElse(null);
+    if (covered == null) {
+      return 0;
+    }
+
+    List<String> definitions = new ArrayList<>();
+    for (YearMonth month = YearMonth.from(covered.atOffset(ZoneOffset.UTC)); !month.isAfter(last);
+        month = month.plusMonths(1)) {
+      definitions.add("PARTITION %s VALUES LESS THAN (%d)".formatted(
+        month.format(MONTH_NAME), startOf(month.plusMonths(1)).getEpochSecond()));
+    }
+    if (definitions.isEmpty()) {
+      return 0;
+    }
+
+    int created = definitions.size();
+    definitions.add("PARTITION " + FUTURE + " VALUES LESS THAN MAXVALUE");
+    jdbcTemplate.execute("ALTER TABLE link_access_audit REORGANIZE PARTITION " + FUTURE
+      + " INTO (" + String.join(", ", definitions) + ")");
+
+    log.info("secure_link_audit_partitions_created | count={} until={}", created, last);
+    return created;
+  }
+
+  // The caller must close the stream to release the connection.
+  public Stream<LinkAccessAudit> stream(String partition) {
+    return streamingTemplate.queryForStream(
+      "select id, short_code, result, ip_address, user_agent, accessed_at from link_access_audit partition ("
+        + checked(partition) + ")",
+      (rs, rowNum) -> LinkAccessAudit.builder()
+        .id(toUuid(rs.getBytes("id")))
+        .shortCode(rs.getString("short_code"))
+        .result(AccessResult.valueOf(rs.getString("result")))
+        .ipAddress(rs.getString("ip_address"))
+        .userAgent(rs.getString("user_agent"))
+        .accessedAt(rs.getObject("accessed_at", OffsetDateTime.class))
+        .build());
+  }
+
+  public void drop(String partition) {
+    jdbcTemplate.execute("ALTER TABLE link_access_audit DROP PARTITION " + checked(partition));
+  }
+
+  public static Instant startOf(YearMonth month) {
+    return month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+  }
+
+  private static String checked(String partition) {
+    if (partition == null || !NAME.matcher(partition).matches()) {
+      throw new IllegalArgumentException("Unexpected audit partition: " + partition);
+    }
+    return partition;
+  }
+
+  private static Instant upperBound(String description) {
+    if (description == null || "MAXVALUE".equalsIgnoreCase(description)) {
+      return null;
+    }
+    return Instant.ofEpochSecond(Long.parseLong(description.trim()));
+  }
+
+  private static UUID toUuid(byte[] bytes) {
+    if (bytes == null) {
+      return null;
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    return new UUID(buffer.getLong(), buffer.getLong());
+  }
+
+  // upperBound is exclusive, null for p_future.
+  public record Partition(String name, Instant upperBound) {}
+}
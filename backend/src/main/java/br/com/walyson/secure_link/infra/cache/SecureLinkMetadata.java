@@ -0,0 +1,49 @@
+package br.com.walyson.secure_link.infra.cache;
+
+import java.time.OffsetDateTime;
+
+import br.com.walyson.secure_link.domain.SecureLink;
+import br.com.walyson.secure_link.domain.enums.LinkStatus;
+
+public record SecureLinkMetadata(
+  String shortCode,
+  String targetUrl,
+  String filePath,
+  String originalFileName,
+  OffsetDateTime expiresAt,
+  Integer maxViews,
+  String passwordHash,
+  boolean passwordProtected,
+  LinkStatus status
+) {
+
+  public static SecureLinkMetadata from(SecureLink link) {
+    return new SecureLinkMetadata(
+      link.getShortCode(),
+      link.getTargetUrl(),
+      link.getFilePath(),
+      link.getOriginalFileName(),
+      link.getExpiresAt(),
+      link.getMaxViews(),
+      link.getPasswordHash(),
+      link.isPasswordProtected(),
+      link.getStatus()
+    );
+  }
+
+  public boolean isRevoked() {
+    return status == LinkStatus.REVOKED;
+  }
+
+  public boolean isActive() {
+    return status == LinkStatus.ACTIVE;
+  }
+
+  public boolean isExpired() {
+    return expiresAt != null && OffsetDateTime.now(expiresAt.getOffset()).isAfter(expiresAt);
+  }
+
+  public boolean isRedirect() {
+    return targetUrl != null && !targetUrl.isBlank();
+  }
+}
@@ -0,0 +1,88 @@
+package br.com.walyson.secure_link.infra.cache;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.walyson.secure_link.config.LinkCacheProperties;
+import br.com.walyson.secure_link.repository.SecureLinkRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Component
+public class SecureLinkMetadataCache {
+
+  private static final String CACHE_NAME = "secure_link_metadata";
+
+  private final SecureLinkRepository repository;
+  private final Cache<String, SecureLinkMetadata> cache;
+
+  public SecureLinkMetadataCache(
+    SecureLinkRepository repository,
+    LinkCacheProperties properties,
+    MeterRegistry meterRegistry
+  ) {
+    this.repository = repository;
+    this.cache = Caffeine.newBuilder()
+      .maximumSize(properties.getMaximumSize())
+      .expireAfterWrite(properties.getTtl())
+      .recordStats()
+      .build();
+
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  // Loads outside Cache.get(key, loader): the loader runs while holding a
+  // ConcurrentHashMap bin monitor, which would pin a virtual thread for the
+  // whole JDBC round trip.
+  public Optional<SecureLinkMetadata> get(String shortCode) {
+    SecureLinkMetadata cached = cache.getIfPresent(shortCode);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+
+    Optional<SecureLinkMetadata> loaded = repository.findByShortCode(shortCode)
+      .map(SecureLinkMetadata::from);
+
+    loaded.ifPresent(metadata -> cache.put(shortCode, metadata));
+    return loaded;
+  }
+
+  public void invalidate(String shortCode) {
+    cache.invalidate(shortCode);
+    afterCommit(() -> cache.invalidate(shortCode));
+  }
+
+  public void invalidateAll(Collection<String> shortCodes) {
+    if (shortCodes.isEmpty()) {
+      return;
+    }
+    cache.invalidateAll(shortCodes);
+    afterCommit(() -> cache.invalidateAll(shortCodes));
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+    afterCommit(cache::invalidateAll);
+  }
+
+  // A resolve running concurrently with the writing transaction may reload the
+  // old row before commit, so the entry is dropped again once the change is visible.
+  private void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+}
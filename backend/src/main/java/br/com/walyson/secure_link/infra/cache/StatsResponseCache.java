@@ -0,0 +1,111 @@
+package br.com.walyson.secure_link.infra.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.walyson.secure_link.config.StatsCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Short-lived memo of /api/stats responses keyed by endpoint and parameters.
+// Concurrent misses on one key share a single computation, and every entry
+// carries an ETag so a client holding the same body gets a 304.
+@Component
+public class StatsResponseCache {
+
+  private static final String CACHE_NAME = "secure_link_stats";
+
+  private final Cache<String, Snapshot<?>> cache;
+  private final Map<String, CompletableFuture<Snapshot<?>>> inFlight = new ConcurrentHashMap<>();
+  private final CacheControl cacheControl;
+  private final Counter coalesced;
+
+  public StatsResponseCache(StatsCacheProperties properties, MeterRegistry meterRegistry) {
+    this.cache = Caffeine.newBuilder()
+      .maximumSize(properties.getMaximumSize())
+      .expireAfterWrite(properties.getTtl())
+      .recordStats()
+      .build();
+    this.cacheControl = CacheControl.maxAge(properties.getTtl()).mustRevalidate();
+    this.coalesced = Counter.builder("secure_link_stats_cache_coalesced_total")
+      .description("Stats requests that waited for an identical request already running")
+      .register(meterRegistry);
+
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  // Not Cache.get(key, loader), for the same reason as SecureLinkMetadataCache:
+  // the aggregation queries would run while holding a map bin monitor. Failures
+  // reach every waiter and are not cached.
+  @SuppressWarnings("unchecked")
+  public <T> Snapshot<T> get(String key, Supplier<T> loader) {
+    Snapshot<?> cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return (Snapshot<T>) cached;
+    }
+
+    CompletableFuture<Snapshot<?>> call = new CompletableFuture<>();
+    CompletableFuture<Snapshot<?>> running = inFlight.putIfAbsent(key, call);
+    if (running != null) {
+      coalesced.increment();
+      return (Snapshot<T>) await(running);
+    }
+
+    try {
+      // The previous leader may have finished between the lookup and putIfAbsent.
+      Snapshot<?> loaded = cache.getIfPresent(key);
+      if (loaded == null) {
+        loaded = Snapshot.of(loader.get());
+        cache.put(key, loaded);
+      }
+      call.complete(loaded);
+      return (Snapshot<T>) loaded;
+    } catch (RuntimeException | Error e) {
+      call.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, call);
+    }
+  }
+
+  public CacheControl cacheControl() {
+    return cacheControl;
+  }
+
+  private static Snapshot<?> await(CompletableFuture<Snapshot<?>> running) {
+    try {
+      return running.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  // Stats DTOs are records, so toString() covers every serialized field and
+  // the tag is computed without rendering JSON. Equal bodies get equal tags on
+  // every replica.
+  public record Snapshot<T>(T body, String eTag) {
+
+    static <T> Snapshot<T> of(T body) {
+      String digest = DigestUtils.md5DigestAsHex(String.valueOf(body).getBytes(StandardCharsets.UTF_8));
+      return new Snapshot<>(body, "\"" + digest + "\"");
+    }
+  }
+}
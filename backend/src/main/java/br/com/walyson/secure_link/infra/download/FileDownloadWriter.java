@@ -0,0 +1,146 @@
+package br.com.walyson.secure_link.infra.download;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@Component
+public class FileDownloadWriter {
+
+  // Tomcat request attributes (org.apache.coyote.Constants) that hand the
+  // file region to the connector, which then streams it with sendfile.
+  private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+  private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+  private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+  private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+  public void write(Path file, String filename, HttpServletRequest request, HttpServletResponse response)
+  throws IOException {
+
+    long length = Files.size(file);
+    long lastModified = Files.getLastModifiedTime(file).toMillis();
+    String eTag = eTag(length, lastModified);
+
+    response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+    response.setHeader(HttpHeaders.ETAG, eTag);
+    response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+    response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+      .filename(filename, StandardCharsets.UTF_8)
+      .build()
+      .toString());
+    response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+
+    long start = 0;
+    long end = length - 1;
+
+    HttpRange range = requestedRange(request, eTag, lastModified);
+    if (range != null) {
+      try {
+        start = range.getRangeStart(length);
+        end = range.getRangeEnd(length);
+      } catch (IllegalArgumentException e) {
+        start = length;
+      }
+      // HttpRange does not reject a start at or past the end of the file.
+      if (start >= length || start > end) {
+        response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+        return;
+      }
+      response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+      response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+    } else {
+      response.setStatus(HttpServletResponse.SC_OK);
+    }
+
+    long count = end - start + 1;
+    response.setContentLengthLong(count);
+
+    if (HttpMethod.HEAD.matches(request.getMethod()) || count <= 0) {
+      return;
+    }
+
+    if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+      request.setAttribute(SENDFILE_FILENAME_ATTR, file.toRealPath().toString());
+      request.setAttribute(SENDFILE_START_ATTR, start);
+      request.setAttribute(SENDFILE_END_ATTR, start + count);
+      return;
+    }
+
+    transfer(file, start, count, response);
+  }
+
+  // Same value as the ETag header written for the file.
+  public static String eTag(Path file) throws IOException {
+    return eTag(Files.size(file), Files.getLastModifiedTime(file).toMillis());
+  }
+
+  private static String eTag(long length, long lastModified) {
+    return "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+  }
+
+  private HttpRange requestedRange(HttpServletRequest request, String eTag, long lastModified) {
+    String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+    if (rangeHeader == null || !matchesIfRange(request, eTag, lastModified)) {
+      return null;
+    }
+
+    try {
+      List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+      // Multipart byteranges are not served; a full response is a valid answer.
+      return ranges.size() == 1 ? ranges.get(0) : null;
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private boolean matchesIfRange(HttpServletRequest request, String eTag, long lastModified) {
+    String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+    if (ifRange == null) {
+      return true;
+    }
+    if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+      return ifRange.equals(eTag);
+    }
+
+    try {
+      long date = request.getDateHeader(HttpHeaders.IF_RANGE);
+      return date >= 0 && date / 1000 == lastModified / 1000;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  private void transfer(Path file, long start, long count, HttpServletResponse response) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+
+      long position = start;
+      long remaining = count;
+      while (remaining > 0) {
+        long written = channel.transferTo(position, remaining, out);
+        if (written <= 0) {
+          break;
+        }
+        position += written;
+        remaining -= written;
+      }
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package br.com.walyson.secure_link.infra.filter;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class ShortCodeBloomFilter {
+
+  private final AtomicLongArray words;
+  private final long bitSize;
+  private final int hashFunctions;
+
+  public ShortCodeBloomFilter(long expectedInsertions, double falsePositiveRate) {
+    long n = Math.max(1, expectedInsertions);
+    double ln2 = Math.log(2);
+    long optimalBits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2));
+
+    this.words = new AtomicLongArray((int) Math.max(1, (optimalBits + 63) / 64));
+    this.bitSize = (long) words.length() * Long.SIZE;
+    this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / n * ln2));
+  }
+
+  public void put(String value) {
+    long h1 = hash(value);
+    long h2 = mix(h1 + 0x9e3779b97f4a7c15L);
+
+    for (int i = 1; i <= hashFunctions; i++) {
+      setBit(Math.floorMod(h1 + i * h2, bitSize));
+    }
+  }
+
+  public boolean mightContain(String value) {
+    long h1 = hash(value);
+    long h2 = mix(h1 + 0x9e3779b97f4a7c15L);
+
+    for (int i = 1; i <= hashFunctions; i++) {
+      long index = Math.floorMod(h1 + i * h2, bitSize);
+      if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public long bitSize() {
+    return bitSize;
+  }
+
+  private void setBit(long index) {
+    int word = (int) (index >>> 6);
+    long mask = 1L << index;
+
+    long current;
+    do {
+      current = words.get(word);
+      if ((current & mask) != 0) {
+        return;
+      }
+    } while (!words.compareAndSet(word, current, current | mask));
+  }
+
+  private static long hash(String value) {
+    long h = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      h ^= value.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    return mix(h);
+  }
+
+  private static long mix(long k) {
+    k ^= k >>> 33;
+    k *= 0xff51afd7ed558ccdL;
+    k ^= k >>> 33;
+    k *= 0xc4ceb9fe1a85ec53L;
+    k ^= k >>> 33;
+    return k;
+  }
+}
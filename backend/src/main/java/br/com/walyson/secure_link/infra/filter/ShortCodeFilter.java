@@ -0,0 +1,145 @@
+package br.com.walyson.secure_link.infra.filter;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import br.com.walyson.secure_link.config.LinkFilterProperties;
+import br.com.walyson.secure_link.repository.SecureLinkRepository;
+import br.com.walyson.secure_link.repository.projection.CreatedShortCodeProjection;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class ShortCodeFilter {
+
+  private final SecureLinkRepository repository;
+  private final LinkFilterProperties properties;
+  private final AtomicLong insertions = new AtomicLong();
+
+  private volatile ShortCodeBloomFilter filter;
+  private volatile boolean ready;
+  private volatile OffsetDateTime syncedFrom;
+  private volatile long lastSyncNanos;
+  private volatile boolean synced;
+
+  public ShortCodeFilter(SecureLinkRepository repository, LinkFilterProperties properties, MeterRegistry meterRegistry) {
+    this.repository = repository;
+    this.properties = properties;
+
+    Gauge.builder("secure_link_short_code_filter_insertions", insertions, AtomicLong::get)
+      .description("Short codes registered in the negative-lookup filter")
+      .register(meterRegistry);
+  }
+
+  // Every code is let through until the filter has been loaded and synced
+  // with the codes other replicas created meanwhile, and again whenever the
+  // sync falls behind.
+  public boolean mightExist(String shortCode) {
+    ShortCodeBloomFilter current = filter;
+    return !ready || !synced || current == null || isStale() || current.mightContain(shortCode);
+  }
+
+  public void register(String shortCode) {
+    ShortCodeBloomFilter current = filter;
+    if (current != null) {
+      current.put(shortCode);
+      insertions.incrementAndGet();
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    if (!properties.isEnabled()) {
+      log.info("secure_link_short_code_filter | disabled");
+      return;
+    }
+    Thread.ofVirtual().name("short-code-filter-rebuild").start(this::rebuildSafely);
+  }
+
+  public synchronized void rebuild() {
+    long existing = repository.count();
+    long capacity = Math.max(properties.getExpectedInsertions(), existing * 2);
+
+    ready = false;
+    synced = false;
+    OffsetDateTime startedAt = OffsetDateTime.now();
+    insertions.set(0);
+    filter = new ShortCodeBloomFilter(capacity, properties.getFalsePositiveRate());
+
+    long startTime = System.currentTimeMillis();
+    String after = "";
+    List<String> page;
+    do {
+      page = repository.findShortCodesAfter(after, PageRequest.of(0, properties.getRebuildPageSize()));
+      page.forEach(this::register);
+      if (!page.isEmpty()) {
+        after = page.get(page.size() - 1);
+      }
+    } while (page.size() == properties.getRebuildPageSize());
+
+    syncedFrom = startedAt.minus(properties.getSyncOverlap());
+    ready = true;
+
+    log.info("secure_link_short_code_filter_rebuilt | codes={} capacity={} bits={} durationMs={}",
+      insertions.get(), capacity, filter.bitSize(), System.currentTimeMillis() - startTime);
+  }
+
+  // Adds the codes created since the previous sync, on this replica or any
+  // other, keyset on (created_at, short_code).
+  public synchronized void sync() {
+    ShortCodeBloomFilter current = filter;
+    if (!ready || current == null) {
+      return;
+    }
+
+    long startNanos = System.nanoTime();
+    OffsetDateTime startedAt = OffsetDateTime.now();
+    OffsetDateTime since = syncedFrom;
+    String after = "";
+    int added = 0;
+    List<CreatedShortCodeProjection> page;
+    do {
+      page = repository.findShortCodesCreatedSince(since, after, PageRequest.of(0, properties.getRebuildPageSize()));
+      for (CreatedShortCodeProjection row : page) {
+        if (!current.mightContain(row.getShortCode())) {
+          current.put(row.getShortCode());
+          insertions.incrementAndGet();
+          added++;
+        }
+      }
+      if (!page.isEmpty()) {
+        CreatedShortCodeProjection last = page.get(page.size() - 1);
+        since = last.getCreatedAt();
+        after = last.getShortCode();
+      }
+    } while (page.size() == properties.getRebuildPageSize());
+
+    syncedFrom = startedAt.minus(properties.getSyncOverlap());
+    lastSyncNanos = startNanos;
+    synced = true;
+
+    log.debug("secure_link_short_code_filter_synced | added={} durationMs={}",
+      added, (System.nanoTime() - startNanos) / 1_000_000);
+  }
+
+  private boolean isStale() {
+    return System.nanoTime() - lastSyncNanos > properties.getSyncInterval().multipliedBy(3).toNanos();
+  }
+
+  private void rebuildSafely() {
+    try {
+      rebuild();
+    } catch (RuntimeException e) {
+      ready = false;
+      log.error("secure_link_short_code_filter_rebuild_failed | lookups fall through to the database", e);
+    }
+  }
+}
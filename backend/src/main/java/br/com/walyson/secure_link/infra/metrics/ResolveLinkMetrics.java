@@ -0,0 +1,119 @@
+package br.com.walyson.secure_link.infra.metrics;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@Component
+public class ResolveLinkMetrics {
+
+  private static final double[] PERCENTILES = { 0.5, 0.95, 0.99 };
+
+  private static final List<String> DENIAL_REASONS = List.of(
+    "not_found",
+    "revoked",
+    "expired",
+    "view_limit_reached",
+    "inactive",
+    "password_required",
+    "invalid_password",
+    "grant_required"
+  );
+
+  public enum Stage {
+    DB_LOOKUP("db_lookup"),
+    STATE_CHECK("state_check"),
+    PASSWORD("password"),
+    VIEW_COUNT("view_count"),
+    AUDIT("audit"),
+    FILE_CHECK("file_check");
+
+    private final String tag;
+
+    Stage(String tag) {
+      this.tag = tag;
+    }
+  }
+
+  private final MeterRegistry meterRegistry;
+  private final Timer resolveTimer;
+  private final Counter attempts;
+  private final Counter successes;
+  private final Counter filtered;
+  private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+  private final Map<String, Counter> denials = new ConcurrentHashMap<>();
+
+  public ResolveLinkMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+
+    this.resolveTimer = Timer.builder("secure_link_resolve_duration_seconds")
+      .description("Time spent resolving secure links")
+      .publishPercentileHistogram()
+      .publishPercentiles(PERCENTILES)
+      .register(meterRegistry);
+
+    this.attempts = Counter.builder("secure_link_resolve_attempts_total")
+      .register(meterRegistry);
+
+    this.successes = Counter.builder("secure_link_resolve_success_total")
+      .register(meterRegistry);
+
+    this.filtered = Counter.builder("secure_link_resolve_filtered_total")
+      .description("Lookups rejected by the short code filter without reaching the database")
+      .register(meterRegistry);
+
+    for (Stage stage : Stage.values()) {
+      stageTimers.put(stage, Timer.builder("secure_link_resolve_stage_duration_seconds")
+        .description("Time spent in each stage of link resolution")
+        .tag("stage", stage.tag)
+        .publishPercentileHistogram()
+        .publishPercentiles(PERCENTILES)
+        .register(meterRegistry));
+    }
+
+    DENIAL_REASONS.forEach(this::deniedCounter);
+  }
+
+  public Timer.Sample startResolve() {
+    attempts.increment();
+    return Timer.start(meterRegistry);
+  }
+
+  public void stopResolve(Timer.Sample sample) {
+    sample.stop(resolveTimer);
+  }
+
+  public void recordSuccess() {
+    successes.increment();
+  }
+
+  public void recordFiltered() {
+    filtered.increment();
+  }
+
+  public void recordDenied(String reason) {
+    deniedCounter(reason).increment();
+  }
+
+  public <T> T time(Stage stage, Supplier<T> action) {
+    return stageTimers.get(stage).record(action);
+  }
+
+  public void time(Stage stage, Runnable action) {
+    stageTimers.get(stage).record(action);
+  }
+
+  private Counter deniedCounter(String reason) {
+    return denials.computeIfAbsent(reason, r -> Counter.builder("secure_link_resolve_denied_total")
+      .tag("reason", r)
+      .register(meterRegistry));
+  }
+}
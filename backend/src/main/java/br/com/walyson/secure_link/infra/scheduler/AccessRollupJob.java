@@ -0,0 +1,26 @@
+package br.com.walyson.secure_link.infra.scheduler;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.walyson.secure_link.service.AccessRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AccessRollupJob {
+
+  private final AccessRollupService service;
+
+  @Scheduled(fixedDelayString = "${app.stats.rollup.interval:PT5M}", initialDelayString = "PT30S")
+  public void rollup() {
+    long startTime = System.currentTimeMillis();
+    int hours = service.rollup();
+    long durationMs = System.currentTimeMillis() - startTime;
+
+    log.info("secure_link_access_rollup_job | hours={} rolledUpUntil={} durationMs={}",
+      hours, service.rolledUpUntil(), durationMs);
+  }
+}
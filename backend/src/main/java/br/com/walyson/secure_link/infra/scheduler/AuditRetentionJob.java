@@ -0,0 +1,38 @@
+package br.com.walyson.secure_link.infra.scheduler;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.walyson.secure_link.config.AuditRetentionProperties;
+import br.com.walyson.secure_link.dto.AuditRetentionResultDto;
+import br.com.walyson.secure_link.service.AuditRetentionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuditRetentionJob {
+
+  private final AuditRetentionService service;
+  private final SchedulerLeaseManager leaseManager;
+  private final AuditRetentionProperties properties;
+
+  public static final String LEASE_NAME = "audit-retention";
+
+  // Partition DDL and archive files must not be produced by two replicas.
+  @Scheduled(fixedDelayString = "${app.audit.retention.interval:PT1H}", initialDelayString = "PT5M")
+  public void enforceRetention() {
+    if (!leaseManager.tryAcquire(LEASE_NAME, properties.getLeaseTtl())) {
+      log.debug("secure_link_audit_retention_job_skipped | leaseOwner={}", leaseManager.ownerOf(LEASE_NAME).orElse(null));
+      return;
+    }
+
+    long startTime = System.currentTimeMillis();
+    AuditRetentionResultDto result = service.enforceRetention();
+    long durationMs = System.currentTimeMillis() - startTime;
+
+    log.info("secure_link_audit_retention_job | partitionsCreated={} partitionsArchived={} rowsArchived={} durationMs={}",
+      result.partitionsCreated(), result.partitionsArchived(), result.rowsArchived(), durationMs);
+  }
+}
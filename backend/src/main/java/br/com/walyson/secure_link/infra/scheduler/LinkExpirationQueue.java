@@ -0,0 +1,227 @@
+package br.com.walyson.secure_link.infra.scheduler;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import br.com.walyson.secure_link.config.LinkExpirationProperties;
+import br.com.walyson.secure_link.repository.SecureLinkRepository;
+import br.com.walyson.secure_link.repository.projection.ExpiringLinkProjection;
+import br.com.walyson.secure_link.service.SecureLinkExpirationService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+// Holds the expirations due within the next horizon and expires each link
+// as soon as its expiresAt passes, instead of waiting for the next sweep.
+// Only entries within the horizon are tracked; later ones are picked up by a
+// later refill, and anything missed is still caught by the periodic sweep.
+// The window is loaded by the sweep job, so with several replicas only the
+// lease owner holds it; the others queue just the links they create.
+@Slf4j
+@Component
+public class LinkExpirationQueue implements SmartLifecycle {
+
+  private static final long SHUTDOWN_TIMEOUT_MS = 5_000;
+
+  // Already due, so it wakes a worker blocked in take(); never in scheduled,
+  // so expire() drops it if a batch drains it.
+  private static final Entry STOP = new Entry("", Instant.EPOCH);
+
+  private final SecureLinkRepository repository;
+  private final SecureLinkExpirationService expirationService;
+  private final LinkExpirationProperties.Queue properties;
+  private final boolean virtualThreads;
+  private final DelayQueue<Entry> queue = new DelayQueue<>();
+  private final Map<String, Entry> scheduled = new ConcurrentHashMap<>();
+  private final Timer lag;
+
+  private volatile OffsetDateTime loadedUntil;
+  // Last short code loaded at loadedUntil when a full page stopped there;
+  // null once every link expiring at that instant is loaded.
+  private volatile String loadedAfter;
+  private volatile boolean running;
+  private Thread worker;
+
+  public LinkExpirationQueue(
+    SecureLinkRepository repository,
+    SecureLinkExpirationService expirationService,
+    LinkExpirationProperties properties,
+    MeterRegistry meterRegistry,
+    @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+  ) {
+    this.repository = repository;
+    this.expirationService = expirationService;
+    this.properties = properties.getQueue();
+    this.virtualThreads = virtualThreads;
+
+    Gauge.builder("secure_link_expiration_queue_size", scheduled, Map::size)
+      .description("Upcoming expirations held in memory")
+      .register(meterRegistry);
+
+    this.lag = Timer.builder("secure_link_expiration_lag")
+      .description("Delay between expiresAt and the link being expired by the queue")
+      .register(meterRegistry);
+  }
+
+  // Links beyond the horizon are left to a later refill. An entry equal to
+  // one already queued is not added twice.
+  public void schedule(String shortCode, OffsetDateTime expiresAt) {
+    if (!properties.isEnabled() || expiresAt == null
+        || expiresAt.isAfter(OffsetDateTime.now().plus(properties.getHorizon()))) {
+      return;
+    }
+    if (scheduled.size() >= properties.getCapacity()) {
+      return;
+    }
+    Entry entry = new Entry(shortCode, expiresAt.toInstant());
+    Entry previous = scheduled.put(shortCode, entry);
+    if (previous == null || !previous.equals(entry)) {
+      queue.add(entry);
+    }
+  }
+
+  // The queued entry stays in the DelayQueue and is skipped when it fires.
+  public void cancel(String shortCode) {
+    scheduled.remove(shortCode);
+  }
+
+  // Loads the expirations between the previous horizon and now + horizon.
+  public void refill() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    OffsetDateTime now = OffsetDateTime.now();
+    boolean resume = loadedUntil != null && !loadedUntil.isBefore(now);
+    OffsetDateTime from = resume ? loadedUntil : now;
+    String after = resume ? loadedAfter : null;
+    OffsetDateTime until = now.plus(properties.getHorizon());
+
+    int free = properties.getCapacity() - scheduled.size();
+    if (free <= 0 || !until.isAfter(from)) {
+      return;
+    }
+
+    List<ExpiringLinkProjection> upcoming = repository.findExpiringBetween(from, after, until, PageRequest.of(0, free));
+
+    // A full page may have left later rows behind, some at the very instant
+    // it stopped: the next refill resumes after its last (expiresAt, shortCode).
+    OffsetDateTime reached = until;
+    String reachedAfter = null;
+    if (upcoming.size() == free) {
+      reached = upcoming.getLast().getExpiresAt();
+      reachedAfter = upcoming.getLast().getShortCode();
+    }
+    loadedUntil = reached;
+    loadedAfter = reachedAfter;
+
+    upcoming.forEach(link -> schedule(link.getShortCode(), link.getExpiresAt()));
+
+    log.info("secure_link_expiration_queue_refilled | loaded={} size={} until={}",
+      upcoming.size(), scheduled.size(), reached);
+  }
+
+  // Expires the entries already due without blocking.
+  public int expireDue() {
+    List<Entry> due = new ArrayList<>();
+    queue.drainTo(due, properties.getBatchSize());
+    return expire(due);
+  }
+
+  @Override
+  public void start() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    running = true;
+    Thread.Builder builder = virtualThreads
+      ? Thread.ofVirtual()
+      : Thread.ofPlatform().daemon(true);
+
+    worker = builder.name("link-expiration-queue").start(this::run);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+
+    // No interrupt: the worker may be inside a JDBC call, and interrupting
+    // it there can abort the statement or poison the connection.
+    if (worker != null) {
+      queue.add(STOP);
+      try {
+        worker.join(SHUTDOWN_TIMEOUT_MS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void run() {
+    while (running) {
+      try {
+        Entry next = queue.take();
+        if (next == STOP) {
+          break;
+        }
+        List<Entry> due = new ArrayList<>();
+        due.add(next);
+        queue.drainTo(due, properties.getBatchSize() - 1);
+        expire(due);
+      } catch (InterruptedException e) {
+        break;
+      } catch (RuntimeException e) {
+        log.error("secure_link_expiration_queue_failed", e);
+      }
+    }
+  }
+
+  private int expire(List<Entry> due) {
+    List<Entry> active = due.stream()
+      .filter(entry -> scheduled.remove(entry.shortCode(), entry))
+      .toList();
+
+    if (active.isEmpty()) {
+      return 0;
+    }
+
+    int expired = expirationService.expire(active.stream().map(Entry::shortCode).toList());
+
+    long now = System.currentTimeMillis();
+    active.forEach(entry ->
+      lag.record(Math.max(0, now - entry.expiresAt().toEpochMilli()), TimeUnit.MILLISECONDS));
+
+    log.info("secure_link_expiration_queue_expired | due={} expired={}", active.size(), expired);
+    return expired;
+  }
+
+  private record Entry(String shortCode, Instant expiresAt) implements Delayed {
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(expiresAt.toEpochMilli() - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      return expiresAt.compareTo(((Entry) other).expiresAt);
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package br.com.walyson.secure_link.infra.scheduler;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.walyson.secure_link.infra.stats.UniqueOriginTracker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OriginSketchFlushJob {
+
+  private final UniqueOriginTracker tracker;
+
+  @Scheduled(fixedDelayString = "${app.stats.origins.flush-interval:PT1M}", initialDelayString = "PT1M")
+  public void flush() {
+    long startTime = System.currentTimeMillis();
+    tracker.flush();
+    tracker.refresh();
+    long durationMs = System.currentTimeMillis() - startTime;
+
+    log.debug("secure_link_origin_sketch_flush | estimate={} durationMs={}", tracker.estimate(), durationMs);
+  }
+}
@@ -0,0 +1,135 @@
+package br.com.walyson.secure_link.infra.scheduler;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.walyson.secure_link.config.SchedulerLeaseProperties;
+import br.com.walyson.secure_link.domain.SchedulerLease;
+import br.com.walyson.secure_link.repository.SchedulerLeaseRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// Database lease that lets a single replica run a cluster-wide job. Expiry
+// is compared against each node's clock, so replicas are assumed to be kept
+// in sync by NTP; the TTL is minutes long, far above any realistic skew.
+@Slf4j
+@Component
+public class SchedulerLeaseManager {
+
+  private final SchedulerLeaseRepository repository;
+  private final SchedulerLeaseProperties properties;
+  private final TransactionTemplate transactionTemplate;
+  private final String nodeId;
+  private final Set<String> held = ConcurrentHashMap.newKeySet();
+
+  public SchedulerLeaseManager(
+    SchedulerLeaseRepository repository,
+    SchedulerLeaseProperties properties,
+    PlatformTransactionManager transactionManager
+  ) {
+    this.repository = repository;
+    this.properties = properties;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.nodeId = properties.getNodeId() == null || properties.getNodeId().isBlank()
+      ? defaultNodeId()
+      : properties.getNodeId();
+  }
+
+  public String nodeId() {
+    return nodeId;
+  }
+
+  // Acquires or renews the lease; false means another replica holds it.
+  public boolean tryAcquire(String name) {
+    return tryAcquire(name, properties.getTtl());
+  }
+
+  // For jobs whose interval is longer than the shared TTL.
+  public boolean tryAcquire(String name, Duration ttl) {
+    if (!properties.isEnabled()) {
+      return true;
+    }
+
+    boolean acquired;
+    try {
+      acquired = acquireOrCreate(name, ttl);
+    } catch (DataAccessException e) {
+      log.error("secure_link_scheduler_lease_failed | name={} nodeId={}", name, nodeId, e);
+      acquired = false;
+    }
+
+    if (acquired && held.add(name)) {
+      log.info("secure_link_scheduler_lease_acquired | name={} nodeId={}", name, nodeId);
+    } else if (!acquired && held.remove(name)) {
+      log.info("secure_link_scheduler_lease_lost | name={} nodeId={}", name, nodeId);
+    }
+    return acquired;
+  }
+
+  public Optional<String> ownerOf(String name) {
+    return repository.findById(name)
+      .filter(lease -> lease.getExpiresAt().isAfter(OffsetDateTime.now()))
+      .map(SchedulerLease::getOwner);
+  }
+
+  // Lets another replica take over right away instead of waiting for the TTL.
+  @PreDestroy
+  public void releaseAll() {
+    for (String name : held) {
+      try {
+        transactionTemplate.executeWithoutResult(status ->
+          repository.release(name, nodeId, OffsetDateTime.now()));
+        log.info("secure_link_scheduler_lease_released | name={} nodeId={}", name, nodeId);
+      } catch (DataAccessException e) {
+        log.warn("secure_link_scheduler_lease_release_failed | name={} nodeId={}", name, nodeId, e);
+      }
+    }
+    held.clear();
+  }
+
+  private boolean acquireOrCreate(String name, Duration ttl) {
+    OffsetDateTime now = OffsetDateTime.now();
+    OffsetDateTime until = now.plus(ttl);
+
+    boolean renewed = Boolean.TRUE.equals(transactionTemplate.execute(status ->
+      repository.acquire(name, nodeId, now, until) == 1));
+    if (renewed) {
+      return true;
+    }
+    if (repository.existsById(name)) {
+      return false;
+    }
+
+    try {
+      transactionTemplate.executeWithoutResult(status -> repository.insert(name, nodeId, now, until));
+      return true;
+    } catch (DataIntegrityViolationException e) {
+      // Another replica created the lease first.
+      return false;
+    }
+  }
+
+  private static String defaultNodeId() {
+    String host;
+    try {
+      host = InetAddress.getLocalHost().getHostName();
+    } catch (UnknownHostException e) {
+      host = "unknown";
+    }
+    return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+  }
+}
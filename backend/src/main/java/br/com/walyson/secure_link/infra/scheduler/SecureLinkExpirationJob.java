@@ -15,14 +15,28 @@ public class SecureLinkExpirationJob {
 
   private final SecureLinkExpirationService service;
   private final SchedulerExecutionRegistry executionRegistry;
+  private final LinkExpirationQueue expirationQueue;
+  private final SchedulerLeaseManager leaseManager;
 
-  @Scheduled(fixedDelayString = "PT1M")
+  public static final String LEASE_NAME = "link-expiration";
+
+  // Coarse safety net: due links are normally expired on time by the queue.
+  // Only the replica holding the lease sweeps and loads the queue window.
+  @Scheduled(fixedDelayString = "${app.link.expiration.sweep-interval:PT5M}")
   public void expireLinks() {
+    if (!leaseManager.tryAcquire(LEASE_NAME)) {
+      String owner = leaseManager.ownerOf(LEASE_NAME).orElse(null);
+      executionRegistry.markStandby(owner);
+      log.debug("secure_link_expiration_job_skipped | leaseOwner={}", owner);
+      return;
+    }
+
     executionRegistry.markExecution();
     long startTime = System.currentTimeMillis();
     int totalExpired = service.expireLinks();
+    expirationQueue.refill();
     long durationMs = System.currentTimeMillis() - startTime;
-    
+
     log.info("secure_link_expiration_job | expired={} durationMs={}", totalExpired, durationMs);
   }
 }
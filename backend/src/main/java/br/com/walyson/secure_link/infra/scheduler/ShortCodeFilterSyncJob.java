@@ -0,0 +1,22 @@
+package br.com.walyson.secure_link.infra.scheduler;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.walyson.secure_link.infra.filter.ShortCodeFilter;
+import lombok.RequiredArgsConstructor;
+
+// Runs on every replica: each one holds its own filter.
+@Component
+@RequiredArgsConstructor
+public class ShortCodeFilterSyncJob {
+
+  private final ShortCodeFilter filter;
+
+  @Scheduled(
+    fixedDelayString = "${app.link.filter.sync-interval:PT10S}",
+    initialDelayString = "${app.link.filter.sync-interval:PT10S}")
+  public void sync() {
+    filter.sync();
+  }
+}
@@ -0,0 +1,48 @@
+package br.com.walyson.secure_link.infra.scheduler;
+
+import java.time.OffsetDateTime;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.walyson.secure_link.config.StatsCompactionProperties;
+import br.com.walyson.secure_link.infra.stats.TopShortCodeTracker;
+import br.com.walyson.secure_link.infra.stats.UniqueOriginTracker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StatsCompactionJob {
+
+  private final TopShortCodeTracker topShortCodeTracker;
+  private final UniqueOriginTracker uniqueOriginTracker;
+  private final SchedulerLeaseManager leaseManager;
+  private final StatsCompactionProperties properties;
+
+  public static final String LEASE_NAME = "stats-compaction";
+
+  // Every process writes its stats rows under its own node id, so restarts
+  // and replaced pods leave rows behind. Folding them twice would count
+  // them twice, hence the lease.
+  @Scheduled(fixedDelayString = "${app.stats.compaction.interval:PT1H}", initialDelayString = "PT10M")
+  public void compact() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    if (!leaseManager.tryAcquire(LEASE_NAME)) {
+      log.debug("secure_link_stats_compaction_job_skipped | leaseOwner={}", leaseManager.ownerOf(LEASE_NAME).orElse(null));
+      return;
+    }
+
+    long startTime = System.currentTimeMillis();
+    OffsetDateTime staleBefore = OffsetDateTime.now().minus(properties.getStaleAfter());
+    int checkpoints = topShortCodeTracker.compact(staleBefore);
+    int sketches = uniqueOriginTracker.compact(staleBefore);
+    long durationMs = System.currentTimeMillis() - startTime;
+
+    log.info("secure_link_stats_compaction_job | checkpoints={} sketches={} durationMs={}",
+      checkpoints, sketches, durationMs);
+  }
+}
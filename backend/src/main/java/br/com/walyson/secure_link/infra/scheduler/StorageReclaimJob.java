@@ -0,0 +1,27 @@
+package br.com.walyson.secure_link.infra.scheduler;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.walyson.secure_link.dto.StorageReclaimResultDto;
+import br.com.walyson.secure_link.service.StorageReclaimService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StorageReclaimJob {
+
+  private final StorageReclaimService service;
+
+  @Scheduled(fixedDelayString = "${app.storage.reclaim.interval:PT5M}", initialDelayString = "PT1M")
+  public void reclaim() {
+    long startTime = System.currentTimeMillis();
+    StorageReclaimResultDto result = service.reclaim();
+    long durationMs = System.currentTimeMillis() - startTime;
+
+    log.info("secure_link_storage_reclaim_job | released={} backlog={} orphansFound={} orphansDeleted={} durationMs={}",
+      result.released(), result.backlog(), result.orphansFound(), result.orphansDeleted(), durationMs);
+  }
+}
@@ -0,0 +1,26 @@
+package br.com.walyson.secure_link.infra.scheduler;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.walyson.secure_link.infra.stats.TopShortCodeTracker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TopShortCodeFlushJob {
+
+  private final TopShortCodeTracker tracker;
+
+  @Scheduled(fixedDelayString = "${app.stats.top.flush-interval:PT1M}", initialDelayString = "PT1M")
+  public void flush() {
+    long startTime = System.currentTimeMillis();
+    tracker.flush();
+    tracker.refresh();
+    long durationMs = System.currentTimeMillis() - startTime;
+
+    log.debug("secure_link_top_short_code_flush | durationMs={}", durationMs);
+  }
+}
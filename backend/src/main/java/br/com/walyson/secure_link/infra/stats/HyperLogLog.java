@@ -0,0 +1,127 @@
+package br.com.walyson.secure_link.infra.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Cardinality sketch with 2^precision one-byte registers, eight per word so
+// concurrent adds can CAS a register without locking. Standard error is
+// 1.04 / sqrt(2^precision), about 0.8% at the default precision of 14.
+public class HyperLogLog {
+
+  public static final int DEFAULT_PRECISION = 14;
+
+  private static final int MIN_PRECISION = 4;
+  private static final int MAX_PRECISION = 18;
+
+  private final int precision;
+  private final int registerCount;
+  private final AtomicLongArray words;
+
+  public HyperLogLog(int precision) {
+    if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+      throw new IllegalArgumentException("precision must be between 4 and 18");
+    }
+    this.precision = precision;
+    this.registerCount = 1 << precision;
+    this.words = new AtomicLongArray(registerCount / Long.BYTES);
+  }
+
+  public static HyperLogLog fromBytes(byte[] registers) {
+    int precision = Integer.numberOfTrailingZeros(registers.length);
+    if (registers.length != 1 << precision) {
+      throw new IllegalArgumentException("register count must be a power of two");
+    }
+    HyperLogLog sketch = new HyperLogLog(precision);
+    for (int i = 0; i < registers.length; i++) {
+      sketch.raise(i, registers[i]);
+    }
+    return sketch;
+  }
+
+  public int precision() {
+    return precision;
+  }
+
+  public void add(String value) {
+    long hash = hash(value);
+    int index = (int) (hash >>> (Long.SIZE - precision));
+    // The guard bit caps the rank at 64 - precision + 1.
+    int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+    raise(index, rank);
+  }
+
+  public void merge(HyperLogLog other) {
+    if (other.precision != precision) {
+      throw new IllegalArgumentException("cannot merge sketches of different precision");
+    }
+    for (int i = 0; i < registerCount; i++) {
+      raise(i, other.register(i));
+    }
+  }
+
+  public HyperLogLog copy() {
+    HyperLogLog copy = new HyperLogLog(precision);
+    copy.merge(this);
+    return copy;
+  }
+
+  public long estimate() {
+    double sum = 0;
+    int zeros = 0;
+    for (int i = 0; i < registerCount; i++) {
+      int register = register(i);
+      sum += Math.scalb(1.0, -register);
+      if (register == 0) {
+        zeros++;
+      }
+    }
+
+    double m = registerCount;
+    double estimate = 0.7213 / (1 + 1.079 / m) * m * m / sum;
+
+    // Small cardinalities: linear counting over the empty registers.
+    if (estimate <= 2.5 * m && zeros > 0) {
+      estimate = m * Math.log(m / zeros);
+    }
+    return Math.round(estimate);
+  }
+
+  public byte[] toBytes() {
+    byte[] registers = new byte[registerCount];
+    for (int i = 0; i < registerCount; i++) {
+      registers[i] = (byte) register(i);
+    }
+    return registers;
+  }
+
+  private int register(int index) {
+    return (int) (words.get(index >>> 3) >>> ((index & 7) << 3)) & 0xff;
+  }
+
+  private void raise(int index, int rank) {
+    int word = index >>> 3;
+    int shift = (index & 7) << 3;
+    long mask = 0xffL << shift;
+
+    long current;
+    do {
+      current = words.get(word);
+      if (((current & mask) >>> shift) >= rank) {
+        return;
+      }
+    } while (!words.compareAndSet(word, current, (current & ~mask) | ((long) rank << shift)));
+  }
+
+  private static long hash(String value) {
+    long h = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      h ^= value.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
@@ -0,0 +1,193 @@
+package br.com.walyson.secure_link.infra.stats;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// Space-Saving heavy-hitter summary over at most `capacity` keys. Every
+// tracked count is an upper bound on the true count and exceeds it by at
+// most its error; a key that is not tracked occurred at most floor() times.
+// Summaries of disjoint streams (other replicas) merge with the same bounds.
+public class SpaceSaving {
+
+  // Descending iteration yields the ranking order: count desc, key asc.
+  private static final Comparator<Counter> BY_COUNT = Comparator
+    .comparingLong((Counter counter) -> counter.count)
+    .thenComparing(counter -> counter.key, Comparator.reverseOrder());
+
+  private final int capacity;
+  private final Map<String, Counter> counters = new HashMap<>();
+  private final TreeSet<Counter> byCount = new TreeSet<>(BY_COUNT);
+  private long floor;
+
+  public SpaceSaving(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+    this.capacity = capacity;
+  }
+
+  public static SpaceSaving fromBytes(byte[] bytes) {
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+      SpaceSaving summary = new SpaceSaving(in.readInt());
+      summary.floor = in.readLong();
+      int size = in.readInt();
+      for (int i = 0; i < size; i++) {
+        summary.put(new Counter(in.readUTF(), in.readLong(), in.readLong()));
+      }
+      return summary;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  // Exact counts, e.g. read from the rollups. Only the largest `capacity`
+  // keys are kept and the largest dropped count becomes the floor, so the
+  // map must hold every key that could beat it.
+  public static SpaceSaving fromCounts(int capacity, Map<String, Long> counts) {
+    SpaceSaving summary = new SpaceSaving(capacity);
+    counts.forEach((key, count) -> summary.put(new Counter(key, count, 0)));
+    summary.truncate();
+    return summary;
+  }
+
+  public int capacity() {
+    return capacity;
+  }
+
+  public synchronized long floor() {
+    return floor;
+  }
+
+  public void offer(String key) {
+    offer(key, 1);
+  }
+
+  public synchronized void offer(String key, long increment) {
+    Counter counter = counters.get(key);
+    if (counter != null) {
+      byCount.remove(counter);
+      counter.count += increment;
+      byCount.add(counter);
+      return;
+    }
+
+    if (counters.size() >= capacity) {
+      Counter evicted = byCount.pollFirst();
+      counters.remove(evicted.key);
+      floor = Math.max(floor, evicted.count);
+    }
+    put(new Counter(key, floor + increment, floor));
+  }
+
+  // A key missing from one side may still have occurred up to that side's
+  // floor, which is added to its count and to its error.
+  public void merge(SpaceSaving other) {
+    long otherFloor;
+    List<Item> otherItems;
+    synchronized (other) {
+      otherFloor = other.floor;
+      otherItems = other.items();
+    }
+
+    synchronized (this) {
+      long ownFloor = floor;
+      Map<String, Item> theirs = new HashMap<>();
+      otherItems.forEach(item -> theirs.put(item.key(), item));
+
+      for (Counter counter : counters.values()) {
+        Item item = theirs.remove(counter.key);
+        long count = item == null ? otherFloor : item.count();
+        long error = item == null ? otherFloor : item.error();
+        byCount.remove(counter);
+        counter.count += count;
+        counter.error += error;
+        byCount.add(counter);
+      }
+      theirs.values().forEach(item ->
+        put(new Counter(item.key(), item.count() + ownFloor, item.error() + ownFloor)));
+
+      floor = ownFloor + otherFloor;
+      truncate();
+    }
+  }
+
+  public SpaceSaving copy() {
+    return fromBytes(toBytes());
+  }
+
+  // Largest counts first; ties are ordered by key so the order is stable.
+  public synchronized List<Item> top(int limit) {
+    List<Item> top = new ArrayList<>(Math.min(limit, counters.size()));
+    for (Counter counter : byCount.descendingSet()) {
+      if (top.size() >= limit) {
+        break;
+      }
+      top.add(counter.toItem());
+    }
+    return top;
+  }
+
+  public synchronized byte[] toBytes() {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream(16 + counters.size() * 32);
+    try (DataOutputStream out = new DataOutputStream(buffer)) {
+      out.writeInt(capacity);
+      out.writeLong(floor);
+      out.writeInt(counters.size());
+      for (Counter counter : byCount) {
+        out.writeUTF(counter.key);
+        out.writeLong(counter.count);
+        out.writeLong(counter.error);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return buffer.toByteArray();
+  }
+
+  private List<Item> items() {
+    return counters.values().stream().map(Counter::toItem).toList();
+  }
+
+  private void put(Counter counter) {
+    counters.put(counter.key, counter);
+    byCount.add(counter);
+  }
+
+  private void truncate() {
+    while (counters.size() > capacity) {
+      Counter dropped = byCount.pollFirst();
+      counters.remove(dropped.key);
+      floor = Math.max(floor, dropped.count);
+    }
+  }
+
+  // The true count lies in [count - error, count].
+  public record Item(String key, long count, long error) {}
+
+  private static final class Counter {
+
+    private final String key;
+    private long count;
+    private long error;
+
+    private Counter(String key, long count, long error) {
+      this.key = key;
+      this.count = count;
+      this.error = error;
+    }
+
+    private Item toItem() {
+      return new Item(key, count, error);
+    }
+  }
+}
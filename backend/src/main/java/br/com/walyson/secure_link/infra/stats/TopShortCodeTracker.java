@@ -0,0 +1,210 @@
+package br.com.walyson.secure_link.infra.stats;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.walyson.secure_link.config.TopShortCodeProperties;
+import br.com.walyson.secure_link.domain.TopShortCodeCheckpoint;
+import br.com.walyson.secure_link.domain.enums.AccessResult;
+import br.com.walyson.secure_link.infra.scheduler.SchedulerLeaseManager;
+import br.com.walyson.secure_link.repository.LinkAccessRollupRepository;
+import br.com.walyson.secure_link.repository.TopShortCodeCheckpointRepository;
+import br.com.walyson.secure_link.service.AccessRollupService;
+import lombok.extern.slf4j.Slf4j;
+
+// Most accessed links and most failed passwords, counted in memory with one
+// Space-Saving summary per result on each replica. A replica checkpoints
+// its own cumulative summary to top_short_code_checkpoint and merges the
+// checkpoints of the others, so a ranking never touches the audit table.
+@Slf4j
+@Component
+public class TopShortCodeTracker {
+
+  private static final Set<AccessResult> TRACKED = EnumSet.of(AccessResult.SUCCESS, AccessResult.INVALID_PASSWORD);
+
+  // History from before the first checkpoint, read once from the rollups.
+  private static final String SEED_NODE_ID = "seed";
+
+  // Checkpoints of replicas that stopped flushing, folded together.
+  private static final String RETIRED_NODE_ID = "retired";
+
+  private static final long REFRESH_OVERLAP_MINUTES = 5;
+  private static final OffsetDateTime EPOCH = OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+  private final TopShortCodeCheckpointRepository repository;
+  private final LinkAccessRollupRepository rollupRepository;
+  private final AccessRollupService rollupService;
+  private final TransactionTemplate transactionTemplate;
+  private final int capacity;
+  private final String nodeId;
+  private final Map<AccessResult, SpaceSaving> local = new EnumMap<>(AccessResult.class);
+  private final Map<TopShortCodeCheckpoint.Key, SpaceSaving> others = new ConcurrentHashMap<>();
+
+  private volatile Map<AccessResult, SpaceSaving> union = Map.of();
+  private volatile OffsetDateTime refreshedAt;
+  private boolean ownCheckpointsLoaded;
+
+  public TopShortCodeTracker(
+    TopShortCodeCheckpointRepository repository,
+    LinkAccessRollupRepository rollupRepository,
+    AccessRollupService rollupService,
+    TopShortCodeProperties properties,
+    SchedulerLeaseManager leaseManager,
+    PlatformTransactionManager transactionManager
+  ) {
+    this.repository = repository;
+    this.rollupRepository = rollupRepository;
+    this.rollupService = rollupService;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.capacity = properties.getCapacity();
+    this.nodeId = leaseManager.nodeId();
+    TRACKED.forEach(result -> local.put(result, new SpaceSaving(capacity)));
+  }
+
+  public void record(String shortCode, AccessResult result) {
+    SpaceSaving summary = local.get(result);
+    if (summary != null && shortCode != null) {
+      summary.offer(shortCode);
+    }
+  }
+
+  public List<SpaceSaving.Item> top(AccessResult result, int limit) {
+    SpaceSaving own = local.get(result);
+    if (own == null) {
+      throw new IllegalArgumentException("Result is not tracked: " + result);
+    }
+    SpaceSaving cluster = union.get(result);
+    SpaceSaving merged = cluster == null ? new SpaceSaving(capacity) : cluster.copy();
+    merged.merge(own);
+    return merged.top(limit);
+  }
+
+  // Overwrites this replica's rows with its cumulative summaries. Nothing is
+  // written until the rows a previous run under the same node id left have
+  // been folded in, so a restart with a fixed NODE_ID keeps its history.
+  public void flush() {
+    loadOwnCheckpoints();
+    OffsetDateTime now = OffsetDateTime.now();
+    local.forEach((result, summary) ->
+      repository.save(new TopShortCodeCheckpoint(result, nodeId, summary.toBytes(), now)));
+  }
+
+  public synchronized void refresh() {
+    OffsetDateTime since = refreshedAt;
+    OffsetDateTime now = OffsetDateTime.now();
+
+    List<TopShortCodeCheckpoint> rows = since == null
+      ? repository.findAll()
+      : repository.findByUpdatedAtGreaterThanEqual(since.minusMinutes(REFRESH_OVERLAP_MINUTES));
+
+    rows.stream()
+      .filter(row -> !nodeId.equals(row.getNodeId()))
+      .forEach(row -> others.put(
+        new TopShortCodeCheckpoint.Key(row.getResult(), row.getNodeId()),
+        SpaceSaving.fromBytes(row.getSummary())));
+
+    // Rows folded into the retired ones by compact() must not count twice.
+    Set<String> nodeIds = repository.findNodeIds();
+    others.keySet().removeIf(key -> !nodeIds.contains(key.getNodeId()));
+
+    Map<AccessResult, SpaceSaving> next = new EnumMap<>(AccessResult.class);
+    TRACKED.forEach(result -> next.put(result, new SpaceSaving(capacity)));
+    others.forEach((key, summary) -> {
+      SpaceSaving merged = next.get(key.getResult());
+      if (merged != null) {
+        merged.merge(summary);
+      }
+    });
+
+    union = next;
+    refreshedAt = now;
+  }
+
+  // Folds the checkpoints not rewritten since staleBefore (replicas that are
+  // gone, each under its own node id) into one retired row per result and
+  // deletes them. Must run on one replica at a time.
+  public int compact(OffsetDateTime staleBefore) {
+    Set<String> kept = Set.of(SEED_NODE_ID, RETIRED_NODE_ID, nodeId);
+    int compacted = 0;
+
+    for (AccessResult result : TRACKED) {
+      Integer folded = transactionTemplate.execute(status -> {
+        List<TopShortCodeCheckpoint> stale = repository.findStale(result, staleBefore, kept);
+        if (stale.isEmpty()) {
+          return 0;
+        }
+        SpaceSaving retired = repository.findById(new TopShortCodeCheckpoint.Key(result, RETIRED_NODE_ID))
+          .map(row -> SpaceSaving.fromBytes(row.getSummary()))
+          .orElseGet(() -> new SpaceSaving(capacity));
+        stale.forEach(row -> retired.merge(SpaceSaving.fromBytes(row.getSummary())));
+
+        repository.save(new TopShortCodeCheckpoint(result, RETIRED_NODE_ID, retired.toBytes(), OffsetDateTime.now()));
+        repository.deleteAll(stale);
+        return stale.size();
+      });
+      compacted += folded == null ? 0 : folded;
+    }
+    return compacted;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    Thread.ofVirtual().name("top-short-code-load").start(() -> {
+      try {
+        seedIfEmpty();
+        loadOwnCheckpoints();
+        refresh();
+        log.info("secure_link_top_short_codes_loaded | checkpoints={}", others.size());
+      } catch (RuntimeException e) {
+        log.error("secure_link_top_short_codes_load_failed | rankings cover local accesses only", e);
+      }
+    });
+  }
+
+  private synchronized void loadOwnCheckpoints() {
+    if (ownCheckpointsLoaded) {
+      return;
+    }
+    for (AccessResult result : TRACKED) {
+      repository.findById(new TopShortCodeCheckpoint.Key(result, nodeId))
+        .map(row -> SpaceSaving.fromBytes(row.getSummary()))
+        .ifPresent(local.get(result)::merge);
+    }
+    ownCheckpointsLoaded = true;
+  }
+
+  // Replicas starting together may both seed; they write the same rollup
+  // counts under the same key, so the second save is harmless.
+  private void seedIfEmpty() {
+    if (repository.count() > 0) {
+      return;
+    }
+    OffsetDateTime watermark = rollupService.rolledUpUntil();
+    OffsetDateTime now = OffsetDateTime.now();
+
+    for (AccessResult result : TRACKED) {
+      Map<String, Long> counts = new HashMap<>();
+      rollupRepository.findTopShortCodes(result, EPOCH, watermark, null, Long.MAX_VALUE, "",
+          PageRequest.of(0, capacity + 1))
+        .forEach(row -> counts.put(row.getShortCode(), row.getCount()));
+
+      SpaceSaving seed = SpaceSaving.fromCounts(capacity, counts);
+      repository.save(new TopShortCodeCheckpoint(result, SEED_NODE_ID, seed.toBytes(), now));
+    }
+    log.info("secure_link_top_short_codes_seeded | rolledUpUntil={}", watermark);
+  }
+}
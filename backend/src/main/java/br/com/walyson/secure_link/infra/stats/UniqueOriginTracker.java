@@ -0,0 +1,223 @@
+package br.com.walyson.secure_link.infra.stats;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.walyson.secure_link.config.OriginSketchProperties;
+import br.com.walyson.secure_link.domain.OriginSketch;
+import br.com.walyson.secure_link.infra.audit.AuditArchiveStore;
+import br.com.walyson.secure_link.infra.scheduler.SchedulerLeaseManager;
+import br.com.walyson.secure_link.repository.LinkAccessAuditRepository;
+import br.com.walyson.secure_link.repository.OriginSketchRepository;
+import lombok.extern.slf4j.Slf4j;
+
+// Counts distinct client IPs with one HyperLogLog per day on each replica.
+// Sketches are flushed to origin_sketch_daily and every replica folds the
+// rows changed since its last refresh into a running union, so an estimate
+// costs one merge of the union with the unflushed local sketches.
+@Slf4j
+@Component
+public class UniqueOriginTracker {
+
+  // Rows saved by other replicas are re-read within this window, absorbing
+  // clock differences between nodes; merging a row twice is harmless.
+  private static final long REFRESH_OVERLAP_MINUTES = 5;
+
+  // Node id of the sketches built once from the audit history.
+  private static final String SEED_NODE_ID = "seed";
+
+  // Sketches of replicas that stopped flushing, folded together per day.
+  private static final String RETIRED_NODE_ID = "retired";
+
+  private final OriginSketchRepository repository;
+  private final LinkAccessAuditRepository auditRepository;
+  private final AuditArchiveStore archiveStore;
+  private final TransactionTemplate transactionTemplate;
+  private final int precision;
+  private final String nodeId;
+  private final Map<LocalDate, HyperLogLog> local = new ConcurrentHashMap<>();
+  private final Set<LocalDate> dirty = ConcurrentHashMap.newKeySet();
+
+  private volatile HyperLogLog union;
+  private volatile OffsetDateTime refreshedAt;
+
+  public UniqueOriginTracker(
+    OriginSketchRepository repository,
+    LinkAccessAuditRepository auditRepository,
+    AuditArchiveStore archiveStore,
+    OriginSketchProperties properties,
+    SchedulerLeaseManager leaseManager,
+    PlatformTransactionManager transactionManager
+  ) {
+    this.repository = repository;
+    this.auditRepository = auditRepository;
+    this.archiveStore = archiveStore;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.precision = properties.getPrecision();
+    this.nodeId = leaseManager.nodeId();
+    this.union = new HyperLogLog(precision);
+  }
+
+  public void record(String ipAddress, OffsetDateTime accessedAt) {
+    if (ipAddress == null || ipAddress.isBlank()) {
+      return;
+    }
+    LocalDate day = accessedAt.toLocalDate();
+    local.computeIfAbsent(day, d -> new HyperLogLog(precision)).add(ipAddress);
+    dirty.add(day);
+  }
+
+  public long estimate() {
+    HyperLogLog merged = union.copy();
+    local.values().forEach(merged::merge);
+    return merged.estimate();
+  }
+
+  // Writes this replica's changed days, keeping whatever an earlier run under
+  // the same node id already stored. Days before yesterday are dropped from
+  // memory once flushed.
+  public void flush() {
+    OffsetDateTime now = OffsetDateTime.now();
+    for (LocalDate day : List.copyOf(dirty)) {
+      dirty.remove(day);
+      HyperLogLog sketch = local.get(day);
+
+      repository.findById(new OriginSketch.Key(day, nodeId))
+        .map(this::sketchOf)
+        .filter(stored -> stored != null)
+        .ifPresent(sketch::merge);
+
+      repository.save(new OriginSketch(day, nodeId, sketch.toBytes(), now));
+    }
+
+    LocalDate yesterday = now.toLocalDate().minusDays(1);
+    local.keySet().removeIf(day -> day.isBefore(yesterday) && !dirty.contains(day));
+  }
+
+  public void refresh() {
+    OffsetDateTime since = refreshedAt;
+    OffsetDateTime now = OffsetDateTime.now();
+
+    List<OriginSketch> rows = since == null
+      ? repository.findAll()
+      : repository.findByUpdatedAtGreaterThanEqual(since.minusMinutes(REFRESH_OVERLAP_MINUTES));
+
+    HyperLogLog next = union.copy();
+    rows.stream()
+      .map(this::sketchOf)
+      .filter(sketch -> sketch != null)
+      .forEach(next::merge);
+
+    union = next;
+    refreshedAt = now;
+  }
+
+  // Folds the sketches not rewritten since staleBefore into one retired row
+  // per day and deletes them, one day per transaction. A union is unchanged
+  // by the fold, so the running unions need no correction. Must run on one
+  // replica at a time.
+  public int compact(OffsetDateTime staleBefore) {
+    Set<String> kept = Set.of(SEED_NODE_ID, RETIRED_NODE_ID, nodeId);
+    int compacted = 0;
+
+    for (LocalDate day : repository.findStaleDays(staleBefore, kept)) {
+      Integer folded = transactionTemplate.execute(status -> {
+        List<OriginSketch> stale = repository.findStale(day, staleBefore, kept);
+        if (stale.isEmpty()) {
+          return 0;
+        }
+        HyperLogLog retired = repository.findById(new OriginSketch.Key(day, RETIRED_NODE_ID))
+          .map(this::sketchOf)
+          .orElseGet(() -> new HyperLogLog(precision));
+        stale.stream()
+          .map(this::sketchOf)
+          .filter(sketch -> sketch != null)
+          .forEach(retired::merge);
+
+        repository.save(new OriginSketch(day, RETIRED_NODE_ID, retired.toBytes(), OffsetDateTime.now()));
+        repository.deleteAll(stale);
+        return stale.size();
+      });
+      compacted += folded == null ? 0 : folded;
+    }
+    return compacted;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    Thread.ofVirtual().name("unique-origin-refresh").start(() -> {
+      try {
+        seedIfMissing();
+        refresh();
+        log.info("secure_link_unique_origins_loaded | estimate={}", estimate());
+      } catch (RuntimeException e) {
+        log.error("secure_link_unique_origins_load_failed | estimates cover local accesses only", e);
+      }
+    });
+  }
+
+  // Accesses recorded before the sketches existed, from the audit table (one
+  // day at a time) and its archives. Rows are saved only once every day is
+  // built, so an interrupted seed is redone on the next start. Replicas
+  // starting together may both seed; the sketches are equal and a union with
+  // the live ones counts nothing twice.
+  private void seedIfMissing() {
+    if (repository.existsByNodeId(SEED_NODE_ID)) {
+      return;
+    }
+    long startTime = System.currentTimeMillis();
+    Map<LocalDate, HyperLogLog> days = new HashMap<>();
+
+    OffsetDateTime first = auditRepository.findFirstAccessedAt();
+    if (first != null) {
+      ZoneOffset offset = OffsetDateTime.now().getOffset();
+      LocalDate today = LocalDate.now(offset);
+      for (LocalDate day = first.toLocalDate(); !day.isAfter(today); day = day.plusDays(1)) {
+        List<String> ipAddresses = auditRepository.findDistinctIpAddresses(
+          day.atStartOfDay().atOffset(offset), day.plusDays(1).atStartOfDay().atOffset(offset), null);
+        if (!ipAddresses.isEmpty()) {
+          HyperLogLog sketch = days.computeIfAbsent(day, d -> new HyperLogLog(precision));
+          ipAddresses.forEach(sketch::add);
+        }
+      }
+    }
+
+    try {
+      archiveStore.forEachOrigin((accessedAt, ipAddress) ->
+        days.computeIfAbsent(accessedAt.toLocalDate(), d -> new HyperLogLog(precision)).add(ipAddress));
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not read the audit archives", e);
+    }
+
+    OffsetDateTime now = OffsetDateTime.now();
+    repository.saveAll(days.entrySet().stream()
+      .map(entry -> new OriginSketch(entry.getKey(), SEED_NODE_ID, entry.getValue().toBytes(), now))
+      .toList());
+
+    log.info("secure_link_unique_origins_seeded | days={} durationMs={}",
+      days.size(), System.currentTimeMillis() - startTime);
+  }
+
+  private HyperLogLog sketchOf(OriginSketch row) {
+    HyperLogLog sketch = HyperLogLog.fromBytes(row.getRegisters());
+    if (sketch.precision() != precision) {
+      log.warn("secure_link_unique_origins_precision_mismatch | bucketDate={} nodeId={} precision={}",
+        row.getBucketDate(), row.getNodeId(), sketch.precision());
+      return null;
+    }
+    return sketch;
+  }
+}
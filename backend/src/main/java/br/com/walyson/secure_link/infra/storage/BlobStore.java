@@ -0,0 +1,192 @@
+package br.com.walyson.secure_link.infra.storage;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.walyson.secure_link.domain.SecureLink;
+import br.com.walyson.secure_link.domain.StoredBlob;
+import br.com.walyson.secure_link.dto.StoredFileDto;
+import br.com.walyson.secure_link.repository.SecureLinkRepository;
+import br.com.walyson.secure_link.repository.StoredBlobRepository;
+import br.com.walyson.secure_link.utils.FileUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class BlobStore {
+
+  private static final int MAX_ATTEMPTS = 3;
+
+  private final FileUtils fileUtils;
+  private final StoredBlobRepository blobRepository;
+  private final SecureLinkRepository linkRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final TransactionTemplate newTransactionTemplate;
+  private final Counter deduplicated;
+  private final Counter reclaimed;
+  private final Counter reclaimedBytes;
+
+  public BlobStore(
+    FileUtils fileUtils,
+    StoredBlobRepository blobRepository,
+    SecureLinkRepository linkRepository,
+    PlatformTransactionManager transactionManager,
+    MeterRegistry meterRegistry
+  ) {
+    this.fileUtils = fileUtils;
+    this.blobRepository = blobRepository;
+    this.linkRepository = linkRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+    this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+    this.deduplicated = Counter.builder("secure_link_blob_deduplicated_total")
+      .description("Uploads that reused an existing blob with the same content")
+      .register(meterRegistry);
+    this.reclaimed = Counter.builder("secure_link_blob_reclaimed_total")
+      .description("Blobs deleted after their last reference was released")
+      .register(meterRegistry);
+    this.reclaimedBytes = Counter.builder("secure_link_storage_reclaimed_bytes_total")
+      .description("Bytes freed on the storage volume by releasing link files")
+      .baseUnit("bytes")
+      .register(meterRegistry);
+  }
+
+  // Turns a freshly staged upload into a reference on the blob keyed by its
+  // SHA-256. Identical content already stored is reused and the staged copy
+  // dropped; otherwise the staged file is published to the storage backend.
+  public StoredFileDto store(StoredFileDto staged) {
+    String sha256 = staged.sha256();
+
+    try {
+      for (int attempt = 1; ; attempt++) {
+        boolean referenced = Boolean.TRUE.equals(newTransactionTemplate.execute(status ->
+          blobRepository.incrementRefCount(sha256) == 1));
+
+        if (referenced) {
+          String blobPath = blobRepository.findById(sha256)
+            .map(StoredBlob::getFilePath)
+            .orElseGet(() -> fileUtils.locate(sha256));
+
+          if (fileUtils.exists(blobPath)) {
+            fileUtils.delete(staged.filePath());
+            deduplicated.increment();
+            log.info("secure_link_blob_reused | sha256={} size={}", sha256, staged.size());
+            return withPath(staged, blobPath);
+          }
+
+          String restoredPath = fileUtils.publish(staged.filePath(), sha256);
+          newTransactionTemplate.executeWithoutResult(status ->
+            blobRepository.updateFilePath(sha256, restoredPath));
+          log.warn("secure_link_blob_restored | sha256={} filePath={}", sha256, restoredPath);
+          return withPath(staged, restoredPath);
+        }
+
+        String blobPath = fileUtils.publish(staged.filePath(), sha256);
+
+        try {
+          newTransactionTemplate.executeWithoutResult(status ->
+            blobRepository.insertFirstReference(sha256, blobPath, staged.size(), OffsetDateTime.now()));
+          log.info("secure_link_blob_stored | sha256={} size={} backend={}",
+            sha256, staged.size(), fileUtils.activeBackend().name());
+          return withPath(staged, blobPath);
+        } catch (DataIntegrityViolationException e) {
+          // Another upload of the same content inserted the row first; its
+          // file and ours are byte-identical, so just take a reference.
+          if (attempt >= MAX_ATTEMPTS) {
+            throw e;
+          }
+        }
+      }
+    } catch (IOException e) {
+      fileUtils.delete(staged.filePath());
+      throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "File error", e);
+    }
+  }
+
+  // Drops the file reference held by an inactive link; each link releases at
+  // most once. Content-addressed blobs are deleted with their last
+  // reference, files stored before deduplication belong to the link alone.
+  public void release(SecureLink link) {
+    if (link.getFilePath() == null || link.getId() == null) {
+      return;
+    }
+    transactionTemplate.executeWithoutResult(status -> {
+      if (linkRepository.markBlobReleased(link.getId()) == 0) {
+        return;
+      }
+      link.setBlobReleased(true);
+
+      if (link.getFileSha256() == null || !release(link.getFileSha256())) {
+        afterCommit(() -> deleteFile(link.getFilePath()));
+      }
+    });
+  }
+
+  public boolean release(String sha256) {
+    return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+      if (blobRepository.decrementRefCount(sha256) == 0) {
+        return false;
+      }
+      afterCommit(() -> reclaim(sha256));
+      return true;
+    }));
+  }
+
+  public void recordReclaimedBytes(long bytes) {
+    reclaimedBytes.increment(bytes);
+  }
+
+  private void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+
+  private void deleteFile(String filePath) {
+    long size = fileUtils.sizeOf(filePath);
+    fileUtils.delete(filePath);
+    reclaimedBytes.increment(size);
+    log.info("secure_link_file_reclaimed | filePath={} size={}", filePath, size);
+  }
+
+  private void reclaim(String sha256) {
+    try {
+      newTransactionTemplate.executeWithoutResult(status ->
+        blobRepository.findForUpdate(sha256)
+          .filter(blob -> blob.getRefCount() <= 0)
+          .ifPresent(blob -> {
+            fileUtils.delete(blob.getFilePath());
+            blobRepository.delete(blob);
+            reclaimed.increment();
+            reclaimedBytes.increment(blob.getSize());
+            log.info("secure_link_blob_reclaimed | sha256={} size={}", sha256, blob.getSize());
+          }));
+    } catch (RuntimeException e) {
+      log.error("secure_link_blob_reclaim_failed | sha256={}", sha256, e);
+    }
+  }
+
+  private static StoredFileDto withPath(StoredFileDto staged, String blobPath) {
+    return new StoredFileDto(blobPath, staged.originalFileName(), staged.size(), staged.sha256());
+  }
+}
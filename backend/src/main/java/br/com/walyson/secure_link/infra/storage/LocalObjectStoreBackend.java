@@ -0,0 +1,78 @@
+package br.com.walyson.secure_link.infra.storage;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+import org.springframework.stereotype.Component;
+
+import br.com.walyson.secure_link.config.StorageProperties;
+
+// Object-store semantics on a locally mounted bucket directory: objects are
+// immutable once published, writes are made durable before they become
+// visible, and each object carries a small metadata sidecar.
+@Component
+public class LocalObjectStoreBackend extends LocalStorageBackend {
+
+  public static final String NAME = "object-store";
+
+  private static final String METADATA_SUFFIX = ".meta";
+  private static final String PART_SUFFIX = ".part";
+
+  public LocalObjectStoreBackend(StorageProperties properties) {
+    super(properties.getObjectStore().getPath());
+  }
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  @Override
+  public String store(Path staged, String key) throws IOException {
+    Path target = pathFor(key);
+
+    if (Files.exists(target)) {
+      Files.deleteIfExists(staged);
+      return target.toString();
+    }
+
+    Files.createDirectories(target.getParent());
+
+    try {
+      Files.move(staged, target, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      // Bucket on another volume: copy to a part file, sync, then publish.
+      Path part = target.resolveSibling(key + PART_SUFFIX);
+      Files.copy(staged, part, StandardCopyOption.REPLACE_EXISTING);
+      try (FileChannel channel = FileChannel.open(part, StandardOpenOption.WRITE)) {
+        channel.force(true);
+      }
+      Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+      Files.deleteIfExists(staged);
+    }
+
+    Files.writeString(target.resolveSibling(key + METADATA_SUFFIX),
+      "content-length=" + Files.size(target) + "\nstored-at=" + Instant.now() + "\n");
+
+    return target.toString();
+  }
+
+  @Override
+  protected boolean isObject(Path path) {
+    String fileName = path.getFileName().toString();
+    return !fileName.endsWith(METADATA_SUFFIX) && !fileName.endsWith(PART_SUFFIX);
+  }
+
+  @Override
+  public void delete(String location) throws IOException {
+    Path path = Path.of(location);
+    Files.deleteIfExists(path);
+    Files.deleteIfExists(path.resolveSibling(path.getFileName() + METADATA_SUFFIX));
+  }
+}
@@ -0,0 +1,106 @@
+package br.com.walyson.secure_link.infra.storage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Shared layout for backends that keep objects on a locally mounted volume:
+// <root>/ab/cd/<key>, where ab/cd is a hash prefix that keeps every
+// directory small no matter how many objects exist.
+abstract class LocalStorageBackend implements StorageBackend {
+
+  private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+  private static final Pattern SHARD = Pattern.compile("[0-9a-f]{2}");
+
+  protected final Path root;
+
+  protected LocalStorageBackend(String root) {
+    this.root = Path.of(root).toAbsolutePath().normalize();
+  }
+
+  @Override
+  public String locate(String key) {
+    return pathFor(key).toString();
+  }
+
+  @Override
+  public boolean owns(String location) {
+    Path path = Path.of(location).toAbsolutePath().normalize();
+    if (!path.startsWith(root)) {
+      return false;
+    }
+    Path relative = root.relativize(path);
+    return relative.getNameCount() == 3
+      && SHARD.matcher(relative.getName(0).toString()).matches()
+      && SHARD.matcher(relative.getName(1).toString()).matches();
+  }
+
+  @Override
+  public void delete(String location) throws IOException {
+    Files.deleteIfExists(Path.of(location));
+  }
+
+  @Override
+  public List<String> list(String shard) throws IOException {
+    Path directory = root.resolve(shard);
+    if (!SHARD.matcher(shard).matches() || !Files.isDirectory(directory)) {
+      return List.of();
+    }
+    try (Stream<Path> files = Files.walk(directory, 2)) {
+      return files
+        .filter(Files::isRegularFile)
+        .filter(this::isObject)
+        .map(Path::toString)
+        .toList();
+    }
+  }
+
+  @Override
+  public StorageProbe probe() {
+    long start = System.nanoTime();
+    try {
+      Files.createDirectories(root);
+      Path probe = Files.createTempFile(root, ".probe-", ".tmp");
+      try {
+        Files.writeString(probe, "ok");
+        Files.readString(probe);
+      } finally {
+        Files.deleteIfExists(probe);
+      }
+      long latencyMillis = (System.nanoTime() - start) / 1_000_000;
+
+      FileStore store = Files.getFileStore(root);
+      return new StorageProbe(name(), root.toString(), true,
+        store.getTotalSpace(), store.getUsableSpace(), latencyMillis, null);
+    } catch (IOException | RuntimeException e) {
+      long latencyMillis = (System.nanoTime() - start) / 1_000_000;
+      return new StorageProbe(name(), root.toString(), false, -1, -1, latencyMillis, e.getMessage());
+    }
+  }
+
+  protected boolean isObject(Path path) {
+    return true;
+  }
+
+  protected Path pathFor(String key) {
+    String hash = SHA256_HEX.matcher(key).matches() ? key : sha256Hex(key);
+    return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(key);
+  }
+
+  private static String sha256Hex(String value) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package br.com.walyson.secure_link.infra.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.springframework.stereotype.Component;
+
+import br.com.walyson.secure_link.config.StorageProperties;
+
+@Component
+public class ShardedFileSystemBackend extends LocalStorageBackend {
+
+  public static final String NAME = "filesystem";
+
+  public ShardedFileSystemBackend(StorageProperties properties) {
+    super(properties.getPath());
+  }
+
+  @Override
+  public String name() {
+    return NAME;
+  }
+
+  // Staging lives on the same volume, so publishing is a single rename.
+  @Override
+  public String store(Path staged, String key) throws IOException {
+    Path target = pathFor(key);
+    Files.createDirectories(target.getParent());
+    Files.move(staged, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    return target.toString();
+  }
+}
@@ -0,0 +1,28 @@
+package br.com.walyson.secure_link.infra.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+public interface StorageBackend {
+
+  String name();
+
+  // Location (stored in file_path) that the given key maps to in this backend.
+  String locate(String key);
+
+  // Publishes a staged file under the key and returns its location. The
+  // staged file is consumed.
+  String store(Path staged, String key) throws IOException;
+
+  boolean owns(String location);
+
+  void delete(String location) throws IOException;
+
+  // Locations of the objects under one top-level shard ("00".."ff"), so a
+  // scan can walk the backend a slice at a time.
+  List<String> list(String shard) throws IOException;
+
+  StorageProbe probe();
+
+}
@@ -0,0 +1,126 @@
+package br.com.walyson.secure_link.infra.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.walyson.secure_link.config.StorageProperties;
+import br.com.walyson.secure_link.infra.cache.SecureLinkMetadataCache;
+import br.com.walyson.secure_link.repository.SecureLinkRepository;
+import br.com.walyson.secure_link.repository.StoredBlobRepository;
+import br.com.walyson.secure_link.utils.FileUtils;
+import lombok.extern.slf4j.Slf4j;
+
+// One-off tool, enabled with app.storage.migration.enabled=true: moves every
+// file referenced by secure_link.file_path that is not yet in the active
+// backend's layout and rewrites the referencing rows. Safe to rerun.
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.storage.migration", name = "enabled", havingValue = "true")
+public class StorageMigrationRunner implements ApplicationRunner {
+
+  public record Result(int moved, int alreadyMigrated, int missing) {}
+
+  private final FileUtils fileUtils;
+  private final SecureLinkRepository linkRepository;
+  private final StoredBlobRepository blobRepository;
+  private final SecureLinkMetadataCache metadataCache;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+
+  public StorageMigrationRunner(
+    FileUtils fileUtils,
+    SecureLinkRepository linkRepository,
+    StoredBlobRepository blobRepository,
+    SecureLinkMetadataCache metadataCache,
+    PlatformTransactionManager transactionManager,
+    StorageProperties properties
+  ) {
+    this.fileUtils = fileUtils;
+    this.linkRepository = linkRepository;
+    this.blobRepository = blobRepository;
+    this.metadataCache = metadataCache;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = properties.getMigration().getBatchSize();
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    migrate();
+  }
+
+  public Result migrate() {
+    StorageBackend target = fileUtils.activeBackend();
+    log.info("secure_link_storage_migration_started | backend={}", target.name());
+
+    int moved = 0;
+    int alreadyMigrated = 0;
+    int missing = 0;
+    String after = "";
+    List<String> page;
+
+    do {
+      page = linkRepository.findFilePathsAfter(after, PageRequest.of(0, batchSize));
+
+      for (String oldPath : page) {
+        after = oldPath;
+
+        if (target.owns(oldPath)) {
+          alreadyMigrated++;
+          continue;
+        }
+
+        try {
+          if (migrateFile(target, oldPath)) {
+            moved++;
+          } else {
+            missing++;
+          }
+        } catch (IOException e) {
+          missing++;
+          log.error("secure_link_storage_migration_failed | filePath={}", oldPath, e);
+        }
+      }
+
+      metadataCache.invalidateAll();
+      log.info("secure_link_storage_migration_progress | moved={} alreadyMigrated={} missing={}",
+        moved, alreadyMigrated, missing);
+
+    } while (page.size() == batchSize);
+
+    log.info("secure_link_storage_migration_finished | backend={} moved={} alreadyMigrated={} missing={}",
+      target.name(), moved, alreadyMigrated, missing);
+
+    return new Result(moved, alreadyMigrated, missing);
+  }
+
+  private boolean migrateFile(StorageBackend target, String oldPath) throws IOException {
+    Path source = Path.of(oldPath);
+    String key = source.getFileName().toString();
+    String newPath = target.locate(key);
+
+    if (Files.exists(source)) {
+      target.store(source, key);
+    } else if (!Files.exists(Path.of(newPath))) {
+      // Neither copy exists: leave the row alone so the download keeps
+      // reporting the missing file instead of pointing somewhere new.
+      log.warn("secure_link_storage_migration_missing | filePath={}", oldPath);
+      return false;
+    }
+
+    transactionTemplate.executeWithoutResult(status -> {
+      linkRepository.updateFilePath(oldPath, newPath);
+      blobRepository.replaceFilePath(oldPath, newPath);
+    });
+    return true;
+  }
+}
@@ -0,0 +1,11 @@
+package br.com.walyson.secure_link.infra.storage;
+
+public record StorageProbe(
+  String backend,
+  String root,
+  boolean healthy,
+  long totalBytes,
+  long usableBytes,
+  long latencyMillis,
+  String error
+) {}
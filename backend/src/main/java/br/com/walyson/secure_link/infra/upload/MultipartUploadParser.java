@@ -0,0 +1,148 @@
+package br.com.walyson.secure_link.infra.upload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+
+import org.apache.commons.fileupload2.core.DiskFileItem;
+import org.apache.commons.fileupload2.core.DiskFileItemFactory;
+import org.apache.commons.fileupload2.core.FileItemInput;
+import org.apache.commons.fileupload2.core.FileItemInputIterator;
+import org.apache.commons.fileupload2.core.FileUploadFileCountLimitException;
+import org.apache.commons.fileupload2.core.FileUploadSizeException;
+import org.apache.commons.fileupload2.jakarta.servlet6.JakartaServletFileUpload;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.walyson.secure_link.config.UploadProperties;
+import br.com.walyson.secure_link.dto.LinkUploadRequestDto;
+import br.com.walyson.secure_link.dto.StoredFileDto;
+import br.com.walyson.secure_link.utils.FileUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MultipartUploadParser {
+
+  private static final int MAX_FIELD_BYTES = 4096;
+
+  // The form has four fields; anything well past that is a client stuffing
+  // parts. Part headers are already capped by the parser itself
+  // (MultipartInput.DEFAULT_PART_HEADER_SIZE_MAX, 512 bytes).
+  private static final int MAX_PARTS = 10;
+
+  private final FileUtils fileUtils;
+  private final UploadProperties properties;
+
+  public LinkUploadRequestDto parse(HttpServletRequest request) {
+    if (!JakartaServletFileUpload.isMultipartContent(request)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Multipart request expected");
+    }
+
+    JakartaServletFileUpload<DiskFileItem, DiskFileItemFactory> upload = new JakartaServletFileUpload<>();
+    upload.setFileSizeMax(properties.getMaxFileSize().toBytes());
+    upload.setSizeMax(properties.getMaxRequestSize().toBytes());
+    upload.setFileCountMax(MAX_PARTS);
+
+    StoredFileDto file = null;
+    OffsetDateTime expiresAt = null;
+    Integer maxViews = null;
+    String password = null;
+
+    try {
+      FileItemInputIterator items = upload.getItemIterator(request);
+      int parts = 0;
+
+      while (items.hasNext()) {
+        FileItemInput item = items.next();
+        // The streaming iterator does not apply fileCountMax on its own
+        if (++parts > upload.getFileCountMax()) {
+          throw new FileUploadFileCountLimitException(
+            "Request exceeds the maximum of " + upload.getFileCountMax() + " parts", upload.getFileCountMax(), parts);
+        }
+
+        if (!item.isFormField()) {
+          if (!"file".equals(item.getFieldName())) {
+            continue;
+          }
+          if (file != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Only one file is allowed");
+          }
+          try (InputStream content = item.getInputStream()) {
+            file = fileUtils.storeStream(content, item.getName());
+          }
+          continue;
+        }
+
+        String value = readField(item);
+        switch (item.getFieldName()) {
+          case "expiresAt" -> expiresAt = parseExpiresAt(value);
+          case "maxViews" -> maxViews = parseMaxViews(value);
+          case "password" -> password = value;
+          default -> { }
+        }
+      }
+
+      return new LinkUploadRequestDto(file, expiresAt, maxViews, password);
+
+    } catch (IOException e) {
+      discard(file);
+      if (isSizeLimit(e)) {
+        throw new ResponseStatusException(HttpStatus.CONTENT_TOO_LARGE, "File exceeds the upload limit");
+      }
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed multipart request", e);
+    } catch (RuntimeException e) {
+      discard(file);
+      throw e;
+    }
+  }
+
+  private String readField(FileItemInput item) throws IOException {
+    try (InputStream content = item.getInputStream()) {
+      return new String(content.readNBytes(MAX_FIELD_BYTES), StandardCharsets.UTF_8);
+    }
+  }
+
+  private OffsetDateTime parseExpiresAt(String value) {
+    if (value.isBlank()) {
+      return null;
+    }
+    try {
+      return OffsetDateTime.parse(value.trim());
+    } catch (DateTimeParseException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "expiresAt: invalid date-time");
+    }
+  }
+
+  private Integer parseMaxViews(String value) {
+    if (value.isBlank()) {
+      return null;
+    }
+    try {
+      return Integer.valueOf(value.trim());
+    } catch (NumberFormatException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "maxViews: must be a number");
+    }
+  }
+
+  private void discard(StoredFileDto file) {
+    if (file != null) {
+      fileUtils.delete(file.filePath());
+    }
+  }
+
+  private static boolean isSizeLimit(Throwable error) {
+    for (Throwable current = error; current != null; current = current.getCause()) {
+      if (current instanceof FileUploadSizeException) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
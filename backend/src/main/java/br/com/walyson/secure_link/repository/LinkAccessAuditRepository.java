@@ -1,79 +1,179 @@
 package br.com.walyson.secure_link.repository;
 
 import br.com.walyson.secure_link.domain.LinkAccessAudit;
+import br.com.walyson.secure_link.domain.enums.AccessResult;
 import br.com.walyson.secure_link.repository.projection.AccessByResultProjection;
 import br.com.walyson.secure_link.repository.projection.AccessSummaryProjection;
 import br.com.walyson.secure_link.repository.projection.DailyAccessProjection;
 import br.com.walyson.secure_link.repository.projection.HourlyAccessProjection;
-import br.com.walyson.secure_link.repository.projection.SecurityExceptionProjection;
-import br.com.walyson.secure_link.repository.projection.TopLinkProjection;
+import br.com.walyson.secure_link.repository.projection.ShortCodeCountProjection;
 
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-import org.springframework.data.domain.Page;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
+
+// Aggregates over the audit tail: rows accessed at or after the rollup
+// watermark, which are not in link_access_rollup_hourly yet. Ranges are
+// served by the covering (accessed_at, result, short_code) index, or by
+// (short_code, accessed_at, result) when a short code is given.
 public interface LinkAccessAuditRepository extends JpaRepository<LinkAccessAudit, UUID> {
 
+  String FETCH_SIZE = "1000";
+
   @Query("""
     select 
     count(a) as total, 
     sum(case when a.result = 'SUCCESS' then 1 else 0 end) as success, 
-    sum(case when a.result <> 'SUCCESS' then 1 else 0 end) as failed,
+    sum(case when a.result not in ('SUCCESS', 'RESUMED') then 1 else 0 end) as failed,
     sum(case when a.result = 'EXPIRED' then 1 else 0 end) as expired
     from LinkAccessAudit a
+    where a.accessedAt >= :from
+    and a.accessedAt < :to
+    and (:shortCode is null or a.shortCode = :shortCode)
     """)
-  AccessSummaryProjection fetchAccessSummaryProjection();
+  AccessSummaryProjection fetchAccessSummaryProjection(
+    @Param("from") OffsetDateTime from,
+    @Param("to") OffsetDateTime to,
+    @Param("shortCode") String shortCode
+  );
 
   @Query("select count(distinct a.ipAddress) from LinkAccessAudit a")
   long countUniqueOrigins();
 
+  @Query("""
+    select count(distinct a.ipAddress)
+    from LinkAccessAudit a
+    where a.accessedAt >= :from
+    and a.accessedAt < :to
+    and (:shortCode is null or a.shortCode = :shortCode)
+    """)
+  long countUniqueOrigins(
+    @Param("from") OffsetDateTime from,
+    @Param("to") OffsetDateTime to,
+    @Param("shortCode") String shortCode
+  );
+
+  @Query("select min(a.accessedAt) from LinkAccessAudit a")
+  OffsetDateTime findFirstAccessedAt();
+
+  // Streamed in pages of FETCH_SIZE rows, so a count over the whole audit
+  // never holds every address; callers must close the stream.
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE))
+  @Query("select distinct a.ipAddress from LinkAccessAudit a where a.ipAddress is not null")
+  Stream<String> streamDistinctIpAddresses();
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE))
+  @Query("""
+    select distinct a.ipAddress
+    from LinkAccessAudit a
+    where a.accessedAt >= :from
+    and a.accessedAt < :to
+    and (:shortCode is null or a.shortCode = :shortCode)
+    and a.ipAddress is not null
+    """)
+  Stream<String> streamDistinctIpAddresses(
+    @Param("from") OffsetDateTime from,
+    @Param("to") OffsetDateTime to,
+    @Param("shortCode") String shortCode
+  );
+
+  @Query("""
+    select distinct a.ipAddress
+    from LinkAccessAudit a
+    where a.accessedAt >= :from
+    and a.accessedAt < :to
+    and (:shortCode is null or a.shortCode = :shortCode)
+    and a.ipAddress is not null
+    """)
+  List<String> findDistinctIpAddresses(
+    @Param("from") OffsetDateTime from,
+    @Param("to") OffsetDateTime to,
+    @Param("shortCode") String shortCode
+  );
+
   @Query("""
     select 
     cast(a.accessedAt as date) as accessDate, 
     count(a) as count
     from LinkAccessAudit a
+    where a.accessedAt >= :from
+    and a.accessedAt < :to
+    and (:shortCode is null or a.shortCode = :shortCode)
+    and cast(a.accessedAt as date) > :after
     group by cast(a.accessedAt as date)
-    order by accessDate
+    order by cast(a.accessedAt as date)
     """)
-  List<DailyAccessProjection> countDailyAccesses();
+  List<DailyAccessProjection> countDailyAccesses(
+    @Param("from") OffsetDateTime from,
+    @Param("to") OffsetDateTime to,
+    @Param("shortCode") String shortCode,
+    @Param("after") LocalDate after,
+    Pageable pageable
+  );
 
   @Query("""
     select 
     hour(a.accessedAt) as hour, 
     count(a) as count
     from LinkAccessAudit a
+    where a.accessedAt >= :from
+    and a.accessedAt < :to
+    and (:shortCode is null or a.shortCode = :shortCode)
     group by hour(a.accessedAt)
-    order by hour
     """)
-  List<HourlyAccessProjection> countHourlyAccesses();
+  List<HourlyAccessProjection> countHourlyAccesses(
+    @Param("from") OffsetDateTime from,
+    @Param("to") OffsetDateTime to,
+    @Param("shortCode") String shortCode
+  );
 
   @Query("""
     select a.shortCode as shortCode, count(a) as count
     from LinkAccessAudit a
-    where a.result = 'INVALID_PASSWORD'
+    where a.result = :result
+    and a.accessedAt >= :from
+    and a.accessedAt < :to
+    and (:shortCode is null or a.shortCode = :shortCode)
     group by a.shortCode
-    order by count(a) desc
     """)
-  Page<SecurityExceptionProjection> findTopSecurityExceptions(Pageable pageable);
+  List<ShortCodeCountProjection> countByShortCode(
+    @Param("result") AccessResult result,
+    @Param("from") OffsetDateTime from,
+    @Param("to") OffsetDateTime to,
+    @Param("shortCode") String shortCode
+  );
 
   @Query("""
-    select a.shortCode as shortCode, count(a) as accessCount
+    select a.result as result, count(a) as count
     from LinkAccessAudit a
-    where a.result = 'SUCCESS'
-    group by a.shortCode
-    order by count(a) desc
+    where a.result not in ('SUCCESS', 'RESUMED')
+    and a.accessedAt >= :from
+    and a.accessedAt < :to
+    and (:shortCode is null or a.shortCode = :shortCode)
+    group by a.result
     """)
-  Page<TopLinkProjection> findTopLinks(Pageable pageable);
+  List<AccessByResultProjection> countFailuresByResult(
+    @Param("from") OffsetDateTime from,
+    @Param("to") OffsetDateTime to,
+    @Param("shortCode") String shortCode
+  );
 
   @Query("""
-    select a.result as result, count(a) as count
+    select min(a.accessedAt)
     from LinkAccessAudit a
-    where a.result <> 'SUCCESS'
-    group by a.result
+    where a.accessedAt >= :from
+    and a.accessedAt < :until
     """)
-  List<AccessByResultProjection> countFailuresByResult();
+  OffsetDateTime findFirstAccessBetween(@Param("from") OffsetDateTime from, @Param("until") OffsetDateTime until);
 }
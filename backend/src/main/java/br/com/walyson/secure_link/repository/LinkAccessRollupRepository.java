@@ -0,0 +1,153 @@
+package br.com.walyson.secure_link.repository;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.com.walyson.secure_link.domain.LinkAccessRollup;
+import br.com.walyson.secure_link.domain.enums.AccessResult;
+import br.com.walyson.secure_link.repository.projection.AccessByResultProjection;
+import br.com.walyson.secure_link.repository.projection.AccessSummaryProjection;
+import br.com.walyson.secure_link.repository.projection.DailyAccessProjection;
+import br.com.walyson.secure_link.repository.projection.HourlyAccessProjection;
+import br.com.walyson.secure_link.repository.projection.ShortCodeCountProjection;
+
+// Every read is bounded by the watermark read beforehand, so an hour rolled
+// up concurrently is counted either here or in the audit tail, never both.
+// Time ranges hit the primary key, which leads with bucket_start; filters on
+// a short code or result use the covering indexes added in V15.
+@Repository
+public interface LinkAccessRollupRepository extends JpaRepository<LinkAccessRollup, LinkAccessRollup.Key> {
+
+  @Modifying
+  @Query(value = """
+    INSERT INTO link_access_rollup_hourly (bucket_start, short_code, result, access_count)
+    SELECT :bucketStart, short_code, result, COUNT(*)
+    FROM link_access_audit
+    WHERE accessed_at >= :bucketStart
+    AND accessed_at < :bucketEnd
+    GROUP BY short_code, result
+    """, nativeQuery = true)
+  int rollupHour(
+    @Param("bucketStart") OffsetDateTime bucketStart,
+    @Param("bucketEnd") OffsetDateTime bucketEnd
+  );
+
+  @Query("""
+    select
+    sum(r.accessCount) as total,
+    sum(case when r.result = 'SUCCESS' then r.accessCount else 0 end) as success,
+    sum(case when r.result not in ('SUCCESS', 'RESUMED') then r.accessCount else 0 end) as failed,
+    sum(case when r.result = 'EXPIRED' then r.accessCount else 0 end) as expired
+    from LinkAccessRollup r
+    where r.bucketStart >= :from
+    and r.bucketStart < :until
+    and (:shortCode is null or r.shortCode = :shortCode)
+    """)
+  AccessSummaryProjection fetchAccessSummaryProjection(
+    @Param("from") OffsetDateTime from,
+    @Param("until") OffsetDateTime until,
+    @Param("shortCode") String shortCode
+  );
+
+  // Keyset page over days: only days after `after`, in ascending order.
+  @Query("""
+    select
+    cast(r.bucketStart as date) as accessDate,
+    sum(r.accessCount) as count
+    from LinkAccessRollup r
+    where r.bucketStart >= :from
+    and r.bucketStart < :until
+    and (:shortCode is null or r.shortCode = :shortCode)
+    and cast(r.bucketStart as date) > :after
+    group by cast(r.bucketStart as date)
+    order by cast(r.bucketStart as date)
+    """)
+  List<DailyAccessProjection> countDailyAccesses(
+    @Param("from") OffsetDateTime from,
+    @Param("until") OffsetDateTime until,
+    @Param("shortCode") String shortCode,
+    @Param("after") LocalDate after,
+    Pageable pageable
+  );
+
+  @Query("""
+    select
+    hour(r.bucketStart) as hour,
+    sum(r.accessCount) as count
+    from LinkAccessRollup r
+    where r.bucketStart >= :from
+    and r.bucketStart < :until
+    and (:shortCode is null or r.shortCode = :shortCode)
+    group by hour(r.bucketStart)
+    """)
+  List<HourlyAccessProjection> countHourlyAccesses(
+    @Param("from") OffsetDateTime from,
+    @Param("until") OffsetDateTime until,
+    @Param("shortCode") String shortCode
+  );
+
+  @Query("""
+    select r.result as result, sum(r.accessCount) as count
+    from LinkAccessRollup r
+    where r.result not in ('SUCCESS', 'RESUMED')
+    and r.bucketStart >= :from
+    and r.bucketStart < :until
+    and (:shortCode is null or r.shortCode = :shortCode)
+    group by r.result
+    """)
+  List<AccessByResultProjection> countFailuresByResult(
+    @Param("from") OffsetDateTime from,
+    @Param("until") OffsetDateTime until,
+    @Param("shortCode") String shortCode
+  );
+
+  // Keyset page of the ranking ordered by count desc, short code asc: only
+  // entries after (beforeCount, afterShortCode) in that order.
+  @Query("""
+    select r.shortCode as shortCode, sum(r.accessCount) as count
+    from LinkAccessRollup r
+    where r.result = :result
+    and r.bucketStart >= :from
+    and r.bucketStart < :until
+    and (:shortCode is null or r.shortCode = :shortCode)
+    group by r.shortCode
+    having sum(r.accessCount) < :beforeCount
+    or (sum(r.accessCount) = :beforeCount and r.shortCode > :afterShortCode)
+    order by sum(r.accessCount) desc, r.shortCode
+    """)
+  List<ShortCodeCountProjection> findTopShortCodes(
+    @Param("result") AccessResult result,
+    @Param("from") OffsetDateTime from,
+    @Param("until") OffsetDateTime until,
+    @Param("shortCode") String shortCode,
+    @Param("beforeCount") long beforeCount,
+    @Param("afterShortCode") String afterShortCode,
+    Pageable pageable
+  );
+
+  @Query("""
+    select r.shortCode as shortCode, sum(r.accessCount) as count
+    from LinkAccessRollup r
+    where r.result = :result
+    and r.shortCode in :shortCodes
+    and r.bucketStart >= :from
+    and r.bucketStart < :until
+    group by r.shortCode
+    """)
+  List<ShortCodeCountProjection> countByShortCodes(
+    @Param("result") AccessResult result,
+    @Param("shortCodes") Collection<String> shortCodes,
+    @Param("from") OffsetDateTime from,
+    @Param("until") OffsetDateTime until
+  );
+
+}
@@ -0,0 +1,46 @@
+package br.com.walyson.secure_link.repository;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.com.walyson.secure_link.domain.OriginSketch;
+
+@Repository
+public interface OriginSketchRepository extends JpaRepository<OriginSketch, OriginSketch.Key> {
+
+  List<OriginSketch> findByUpdatedAtGreaterThanEqual(OffsetDateTime updatedAt);
+
+  boolean existsByNodeId(String nodeId);
+
+  @Query("""
+    select distinct o.bucketDate
+    from OriginSketch o
+    where o.updatedAt < :before
+    and o.nodeId not in :kept
+    """)
+  List<LocalDate> findStaleDays(
+    @Param("before") OffsetDateTime before,
+    @Param("kept") Collection<String> kept
+  );
+
+  @Query("""
+    select o
+    from OriginSketch o
+    where o.bucketDate = :day
+    and o.updatedAt < :before
+    and o.nodeId not in :kept
+    """)
+  List<OriginSketch> findStale(
+    @Param("day") LocalDate day,
+    @Param("before") OffsetDateTime before,
+    @Param("kept") Collection<String> kept
+  );
+
+}
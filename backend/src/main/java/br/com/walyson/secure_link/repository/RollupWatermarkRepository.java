@@ -0,0 +1,21 @@
+package br.com.walyson.secure_link.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.com.walyson.secure_link.domain.RollupWatermark;
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface RollupWatermarkRepository extends JpaRepository<RollupWatermark, String> {
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select w from RollupWatermark w where w.name = :name")
+  Optional<RollupWatermark> findForUpdate(@Param("name") String name);
+
+}
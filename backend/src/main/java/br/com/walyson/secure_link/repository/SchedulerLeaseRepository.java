@@ -0,0 +1,48 @@
+package br.com.walyson.secure_link.repository;
+
+import java.time.OffsetDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.com.walyson.secure_link.domain.SchedulerLease;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+  // Renews a lease held by the owner or takes over one that has lapsed; the
+  // row lock taken by the UPDATE decides between nodes racing for it.
+  @Modifying
+  @Query("""
+    update SchedulerLease l
+    set l.owner = :owner, l.expiresAt = :until, l.renewedAt = :now
+    where l.name = :name
+    and (l.owner = :owner or l.expiresAt < :now)
+    """)
+  int acquire(
+    @Param("name") String name,
+    @Param("owner") String owner,
+    @Param("now") OffsetDateTime now,
+    @Param("until") OffsetDateTime until
+  );
+
+  @Modifying
+  @Query(value = """
+    INSERT INTO scheduler_lease (name, owner, expires_at, renewed_at)
+    VALUES (:name, :owner, :until, :now)
+    """, nativeQuery = true)
+  void insert(
+    @Param("name") String name,
+    @Param("owner") String owner,
+    @Param("now") OffsetDateTime now,
+    @Param("until") OffsetDateTime until
+  );
+
+  @Modifying
+  @Query("update SchedulerLease l set l.expiresAt = :now where l.name = :name and l.owner = :owner")
+  int release(@Param("name") String name, @Param("owner") String owner, @Param("now") OffsetDateTime now);
+
+}
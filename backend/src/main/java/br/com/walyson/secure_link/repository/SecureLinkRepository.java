@@ -1,13 +1,18 @@
 package br.com.walyson.secure_link.repository;
 
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import br.com.walyson.secure_link.repository.projection.CreatedShortCodeProjection;
+import br.com.walyson.secure_link.repository.projection.ExpiringLinkProjection;
 import br.com.walyson.secure_link.repository.projection.LinkStatusCountProjection;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -22,23 +27,189 @@ public interface SecureLinkRepository extends JpaRepository<SecureLink, UUID> {
   boolean existsByShortCode(String shortCode);
 
   @Query("""
-    SELECT l
+    select l.shortCode
+    from SecureLink l
+    where l.shortCode > :after
+    order by l.shortCode
+    """)
+  List<String> findShortCodesAfter(@Param("after") String after, Pageable pageable);
+
+  // Keyset on (createdAt, shortCode), served by idx_secure_link_created_at_status.
+  @Query("""
+    SELECT l.shortCode AS shortCode, l.createdAt AS createdAt
+    FROM SecureLink l
+    WHERE l.createdAt > :since
+    OR (l.createdAt = :since AND l.shortCode > :after)
+    ORDER BY l.createdAt, l.shortCode
+    """)
+  List<CreatedShortCodeProjection> findShortCodesCreatedSince(
+    @Param("since") OffsetDateTime since,
+    @Param("after") String after,
+    Pageable pageable
+  );
+
+  @Query("select l.shortCode from SecureLink l where l.shortCode in :shortCodes")
+  List<String> findExistingShortCodes(@Param("shortCodes") Collection<String> shortCodes);
+
+  // view_count is assigned last: MySQL evaluates SET left to right with
+  // already-updated values, H2 uses the original row for every expression.
+  @Modifying(clearAutomatically = true)
+  @Query(value = """
+    UPDATE secure_link
+    SET status_changed_at = CASE
+      WHEN max_views IS NOT NULL AND view_count + 1 >= max_views THEN :now
+      ELSE status_changed_at
+    END,
+    status = CASE
+      WHEN max_views IS NOT NULL AND view_count + 1 >= max_views THEN 'EXPIRED'
+      ELSE status
+    END,
+    view_count = view_count + 1
+    WHERE short_code = :shortCode
+    AND status = 'ACTIVE'
+    AND (expires_at IS NULL OR expires_at > :now)
+    AND (max_views IS NULL OR view_count < max_views)
+    """, nativeQuery = true)
+  int registerView(@Param("shortCode") String shortCode, @Param("now") OffsetDateTime now);
+
+  @Query("""
+    select distinct l.filePath
+    from SecureLink l
+    where l.filePath is not null
+    and l.filePath > :after
+    order by l.filePath
+    """)
+  List<String> findFilePathsAfter(@Param("after") String after, Pageable pageable);
+
+  @Modifying
+  @Query("update SecureLink l set l.filePath = :newPath where l.filePath = :oldPath")
+  int updateFilePath(@Param("oldPath") String oldPath, @Param("newPath") String newPath);
+
+  @Modifying
+  @Query("""
+    update SecureLink l
+    set l.blobReleased = true
+    where l.id = :id
+    and l.blobReleased = false
+    and l.status <> 'ACTIVE'
+    """)
+  int markBlobReleased(@Param("id") UUID id);
+
+  @Query("""
+    select l
+    from SecureLink l
+    where l.status <> 'ACTIVE'
+    and l.filePath is not null
+    and l.blobReleased = false
+    and l.statusChangedAt <= :cutoff
+    order by l.statusChangedAt
+    """)
+  List<SecureLink> findLinksToReclaim(@Param("cutoff") OffsetDateTime cutoff, Pageable pageable);
+
+  @Query("""
+    select count(l)
+    from SecureLink l
+    where l.status <> 'ACTIVE'
+    and l.filePath is not null
+    and l.blobReleased = false
+    and l.statusChangedAt <= :cutoff
+    """)
+  long countLinksToReclaim(@Param("cutoff") OffsetDateTime cutoff);
+
+  boolean existsByFilePath(String filePath);
+
+  // Keyset on (expiresAt, shortCode) over idx_secure_link_status_expires_at_short_code.
+  // Links reaching max_views are expired by registerView, not by the sweep.
+  @Query("""
+    SELECT l.shortCode AS shortCode, l.expiresAt AS expiresAt
     FROM SecureLink l
     WHERE l.status = 'ACTIVE'
+    AND l.expiresAt <= :now
+    AND (l.expiresAt > :afterExpiresAt OR (l.expiresAt = :afterExpiresAt AND l.shortCode > :afterShortCode))
+    ORDER BY l.expiresAt, l.shortCode
+    """)
+  List<ExpiringLinkProjection> findLinksToExpire(
+    @Param("now") OffsetDateTime now,
+    @Param("afterExpiresAt") OffsetDateTime afterExpiresAt,
+    @Param("afterShortCode") String afterShortCode,
+    Pageable pageable
+  );
+
+  // Revoked links stop matching, so callers re-read the first page after
+  // each chunk instead of keeping a cursor.
+  @Query("""
+    SELECT l.shortCode
+    FROM SecureLink l
+    WHERE l.createdAt >= :from
+    AND l.createdAt < :to
+    AND l.status <> 'REVOKED'
+    """)
+  List<String> findShortCodesToRevoke(
+    @Param("from") OffsetDateTime from,
+    @Param("to") OffsetDateTime to,
+    Pageable pageable
+  );
+
+  @Modifying
+  @Query("""
+    UPDATE SecureLink l
+    SET l.status = br.com.walyson.secure_link.domain.enums.LinkStatus.REVOKED, l.statusChangedAt = :now
+    WHERE l.shortCode IN :shortCodes
+    AND l.status <> 'REVOKED'
+    """)
+  int revokeByShortCodes(
+    @Param("shortCodes") List<String> shortCodes,
+    @Param("now") OffsetDateTime now
+  );
+
+  // Keyset on (expiresAt, shortCode); a null after skips every row at from.
+  @Query("""
+    SELECT l.shortCode AS shortCode, l.expiresAt AS expiresAt
+    FROM SecureLink l
+    WHERE l.status = 'ACTIVE'
+    AND (l.expiresAt > :from OR (:after IS NOT NULL AND l.expiresAt = :from AND l.shortCode > :after))
+    AND l.expiresAt <= :until
+    ORDER BY l.expiresAt, l.shortCode
+    """)
+  List<ExpiringLinkProjection> findExpiringBetween(
+    @Param("from") OffsetDateTime from,
+    @Param("after") String after,
+    @Param("until") OffsetDateTime until,
+    Pageable pageable
+  );
+
+  // Conditions are checked again: a link may have been revoked between the
+  // key scan and the update.
+  @Modifying
+  @Query("""
+    UPDATE SecureLink l
+    SET l.status = br.com.walyson.secure_link.domain.enums.LinkStatus.EXPIRED, l.statusChangedAt = :now
+    WHERE l.shortCode IN :shortCodes
+    AND l.status = 'ACTIVE'
     AND (
     (l.expiresAt IS NOT NULL AND l.expiresAt <= :now)
     OR
     (l.maxViews IS NOT NULL AND l.viewCount >= l.maxViews)
     )
     """)
-  List<SecureLink> findLinksToExpire(@Param("now") OffsetDateTime now);
+  int expireByShortCodes(
+    @Param("shortCodes") List<String> shortCodes,
+    @Param("now") OffsetDateTime now
+  );
 
 
   @Query("""
     select l.status as status, count(l) as count
     from SecureLink l
+    where l.createdAt >= :from
+    and l.createdAt < :to
+    and (:shortCode is null or l.shortCode = :shortCode)
     group by l.status
     """)
-  List<LinkStatusCountProjection> countLinksByStatus();
+  List<LinkStatusCountProjection> countLinksByStatus(
+    @Param("from") OffsetDateTime from,
+    @Param("to") OffsetDateTime to,
+    @Param("shortCode") String shortCode
+  );
 
 }
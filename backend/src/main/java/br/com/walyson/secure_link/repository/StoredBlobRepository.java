@@ -0,0 +1,55 @@
+package br.com.walyson.secure_link.repository;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.com.walyson.secure_link.domain.StoredBlob;
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, String> {
+
+  boolean existsByFilePath(String filePath);
+
+  @Modifying
+  @Query("update StoredBlob b set b.refCount = b.refCount + 1 where b.sha256 = :sha256")
+  int incrementRefCount(@Param("sha256") String sha256);
+
+  @Modifying
+  @Query("update StoredBlob b set b.refCount = b.refCount - 1 where b.sha256 = :sha256 and b.refCount > 0")
+  int decrementRefCount(@Param("sha256") String sha256);
+
+  @Modifying
+  @Query("update StoredBlob b set b.filePath = :filePath where b.sha256 = :sha256")
+  int updateFilePath(@Param("sha256") String sha256, @Param("filePath") String filePath);
+
+  @Modifying
+  @Query("update StoredBlob b set b.filePath = :newPath where b.filePath = :oldPath")
+  int replaceFilePath(@Param("oldPath") String oldPath, @Param("newPath") String newPath);
+
+  // A plain INSERT so that a concurrent insert of the same blob fails on the
+  // primary key instead of being merged into it.
+  @Modifying
+  @Query(value = """
+    INSERT INTO stored_blob (sha256, file_path, size, ref_count, created_at)
+    VALUES (:sha256, :filePath, :size, 1, :createdAt)
+    """, nativeQuery = true)
+  void insertFirstReference(
+    @Param("sha256") String sha256,
+    @Param("filePath") String filePath,
+    @Param("size") long size,
+    @Param("createdAt") OffsetDateTime createdAt
+  );
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select b from StoredBlob b where b.sha256 = :sha256")
+  Optional<StoredBlob> findForUpdate(@Param("sha256") String sha256);
+
+}
@@ -0,0 +1,38 @@
+package br.com.walyson.secure_link.repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.com.walyson.secure_link.domain.TopShortCodeCheckpoint;
+import br.com.walyson.secure_link.domain.enums.AccessResult;
+
+@Repository
+public interface TopShortCodeCheckpointRepository
+    extends JpaRepository<TopShortCodeCheckpoint, TopShortCodeCheckpoint.Key> {
+
+  List<TopShortCodeCheckpoint> findByUpdatedAtGreaterThanEqual(OffsetDateTime updatedAt);
+
+  @Query("""
+    select c
+    from TopShortCodeCheckpoint c
+    where c.result = :result
+    and c.updatedAt < :before
+    and c.nodeId not in :kept
+    """)
+  List<TopShortCodeCheckpoint> findStale(
+    @Param("result") AccessResult result,
+    @Param("before") OffsetDateTime before,
+    @Param("kept") Collection<String> kept
+  );
+
+  @Query("select distinct c.nodeId from TopShortCodeCheckpoint c")
+  Set<String> findNodeIds();
+
+}
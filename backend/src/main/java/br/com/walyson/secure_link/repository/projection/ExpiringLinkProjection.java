@@ -0,0 +1,8 @@
+package br.com.walyson.secure_link.repository.projection;
+
+import java.time.OffsetDateTime;
+
+public interface ExpiringLinkProjection {
+  String getShortCode();
+  OffsetDateTime getExpiresAt();
+}
@@ -1,6 +1,6 @@
 package br.com.walyson.secure_link.repository.projection;
 
-public interface SecurityExceptionProjection {
+public interface ShortCodeCountProjection {
     String getShortCode();
     long getCount();
 }
@@ -0,0 +1,115 @@
+package br.com.walyson.secure_link.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.stereotype.Component;
+
+import br.com.walyson.secure_link.config.AccessGrantProperties;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class AccessGrantSigner {
+
+  private static final String ALGORITHM = "HmacSHA256";
+
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private final AccessGrantProperties properties;
+  private final Mac prototype;
+
+  public AccessGrantSigner(AccessGrantProperties properties) {
+    this.properties = properties;
+    this.prototype = initMac(resolveKey(properties.getSecret()));
+  }
+
+  public String issue(String shortCode) {
+    return issue(shortCode, "");
+  }
+
+  // The binding ties the grant to what it was issued for, e.g. the ETag of
+  // the file whose download it lets the client resume.
+  public String issue(String shortCode, String binding) {
+    long expiresAt = Instant.now().plus(properties.getTtl()).getEpochSecond();
+    byte[] payload = (shortCode + ":" + binding + ":" + expiresAt).getBytes(StandardCharsets.UTF_8);
+
+    return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(sign(payload));
+  }
+
+  // Accepts any binding: enough to stand in for the password.
+  public boolean verify(String grant, String shortCode) {
+    return verify(grant, shortCode, null);
+  }
+
+  public boolean verify(String grant, String shortCode, String binding) {
+    if (grant == null || grant.isBlank()) {
+      return false;
+    }
+
+    int separator = grant.indexOf('.');
+    if (separator <= 0) {
+      return false;
+    }
+
+    try {
+      byte[] payload = DECODER.decode(grant.substring(0, separator));
+      byte[] signature = DECODER.decode(grant.substring(separator + 1));
+
+      if (!MessageDigest.isEqual(sign(payload), signature)) {
+        return false;
+      }
+
+      String claims = new String(payload, StandardCharsets.UTF_8);
+      int expirySeparator = claims.lastIndexOf(':');
+      int bindingSeparator = expirySeparator > 0 ? claims.lastIndexOf(':', expirySeparator - 1) : -1;
+
+      return bindingSeparator > 0
+        && claims.substring(0, bindingSeparator).equals(shortCode)
+        && (binding == null || claims.substring(bindingSeparator + 1, expirySeparator).equals(binding))
+        && Long.parseLong(claims.substring(expirySeparator + 1)) > Instant.now().getEpochSecond();
+
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  private byte[] sign(byte[] payload) {
+    try {
+      Mac mac = (Mac) prototype.clone();
+      return mac.doFinal(payload);
+    } catch (CloneNotSupportedException e) {
+      throw new IllegalStateException("HMAC provider does not support cloning", e);
+    }
+  }
+
+  private static byte[] resolveKey(String secret) {
+    if (secret != null && !secret.isBlank()) {
+      return secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    log.warn("secure_link_access_grant | no secret configured, using an ephemeral key");
+
+    byte[] key = new byte[32];
+    new SecureRandom().nextBytes(key);
+    return key;
+  }
+
+  private static Mac initMac(byte[] key) {
+    try {
+      Mac mac = Mac.getInstance(ALGORITHM);
+      mac.init(new SecretKeySpec(key, ALGORITHM));
+      return mac;
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Unable to initialise access grant signer", e);
+    }
+  }
+}
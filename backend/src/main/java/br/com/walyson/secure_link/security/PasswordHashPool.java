@@ -0,0 +1,53 @@
+package br.com.walyson.secure_link.security;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import br.com.walyson.secure_link.config.LinkBatchProperties;
+
+// BCrypt is slow on purpose, so batch creation hashes on a fixed pool of
+// platform threads: a burst of batches queues here instead of taking every
+// core from request handling.
+@Component
+public class PasswordHashPool implements DisposableBean {
+
+  private final PasswordEncoder passwordEncoder;
+  private final ExecutorService executor;
+
+  public PasswordHashPool(PasswordEncoder passwordEncoder, LinkBatchProperties properties) {
+    this.passwordEncoder = passwordEncoder;
+    this.executor = Executors.newFixedThreadPool(
+      properties.getHashParallelism(),
+      Thread.ofPlatform().name("password-hash-", 0).daemon().factory());
+  }
+
+  // Hashes in input order; a null or blank password yields null.
+  public List<String> encodeAll(List<String> passwords) {
+    List<CompletableFuture<String>> hashes = new ArrayList<>(passwords.size());
+    for (String password : passwords) {
+      hashes.add(password == null || password.isBlank()
+        ? CompletableFuture.completedFuture(null)
+        : CompletableFuture.supplyAsync(() -> passwordEncoder.encode(password), executor));
+    }
+
+    try {
+      return hashes.stream().map(CompletableFuture::join).toList();
+    } catch (CompletionException e) {
+      hashes.forEach(hash -> hash.cancel(false));
+      throw e.getCause() instanceof RuntimeException cause ? cause : e;
+    }
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdownNow();
+  }
+}
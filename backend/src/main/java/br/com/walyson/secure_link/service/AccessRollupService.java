@@ -0,0 +1,12 @@
+package br.com.walyson.secure_link.service;
+
+import java.time.OffsetDateTime;
+
+public interface AccessRollupService {
+
+  int rollup();
+
+  // Audits accessed before this instant are already in the rollup table.
+  OffsetDateTime rolledUpUntil();
+
+}
@@ -0,0 +1,36 @@
+package br.com.walyson.secure_link.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import br.com.walyson.secure_link.dto.stats.AccessByResultDto;
+import br.com.walyson.secure_link.dto.stats.AccessSummaryDto;
+import br.com.walyson.secure_link.dto.stats.DailyAccessDto;
+import br.com.walyson.secure_link.dto.stats.HourlyAccessDto;
+import br.com.walyson.secure_link.dto.stats.LinkStatusStatsDto;
+import br.com.walyson.secure_link.dto.stats.SecurityExceptionDto;
+import br.com.walyson.secure_link.dto.stats.StatsFilterDto;
+import br.com.walyson.secure_link.dto.stats.StatsPageDto;
+import br.com.walyson.secure_link.dto.stats.TopLinkDto;
+
+public interface AccessStatsService {
+
+  // Unique origins come from the HyperLogLog sketches unless exact is set;
+  // a filtered summary counts them exactly over the live audit rows.
+  AccessSummaryDto summary(StatsFilterDto filter, boolean exact);
+
+  StatsPageDto<DailyAccessDto> daily(StatsFilterDto filter, LocalDate after, int limit);
+
+  List<HourlyAccessDto> hourly(StatsFilterDto filter);
+
+  List<AccessByResultDto> failures(StatsFilterDto filter);
+
+  LinkStatusStatsDto linkStatus(StatsFilterDto filter);
+
+  // Unfiltered rankings come from the Space-Saving summaries unless exact is
+  // set; maxError bounds how much each approximate count may be overstated.
+  StatsPageDto<TopLinkDto> topLinks(StatsFilterDto filter, String after, int limit, boolean exact);
+
+  StatsPageDto<SecurityExceptionDto> securityExceptions(StatsFilterDto filter, String after, int limit, boolean exact);
+
+}
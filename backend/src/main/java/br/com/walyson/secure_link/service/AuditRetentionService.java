@@ -0,0 +1,9 @@
+package br.com.walyson.secure_link.service;
+
+import br.com.walyson.secure_link.dto.AuditRetentionResultDto;
+
+public interface AuditRetentionService {
+
+  AuditRetentionResultDto enforceRetention();
+
+}
@@ -1,8 +1,13 @@
 package br.com.walyson.secure_link.service;
 
+import java.util.List;
+
+import br.com.walyson.secure_link.dto.CreateLinkBatchResponseDto;
 import br.com.walyson.secure_link.dto.CreateLinkRequestDto;
 import br.com.walyson.secure_link.dto.CreateLinkResponseDto;
 
 public interface CreateLinkService {
   CreateLinkResponseDto create(CreateLinkRequestDto request);
+
+  CreateLinkBatchResponseDto createBatch(List<CreateLinkRequestDto> requests);
 }
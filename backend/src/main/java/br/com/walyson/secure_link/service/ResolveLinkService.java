@@ -6,6 +6,13 @@ import br.com.walyson.secure_link.dto.ResolveResultDto;
 
 public interface ResolveLinkService {
 
-  ResolveResultDto resolve(String shortCode, String password, AccessContextDto context);
+  ResolveResultDto resolve(String shortCode, String password, String accessGrant, AccessContextDto context);
+
+  // HEAD requests: access is checked, but no view is counted or audited.
+  ResolveResultDto inspect(String shortCode, String password, String accessGrant, AccessContextDto context);
+
+  // Ranges resuming a download past its first byte with the grant issued by
+  // the request that started it. They count no view but are audited.
+  ResolveResultDto resume(String shortCode, String accessGrant, AccessContextDto context);
   
 }
@@ -1,5 +1,10 @@
 package br.com.walyson.secure_link.service;
 
+import br.com.walyson.secure_link.dto.RevokeLinksRequestDto;
+import br.com.walyson.secure_link.dto.RevokeLinksResultDto;
+
 public interface RevokeLinkService {
   void revoke(String shortCode);
+
+  RevokeLinksResultDto revokeAll(RevokeLinksRequestDto request);
 }
@@ -1,6 +1,10 @@
 package br.com.walyson.secure_link.service;
 
+import java.util.List;
+
 public interface SecureLinkExpirationService {
 
   int expireLinks();
+
+  int expire(List<String> shortCodes);
 }
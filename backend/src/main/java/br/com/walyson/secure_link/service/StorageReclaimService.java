@@ -0,0 +1,9 @@
+package br.com.walyson.secure_link.service;
+
+import br.com.walyson.secure_link.dto.StorageReclaimResultDto;
+
+public interface StorageReclaimService {
+
+  StorageReclaimResultDto reclaim();
+
+}
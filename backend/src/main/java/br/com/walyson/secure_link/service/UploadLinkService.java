@@ -2,12 +2,11 @@ package br.com.walyson.secure_link.service;
 
 import java.time.OffsetDateTime;
 
-import org.springframework.web.multipart.MultipartFile;
-
 import br.com.walyson.secure_link.dto.CreateLinkResponseDto;
+import br.com.walyson.secure_link.dto.StoredFileDto;
 
 public interface UploadLinkService {
 
-  CreateLinkResponseDto upload(MultipartFile file, OffsetDateTime expiresAt, Integer maxViews, String password);
+  CreateLinkResponseDto upload(StoredFileDto file, OffsetDateTime expiresAt, Integer maxViews, String password);
   
 }
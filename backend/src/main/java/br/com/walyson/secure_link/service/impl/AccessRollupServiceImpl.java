@@ -0,0 +1,127 @@
+package br.com.walyson.secure_link.service.impl;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.walyson.secure_link.config.StatsRollupProperties;
+import br.com.walyson.secure_link.domain.RollupWatermark;
+import br.com.walyson.secure_link.repository.LinkAccessAuditRepository;
+import br.com.walyson.secure_link.repository.LinkAccessRollupRepository;
+import br.com.walyson.secure_link.repository.RollupWatermarkRepository;
+import br.com.walyson.secure_link.service.AccessRollupService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class AccessRollupServiceImpl implements AccessRollupService {
+
+  public static final String WATERMARK = "link_access_hourly";
+
+  static final OffsetDateTime EPOCH = OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+  private static final Duration BUCKET = Duration.ofHours(1);
+
+  private final LinkAccessAuditRepository auditRepository;
+  private final LinkAccessRollupRepository rollupRepository;
+  private final RollupWatermarkRepository watermarkRepository;
+  private final StatsRollupProperties properties;
+  private final TransactionTemplate transactionTemplate;
+  private final Counter rolledUpRows;
+
+  public AccessRollupServiceImpl(
+    LinkAccessAuditRepository auditRepository,
+    LinkAccessRollupRepository rollupRepository,
+    RollupWatermarkRepository watermarkRepository,
+    StatsRollupProperties properties,
+    PlatformTransactionManager transactionManager,
+    MeterRegistry meterRegistry
+  ) {
+    this.auditRepository = auditRepository;
+    this.rollupRepository = rollupRepository;
+    this.watermarkRepository = watermarkRepository;
+    this.properties = properties;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+    this.rolledUpRows = Counter.builder("secure_link_access_rollup_rows_total")
+      .description("Hourly rollup rows written from the access audit")
+      .register(meterRegistry);
+  }
+
+  // Rolls up closed hours from the watermark onwards, one hour per
+  // transaction. Hours without audits are skipped by jumping straight to the
+  // next accessed hour.
+  @Override
+  public int rollup() {
+    if (!properties.isEnabled()) {
+      return 0;
+    }
+
+    OffsetDateTime closedUntil = OffsetDateTime.now()
+      .minus(properties.getSettleDelay())
+      .truncatedTo(ChronoUnit.HOURS);
+    int hours = 0;
+
+    while (hours < properties.getMaxHoursPerRun()) {
+      OffsetDateTime watermark = rolledUpUntil();
+      if (!watermark.isBefore(closedUntil)) {
+        break;
+      }
+
+      OffsetDateTime firstAccess = auditRepository.findFirstAccessBetween(watermark, closedUntil);
+      if (firstAccess == null) {
+        advance(watermark, closedUntil, null);
+        break;
+      }
+
+      OffsetDateTime bucketStart = firstAccess.truncatedTo(ChronoUnit.HOURS);
+      if (bucketStart.isBefore(watermark)) {
+        bucketStart = watermark;
+      }
+      if (!advance(watermark, bucketStart.plus(BUCKET), bucketStart)) {
+        break;
+      }
+      hours++;
+    }
+
+    return hours;
+  }
+
+  @Override
+  public OffsetDateTime rolledUpUntil() {
+    return watermarkRepository.findById(WATERMARK)
+      .map(RollupWatermark::getRolledUpUntil)
+      .orElse(EPOCH);
+  }
+
+  // Moves the watermark under a row lock, rolling up the given hour in the
+  // same transaction. Returns false when another replica moved it first.
+  private boolean advance(OffsetDateTime expected, OffsetDateTime until, OffsetDateTime bucketStart) {
+    Boolean advanced = transactionTemplate.execute(status -> {
+      RollupWatermark watermark = watermarkRepository.findForUpdate(WATERMARK)
+        .orElseGet(() -> new RollupWatermark(WATERMARK, EPOCH));
+
+      if (!watermark.getRolledUpUntil().isEqual(expected)) {
+        return false;
+      }
+
+      if (bucketStart != null) {
+        int rows = rollupRepository.rollupHour(bucketStart, until);
+        rolledUpRows.increment(rows);
+        log.info("secure_link_access_rollup_hour | bucketStart={} rows={}", bucketStart, rows);
+      }
+
+      watermark.setRolledUpUntil(until);
+      watermarkRepository.save(watermark);
+      return true;
+    });
+    return Boolean.TRUE.equals(advanced);
+  }
+}
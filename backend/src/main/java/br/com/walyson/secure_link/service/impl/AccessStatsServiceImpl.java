@@ -0,0 +1,372 @@
+package br.com.walyson.secure_link.service.impl;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.walyson.secure_link.domain.enums.AccessResult;
+import br.com.walyson.secure_link.domain.enums.LinkStatus;
+import br.com.walyson.secure_link.dto.stats.AccessByResultDto;
+import br.com.walyson.secure_link.dto.stats.AccessSummaryDto;
+import br.com.walyson.secure_link.dto.stats.DailyAccessDto;
+import br.com.walyson.secure_link.dto.stats.HourlyAccessDto;
+import br.com.walyson.secure_link.dto.stats.LinkStatusStatsDto;
+import br.com.walyson.secure_link.dto.stats.SecurityExceptionDto;
+import br.com.walyson.secure_link.dto.stats.StatsFilterDto;
+import br.com.walyson.secure_link.dto.stats.StatsPageDto;
+import br.com.walyson.secure_link.dto.stats.TopLinkDto;
+import br.com.walyson.secure_link.infra.audit.AuditArchiveStore;
+import br.com.walyson.secure_link.infra.stats.HyperLogLog;
+import br.com.walyson.secure_link.infra.stats.TopShortCodeTracker;
+import br.com.walyson.secure_link.infra.stats.UniqueOriginTracker;
+import br.com.walyson.secure_link.repository.LinkAccessAuditRepository;
+import br.com.walyson.secure_link.repository.LinkAccessRollupRepository;
+import br.com.walyson.secure_link.repository.SecureLinkRepository;
+import br.com.walyson.secure_link.repository.projection.AccessByResultProjection;
+import br.com.walyson.secure_link.repository.projection.AccessSummaryProjection;
+import br.com.walyson.secure_link.repository.projection.DailyAccessProjection;
+import br.com.walyson.secure_link.repository.projection.HourlyAccessProjection;
+import br.com.walyson.secure_link.repository.projection.LinkStatusCountProjection;
+import br.com.walyson.secure_link.repository.projection.ShortCodeCountProjection;
+import br.com.walyson.secure_link.service.AccessRollupService;
+import br.com.walyson.secure_link.service.AccessStatsService;
+import lombok.RequiredArgsConstructor;
+
+// Every figure is the rollup table up to the watermark plus the raw audit
+// rows after it, so the cost of a call no longer grows with audit history.
+// Rollups are hourly, so a requested range is widened to whole hours.
+@Service
+@RequiredArgsConstructor
+public class AccessStatsServiceImpl implements AccessStatsService {
+
+  private static final OffsetDateTime EPOCH = OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+  private static final LocalDate BEFORE_FIRST_DAY = LocalDate.of(1969, 12, 31);
+  private static final int MAX_PAGE_SIZE = 1000;
+  // Sketch for unions with the archives: 2^18 registers (256 KB) keep the
+  // error near 0.2%, and small counts come out exact.
+  private static final int UNION_PRECISION = 18;
+
+  private static final Comparator<Map.Entry<String, Long>> RANKING =
+    Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+      .thenComparing(Map.Entry.comparingByKey());
+
+  private final LinkAccessRollupRepository rollupRepository;
+  private final LinkAccessAuditRepository auditRepository;
+  private final SecureLinkRepository linkRepository;
+  private final AccessRollupService rollupService;
+  private final UniqueOriginTracker uniqueOriginTracker;
+  private final TopShortCodeTracker topShortCodeTracker;
+  private final AuditArchiveStore archiveStore;
+
+  @Override
+  @Transactional(readOnly = true)
+  public AccessSummaryDto summary(StatsFilterDto filter, boolean exact) {
+    Window window = window(filter);
+    AccessSummaryProjection rolledUp = rollupRepository.fetchAccessSummaryProjection(
+      window.from(), window.rolledUpUntil(), window.shortCode());
+    AccessSummaryProjection tail = auditRepository.fetchAccessSummaryProjection(
+      window.tailFrom(), window.to(), window.shortCode());
+
+    long uniqueOrigins;
+    if (!filter.isUnbounded()) {
+      uniqueOrigins = countFilteredOrigins(window);
+    } else {
+      uniqueOrigins = exact ? countExactOrigins() : uniqueOriginTracker.estimate();
+    }
+
+    return new AccessSummaryDto(
+      sum(rolledUp, tail, AccessSummaryProjection::getTotal),
+      sum(rolledUp, tail, AccessSummaryProjection::getSuccess),
+      sum(rolledUp, tail, AccessSummaryProjection::getFailed),
+      sum(rolledUp, tail, AccessSummaryProjection::getExpired),
+      uniqueOrigins
+    );
+  }
+
+  // Both sources return their first `limit` days after the cursor in order,
+  // so the first `limit` days of the merge are complete.
+  @Override
+  public StatsPageDto<DailyAccessDto> daily(StatsFilterDto filter, LocalDate after, int limit) {
+    checkLimit(limit);
+    LocalDate afterDay = after == null ? BEFORE_FIRST_DAY : after;
+    // Days are grouped in the database time zone; starting at the cursor day
+    // (not the next) keeps that day's late hours in range for any offset.
+    Window window = window(filter).startingAt(afterDay.atStartOfDay().atOffset(ZoneOffset.UTC));
+    PageRequest page = PageRequest.of(0, limit);
+
+    Map<LocalDate, Long> counts = new TreeMap<>();
+    merge(counts, rollupRepository.countDailyAccesses(
+        window.from(), window.rolledUpUntil(), window.shortCode(), afterDay, page),
+      DailyAccessProjection::getAccessDate, DailyAccessProjection::getCount);
+    merge(counts, auditRepository.countDailyAccesses(
+        window.tailFrom(), window.to(), window.shortCode(), afterDay, page),
+      DailyAccessProjection::getAccessDate, DailyAccessProjection::getCount);
+
+    List<DailyAccessDto> items = counts.entrySet().stream()
+      .limit(limit)
+      .map(entry -> new DailyAccessDto(entry.getKey(), entry.getValue()))
+      .toList();
+
+    String nextCursor = items.size() == limit ? items.getLast().date().toString() : null;
+    return new StatsPageDto<>(items, nextCursor);
+  }
+
+  @Override
+  public List<HourlyAccessDto> hourly(StatsFilterDto filter) {
+    Window window = window(filter);
+    Map<Integer, Long> counts = new TreeMap<>();
+    merge(counts, rollupRepository.countHourlyAccesses(window.from(), window.rolledUpUntil(), window.shortCode()),
+      HourlyAccessProjection::getHour, HourlyAccessProjection::getCount);
+    merge(counts, auditRepository.countHourlyAccesses(window.tailFrom(), window.to(), window.shortCode()),
+      HourlyAccessProjection::getHour, HourlyAccessProjection::getCount);
+
+    return counts.entrySet().stream()
+      .map(entry -> new HourlyAccessDto(entry.getKey(), entry.getValue()))
+      .toList();
+  }
+
+  @Override
+  public List<AccessByResultDto> failures(StatsFilterDto filter) {
+    Window window = window(filter);
+    Map<AccessResult, Long> counts = new TreeMap<>();
+    merge(counts, rollupRepository.countFailuresByResult(window.from(), window.rolledUpUntil(), window.shortCode()),
+      AccessByResultProjection::getResult, AccessByResultProjection::getCount);
+    merge(counts, auditRepository.countFailuresByResult(window.tailFrom(), window.to(), window.shortCode()),
+      AccessByResultProjection::getResult, AccessByResultProjection::getCount);
+
+    return counts.entrySet().stream()
+      .map(entry -> new AccessByResultDto(entry.getKey(), entry.getValue()))
+      .toList();
+  }
+
+  // The range applies to the link creation time.
+  @Override
+  public LinkStatusStatsDto linkStatus(StatsFilterDto filter) {
+    Window window = window(filter);
+    Map<LinkStatus, Long> counts = linkRepository.countLinksByStatus(window.from(), window.to(), window.shortCode())
+      .stream()
+      .collect(Collectors.toMap(LinkStatusCountProjection::getStatus, LinkStatusCountProjection::getCount));
+
+    return new LinkStatusStatsDto(
+      counts.getOrDefault(LinkStatus.ACTIVE, 0L),
+      counts.getOrDefault(LinkStatus.EXPIRED, 0L),
+      counts.getOrDefault(LinkStatus.REVOKED, 0L)
+    );
+  }
+
+  @Override
+  public StatsPageDto<TopLinkDto> topLinks(StatsFilterDto filter, String after, int limit, boolean exact) {
+    List<TopLinkDto> items = rank(AccessResult.SUCCESS, filter, after, limit, exact).stream()
+      .map(entry -> new TopLinkDto(entry.shortCode(), entry.count(), entry.maxError()))
+      .toList();
+    String nextCursor = items.size() == limit
+      ? Cursor.of(items.getLast().accessCount(), items.getLast().shortCode())
+      : null;
+    return new StatsPageDto<>(items, nextCursor);
+  }
+
+  @Override
+  public StatsPageDto<SecurityExceptionDto> securityExceptions(StatsFilterDto filter, String after, int limit,
+      boolean exact) {
+    List<SecurityExceptionDto> items = rank(AccessResult.INVALID_PASSWORD, filter, after, limit, exact).stream()
+      .map(entry -> new SecurityExceptionDto(entry.shortCode(), entry.count(), entry.maxError()))
+      .toList();
+    String nextCursor = items.size() == limit
+      ? Cursor.of(items.getLast().count(), items.getLast().shortCode())
+      : null;
+    return new StatsPageDto<>(items, nextCursor);
+  }
+
+  // Pages are ordered by count desc, short code asc. The in-memory summaries
+  // have no notion of time or of a single link, so filters force the exact path.
+  private List<Ranked> rank(AccessResult result, StatsFilterDto filter, String after, int limit, boolean exact) {
+    checkLimit(limit);
+    Cursor cursor = Cursor.parse(after);
+
+    if (!exact && filter.isUnbounded()) {
+      return topShortCodeTracker.top(result, Integer.MAX_VALUE).stream()
+        .filter(item -> cursor.admits(item.count(), item.key()))
+        .limit(limit)
+        .map(item -> new Ranked(item.key(), item.count(), item.error()))
+        .toList();
+    }
+    return exactRanking(result, window(filter), cursor, limit);
+  }
+
+  // Candidates are the rolled-up entries past the cursor plus every code
+  // seen in the tail, the latter completed with their rolled-up counts. Tail
+  // counts may push some candidates before the cursor, so one extra
+  // candidate is read per tail code: a code outside the candidates has no
+  // tail rows and cannot beat the `limit` candidates that have none either.
+  private List<Ranked> exactRanking(AccessResult result, Window window, Cursor cursor, int limit) {
+    Map<String, Long> tail = new HashMap<>();
+    merge(tail, auditRepository.countByShortCode(result, window.tailFrom(), window.to(), window.shortCode()),
+      ShortCodeCountProjection::getShortCode, ShortCodeCountProjection::getCount);
+
+    Map<String, Long> counts = new HashMap<>();
+    merge(counts, rollupRepository.findTopShortCodes(result, window.from(), window.rolledUpUntil(),
+        window.shortCode(), cursor.count(), cursor.shortCode(), PageRequest.of(0, limit + tail.size())),
+      ShortCodeCountProjection::getShortCode, ShortCodeCountProjection::getCount);
+
+    List<String> missing = tail.keySet().stream()
+      .filter(shortCode -> !counts.containsKey(shortCode))
+      .toList();
+    if (!missing.isEmpty()) {
+      merge(counts, rollupRepository.countByShortCodes(result, missing, window.from(), window.rolledUpUntil()),
+        ShortCodeCountProjection::getShortCode, ShortCodeCountProjection::getCount);
+    }
+    tail.forEach((shortCode, count) -> counts.merge(shortCode, count, Long::sum));
+
+    return counts.entrySet().stream()
+      .filter(entry -> cursor.admits(entry.getValue(), entry.getKey()))
+      .sorted(RANKING)
+      .limit(limit)
+      .map(entry -> new Ranked(entry.getKey(), entry.getValue(), 0))
+      .toList();
+  }
+
+  // Partitions dropped by the retention job only survive in the archives,
+  // so the live and archived addresses are unioned. Both are streamed into
+  // a sketch instead of a set, keeping memory fixed whatever their number.
+  private long countExactOrigins() {
+    try {
+      if (archiveStore.archives().isEmpty()) {
+        return auditRepository.countUniqueOrigins();
+      }
+      HyperLogLog origins = new HyperLogLog(UNION_PRECISION);
+      try (Stream<String> live = auditRepository.streamDistinctIpAddresses()) {
+        live.forEach(origins::add);
+      }
+      archiveStore.forEachIpAddress(origins::add);
+      return origins.estimate();
+    } catch (IOException e) {
+      throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Audit archive error", e);
+    }
+  }
+
+  // Archived months in the window are unioned in, as in countExactOrigins.
+  private long countFilteredOrigins(Window window) {
+    try {
+      if (archiveStore.archives(window.from(), window.to()).isEmpty()) {
+        return auditRepository.countUniqueOrigins(window.from(), window.to(), window.shortCode());
+      }
+      HyperLogLog origins = new HyperLogLog(UNION_PRECISION);
+      try (Stream<String> live = auditRepository.streamDistinctIpAddresses(
+          window.from(), window.to(), window.shortCode())) {
+        live.forEach(origins::add);
+      }
+      archiveStore.forEachIpAddress(window.from(), window.to(), window.shortCode(), origins::add);
+      return origins.estimate();
+    } catch (IOException e) {
+      throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Audit archive error", e);
+    }
+  }
+
+  // from is rounded down and to rounded up to whole hours; an open end is
+  // the epoch or the hour after the current one.
+  private Window window(StatsFilterDto filter) {
+    OffsetDateTime from = filter.from() == null
+      ? EPOCH
+      : filter.from().truncatedTo(ChronoUnit.HOURS);
+    OffsetDateTime to = filter.to() == null
+      ? OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.HOURS).plusHours(1)
+      : ceilToHour(filter.to());
+
+    if (!from.isBefore(to)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+    }
+
+    String shortCode = filter.shortCode() == null || filter.shortCode().isBlank() ? null : filter.shortCode();
+    return new Window(from, to, shortCode, rollupService.rolledUpUntil());
+  }
+
+  private static OffsetDateTime ceilToHour(OffsetDateTime instant) {
+    OffsetDateTime hour = instant.truncatedTo(ChronoUnit.HOURS);
+    return hour.isEqual(instant) ? hour : hour.plusHours(1);
+  }
+
+  private static void checkLimit(int limit) {
+    if (limit < 1 || limit > MAX_PAGE_SIZE) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_PAGE_SIZE);
+    }
+  }
+
+  private static <P, K> void merge(Map<K, Long> counts, List<P> rows, Function<P, K> key, ToLongFunction<P> count) {
+    rows.forEach(row -> counts.merge(key.apply(row), count.applyAsLong(row), Long::sum));
+  }
+
+  private static long sum(AccessSummaryProjection rolledUp, AccessSummaryProjection tail,
+      Function<AccessSummaryProjection, Long> field) {
+    return valueOf(rolledUp, field) + valueOf(tail, field);
+  }
+
+  private static long valueOf(AccessSummaryProjection projection, Function<AccessSummaryProjection, Long> field) {
+    if (projection == null) {
+      return 0;
+    }
+    Long value = field.apply(projection);
+    return value == null ? 0 : value;
+  }
+
+  // [from, to) split at the watermark: rollups answer [from, rolledUpUntil),
+  // the audit tail [tailFrom, to). Either part may be empty.
+  private record Window(OffsetDateTime from, OffsetDateTime to, String shortCode, OffsetDateTime watermark) {
+
+    OffsetDateTime rolledUpUntil() {
+      return to.isBefore(watermark) ? to : watermark;
+    }
+
+    OffsetDateTime tailFrom() {
+      return from.isAfter(watermark) ? from : watermark;
+    }
+
+    Window startingAt(OffsetDateTime start) {
+      return start.isAfter(from) ? new Window(start, to, shortCode, watermark) : this;
+    }
+  }
+
+  private record Ranked(String shortCode, long count, long maxError) {}
+
+  // Position in a ranking, encoded as "<count>:<shortCode>" in the API.
+  private record Cursor(long count, String shortCode) {
+
+    static final Cursor FIRST = new Cursor(Long.MAX_VALUE, "");
+
+    static Cursor parse(String value) {
+      if (value == null || value.isBlank()) {
+        return FIRST;
+      }
+      int separator = value.indexOf(':');
+      try {
+        return new Cursor(Long.parseLong(value.substring(0, separator)), value.substring(separator + 1));
+      } catch (RuntimeException e) {
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+      }
+    }
+
+    static String of(long count, String shortCode) {
+      return count + ":" + shortCode;
+    }
+
+    boolean admits(long otherCount, String otherShortCode) {
+      return otherCount < count || (otherCount == count && otherShortCode.compareTo(shortCode) > 0);
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package br.com.walyson.secure_link.service.impl;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+
+import br.com.walyson.secure_link.config.AuditRetentionProperties;
+import br.com.walyson.secure_link.domain.LinkAccessAudit;
+import br.com.walyson.secure_link.dto.AuditRetentionResultDto;
+import br.com.walyson.secure_link.infra.audit.AuditArchiveStore;
+import br.com.walyson.secure_link.infra.audit.AuditPartitionManager;
+import br.com.walyson.secure_link.infra.audit.AuditPartitionManager.Partition;
+import br.com.walyson.secure_link.service.AccessRollupService;
+import br.com.walyson.secure_link.service.AuditRetentionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditRetentionServiceImpl implements AuditRetentionService {
+
+  private final AuditPartitionManager partitionManager;
+  private final AuditArchiveStore archiveStore;
+  private final AccessRollupService rollupService;
+  private final AuditRetentionProperties properties;
+
+  @Override
+  public AuditRetentionResultDto enforceRetention() {
+    if (!properties.isEnabled()) {
+      return new AuditRetentionResultDto(0, 0, 0);
+    }
+
+    List<Partition> partitions = partitionManager.partitions();
+    if (partitions.isEmpty()) {
+      log.warn("secure_link_audit_retention_skipped | reason=link_access_audit is not partitioned");
+      return new AuditRetentionResultDto(0, 0, 0);
+    }
+
+    YearMonth currentMonth = YearMonth.now(ZoneOffset.UTC);
+    int created = partitionManager.createMonthsUntil(partitions, currentMonth.plusMonths(properties.getMonthsAhead()));
+
+    // A partition leaves the table only once its whole range is outside the
+    // retention window and rolled up, so the stats keep counting its rows.
+    Instant cutoff = AuditPartitionManager.startOf(currentMonth.minusMonths(properties.getKeepMonths() - 1));
+    Instant rolledUpUntil = rollupService.rolledUpUntil().toInstant();
+
+    int archived = 0;
+    long rows = 0;
+
+    for (Partition partition : partitions) {
+      Instant upperBound = partition.upperBound();
+      if (upperBound == null || upperBound.isAfter(cutoff) || upperBound.isAfter(rolledUpUntil)) {
+        continue;
+      }
+
+      try (Stream<LinkAccessAudit> stream = partitionManager.stream(partition.name())) {
+        long written = archiveStore.write(partition.name(), stream);
+        partitionManager.drop(partition.name());
+        archived++;
+        rows += written;
+        log.info("secure_link_audit_partition_archived | partition={} rows={}", partition.name(), written);
+      } catch (IOException e) {
+        // Later partitions wait, so archives are always dropped oldest first.
+        log.error("secure_link_audit_partition_archive_failed | partition={}", partition.name(), e);
+        break;
+      }
+    }
+
+    return new AuditRetentionResultDto(created, archived, rows);
+  }
+}
@@ -1,21 +1,33 @@
 package br.com.walyson.secure_link.service.impl;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import br.com.walyson.secure_link.domain.SecureLink;
+import br.com.walyson.secure_link.dto.CreateLinkBatchItemDto;
+import br.com.walyson.secure_link.dto.CreateLinkBatchResponseDto;
 import br.com.walyson.secure_link.dto.CreateLinkRequestDto;
 import br.com.walyson.secure_link.dto.CreateLinkResponseDto;
-import br.com.walyson.secure_link.repository.SecureLinkRepository;
+import br.com.walyson.secure_link.infra.filter.ShortCodeFilter;
+import br.com.walyson.secure_link.infra.scheduler.LinkExpirationQueue;
+import br.com.walyson.secure_link.security.PasswordHashPool;
 import br.com.walyson.secure_link.service.CreateLinkService;
 import br.com.walyson.secure_link.utils.CodeUtils;
+import br.com.walyson.secure_link.config.LinkBatchProperties;
 import br.com.walyson.secure_link.config.LinkTtlProperties;
 
 import io.micrometer.core.instrument.MeterRegistry;
 
-import org.springframework.transaction.annotation.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -25,15 +37,18 @@ import lombok.extern.slf4j.Slf4j;
 public class CreateLinkServiceImpl implements CreateLinkService {
 
   private final CodeUtils codeUtils;
-  private final SecureLinkRepository repository;
   private final MeterRegistry meterRegistry;
   private final PasswordEncoder passwordEncoder;
   private final LinkTtlProperties linkTtlProperties;
+  private final ShortCodeFilter shortCodeFilter;
+  private final LinkExpirationQueue expirationQueue;
+  private final PasswordHashPool passwordHashPool;
+  private final LinkBatchProperties linkBatchProperties;
+  private final Validator validator;
 
   @Override
-  @Transactional
   public CreateLinkResponseDto create(CreateLinkRequestDto request) {
-    String shortCode = codeUtils.generateUniqueShortCode();
+    String shortCode = codeUtils.generateShortCode();
     OffsetDateTime expiresAt = resolveExpiresAt(request.expiresAt());
 
     SecureLink link = new SecureLink(
@@ -48,7 +63,9 @@ public class CreateLinkServiceImpl implements CreateLinkService {
       link.protectWithPassword(hash);
     }
 
-    repository.save(link);
+    codeUtils.persistWithUniqueShortCode(link);
+    shortCodeFilter.register(link.getShortCode());
+    expirationQueue.schedule(link.getShortCode(), link.getExpiresAt());
 
     meterRegistry.counter("secure_link_created_total", "type", "REDIRECT").increment();
 
@@ -60,6 +77,87 @@ public class CreateLinkServiceImpl implements CreateLinkService {
       link.isPasswordProtected()
     );
 
+    return toResponse(link);
+  }
+
+  // Items failing validation are reported and skipped; the valid ones are
+  // inserted together, so they are either all created or the call fails.
+  @Override
+  public CreateLinkBatchResponseDto createBatch(List<CreateLinkRequestDto> requests) {
+    if (requests == null || requests.isEmpty() || requests.size() > linkBatchProperties.getMaxSize()) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+        "Batch must contain between 1 and " + linkBatchProperties.getMaxSize() + " links");
+    }
+    long startTime = System.currentTimeMillis();
+
+    CreateLinkBatchItemDto[] items = new CreateLinkBatchItemDto[requests.size()];
+    List<Integer> accepted = new ArrayList<>(requests.size());
+    for (int i = 0; i < requests.size(); i++) {
+      String error = validate(requests.get(i));
+      if (error != null) {
+        items[i] = new CreateLinkBatchItemDto(i, null, error);
+      } else {
+        accepted.add(i);
+      }
+    }
+
+    List<String> hashes = passwordHashPool.encodeAll(
+      accepted.stream().map(i -> requests.get(i).password()).toList());
+
+    List<SecureLink> links = new ArrayList<>(accepted.size());
+    for (int j = 0; j < accepted.size(); j++) {
+      CreateLinkRequestDto request = requests.get(accepted.get(j));
+      SecureLink link = new SecureLink(
+        codeUtils.generateShortCode(),
+        request.targetUrl(),
+        resolveExpiresAt(request.expiresAt()),
+        request.maxViews()
+      );
+      if (hashes.get(j) != null) {
+        link.protectWithPassword(hashes.get(j));
+      }
+      links.add(link);
+    }
+
+    if (!links.isEmpty()) {
+      codeUtils.persistAllWithUniqueShortCodes(links);
+    }
+
+    for (int j = 0; j < links.size(); j++) {
+      SecureLink link = links.get(j);
+      shortCodeFilter.register(link.getShortCode());
+      expirationQueue.schedule(link.getShortCode(), link.getExpiresAt());
+      items[accepted.get(j)] = new CreateLinkBatchItemDto(accepted.get(j), toResponse(link), null);
+    }
+
+    meterRegistry.counter("secure_link_created_total", "type", "REDIRECT").increment(links.size());
+
+    log.info(
+      "secure_link_batch_created | type=REDIRECT requested={} created={} rejected={} durationMs={}",
+      requests.size(),
+      links.size(),
+      requests.size() - links.size(),
+      System.currentTimeMillis() - startTime
+    );
+
+    return new CreateLinkBatchResponseDto(links.size(), requests.size() - links.size(), List.of(items));
+  }
+
+  private String validate(CreateLinkRequestDto request) {
+    if (request == null) {
+      return "Link must not be null";
+    }
+    Set<ConstraintViolation<CreateLinkRequestDto>> violations = validator.validate(request);
+    if (violations.isEmpty()) {
+      return null;
+    }
+    return violations.stream()
+      .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+      .sorted()
+      .collect(Collectors.joining("; "));
+  }
+
+  private CreateLinkResponseDto toResponse(SecureLink link) {
     return new CreateLinkResponseDto(
       link.getShortCode(),
       codeUtils.generateAccessUrl(link.getShortCode()),
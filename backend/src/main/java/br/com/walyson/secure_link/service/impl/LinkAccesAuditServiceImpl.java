@@ -3,13 +3,13 @@ package br.com.walyson.secure_link.service.impl;
 import java.time.OffsetDateTime;
 
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 
 import br.com.walyson.secure_link.domain.enums.AccessResult;
 import br.com.walyson.secure_link.domain.LinkAccessAudit;
+import br.com.walyson.secure_link.infra.audit.AuditBatchWriter;
+import br.com.walyson.secure_link.infra.stats.TopShortCodeTracker;
+import br.com.walyson.secure_link.infra.stats.UniqueOriginTracker;
 import br.com.walyson.secure_link.service.LinkAccessAuditService;
-import br.com.walyson.secure_link.repository.LinkAccessAuditRepository;
 import lombok.RequiredArgsConstructor;
 
 
@@ -17,9 +17,10 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class LinkAccesAuditServiceImpl implements LinkAccessAuditService {
 
-  private final LinkAccessAuditRepository repository;
+  private final AuditBatchWriter writer;
+  private final UniqueOriginTracker uniqueOriginTracker;
+  private final TopShortCodeTracker topShortCodeTracker;
 
-  @Transactional(propagation = Propagation.REQUIRES_NEW)
   public void audit(String shortCode, AccessResult result, String ipAddress, String userAgent) {
 
     LinkAccessAudit audit = LinkAccessAudit.builder()
@@ -30,7 +31,9 @@ public class LinkAccesAuditServiceImpl implements LinkAccessAuditService {
     .accessedAt(OffsetDateTime.now())
     .build();
 
-    repository.save(audit);
+    writer.submit(audit);
+    uniqueOriginTracker.record(ipAddress, audit.getAccessedAt());
+    topShortCodeTracker.record(shortCode, result);
   }
 
 
@@ -4,8 +4,10 @@ package br.com.walyson.secure_link.service.impl;
 import br.com.walyson.secure_link.dto.AccessContextDto;
 import br.com.walyson.secure_link.dto.ResolveResultDto;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.time.OffsetDateTime;
 
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
@@ -17,14 +19,19 @@ import br.com.walyson.secure_link.utils.FileUtils;
 import br.com.walyson.secure_link.domain.SecureLink;
 import br.com.walyson.secure_link.domain.enums.LinkType;
 import br.com.walyson.secure_link.domain.enums.AccessResult;
+import br.com.walyson.secure_link.infra.cache.SecureLinkMetadata;
+import br.com.walyson.secure_link.infra.cache.SecureLinkMetadataCache;
+import br.com.walyson.secure_link.infra.download.FileDownloadWriter;
+import br.com.walyson.secure_link.infra.filter.ShortCodeFilter;
+import br.com.walyson.secure_link.infra.metrics.ResolveLinkMetrics;
+import br.com.walyson.secure_link.infra.metrics.ResolveLinkMetrics.Stage;
 import br.com.walyson.secure_link.repository.SecureLinkRepository;
+import br.com.walyson.secure_link.security.AccessGrantSigner;
 import br.com.walyson.secure_link.service.ResolveLinkService;
 import br.com.walyson.secure_link.service.LinkAccessAuditService;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import io.micrometer.core.instrument.Counter;
-import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 
 import lombok.RequiredArgsConstructor;
@@ -37,92 +44,223 @@ public class ResolveLinkServiceImpl implements ResolveLinkService {
 
   private final FileUtils fileUtils;
   private final SecureLinkRepository repository;
-  private final MeterRegistry meterRegistry;
+  private final ResolveLinkMetrics metrics;
   private final PasswordEncoder passwordEncoder;
   private final LinkAccessAuditService auditService;
+  private final SecureLinkMetadataCache metadataCache;
+  private final AccessGrantSigner grantSigner;
+  private final ShortCodeFilter shortCodeFilter;
 
   @Override
   @Transactional
-  public ResolveResultDto resolve(String shortCode, String password, AccessContextDto context) {
+  public ResolveResultDto resolve(String shortCode, String password, String accessGrant, AccessContextDto context) {
 
-    Timer.Sample timer = Timer.start(meterRegistry);
+    Timer.Sample timer = metrics.startResolve();
 
     try {
       log.info("secure_link_resolve_attempt | shortCode={}", shortCode);
 
-      Counter.builder("secure_link_resolve_attempts_total")
-        .register(meterRegistry)
-        .increment();
+      SecureLinkMetadata metadata = lookup(shortCode, context);
 
-      SecureLink link = repository.findByShortCode(shortCode)
+      metrics.time(Stage.STATE_CHECK, () -> checkState(metadata, context));
+
+      String issuedGrant = metrics.time(Stage.PASSWORD, () -> checkPassword(metadata, password, accessGrant, context));
+
+      metrics.time(Stage.VIEW_COUNT, () -> registerView(shortCode, context));
+
+      log.info("secure_link_resolve_success | shortCode={}", shortCode);
+
+      metrics.recordSuccess();
+
+      audit(shortCode, AccessResult.SUCCESS, context);
+
+      // Downloads always carry a grant bound to the file, so the client can
+      // resume them. It still stands in for the password.
+      if (!metadata.isRedirect()) {
+        issuedGrant = grantSigner.issue(shortCode, fileBinding(metadata));
+      }
+
+      return toResult(metadata, issuedGrant);
+
+    } finally {
+      metrics.stopResolve(timer);
+    }
+  }
+
+  @Override
+  @Transactional
+  public ResolveResultDto inspect(String shortCode, String password, String accessGrant, AccessContextDto context) {
+    SecureLinkMetadata metadata = lookup(shortCode, context);
+
+    if (grantSigner.verify(accessGrant, shortCode)) {
+      checkNotRevoked(metadata, context);
+      return toResult(metadata, null);
+    }
+
+    checkState(metadata, context);
+    if (!metadata.isActive()) {
+      handleDenied(shortCode, AccessResult.EXPIRED, "expired", context);
+    }
+    return toResult(metadata, checkPassword(metadata, password, null, context));
+  }
+
+  // The grant must match the file still being served, and the link is read
+  // from the database rather than the cache, so a revocation or expiry on
+  // another replica applies at once. Only a link expired by the view that
+  // started this download can still be resumed.
+  @Override
+  @Transactional
+  public ResolveResultDto resume(String shortCode, String accessGrant, AccessContextDto context) {
+    SecureLinkMetadata metadata = lookup(shortCode, context);
+
+    if (metadata.isRedirect() || !grantSigner.verify(accessGrant, shortCode, fileBinding(metadata))) {
+      handleDenied(shortCode, AccessResult.GRANT_REQUIRED, "grant_required", HttpStatus.UNAUTHORIZED,
+        "Access grant required", context);
+    }
+
+    SecureLink link = metrics.time(Stage.STATE_CHECK, () -> checkCurrentState(shortCode, context));
+
+    if (link.getStatus() != metadata.status()) {
+      metadataCache.invalidate(shortCode);
+    }
+
+    log.debug("secure_link_resolve_resumed | shortCode={}", shortCode);
+
+    audit(shortCode, AccessResult.RESUMED, context);
+
+    return toResult(metadata, null);
+  }
+
+  private SecureLinkMetadata lookup(String shortCode, AccessContextDto context) {
+    if (!shortCodeFilter.mightExist(shortCode)) {
+      log.debug("secure_link_resolve_filtered | shortCode={}", shortCode);
+
+      metrics.recordFiltered();
+
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Link not found");
+    }
+
+    return metrics.time(Stage.DB_LOOKUP, () -> metadataCache.get(shortCode))
       .orElseThrow(() -> {
         log.warn("secure_link_resolve_denied | shortCode={} reason=NOT_FOUND", shortCode);
 
-        Counter.builder("secure_link_resolve_denied_total")
-          .tag("reason", "not_found")
-          .register(meterRegistry)
-          .increment();
+        metrics.recordDenied("not_found");
 
-        auditService.audit(shortCode, AccessResult.NOT_FOUND, context.ipAddress(), context.userAgent());
+        audit(shortCode, AccessResult.NOT_FOUND, context);
 
         throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Link not found");
       });
+  }
 
-      if (link.isRevoked()) {
-        handleDenied(link.getShortCode(), AccessResult.REVOKED, "revoked", context);
-      }
-      if (link.isExpired()) {
-        repository.save(link);
-        handleDenied(link.getShortCode(), AccessResult.EXPIRED, "expired", context);
-      }
-      if (link.hasReachedViewLimit()) {
-        link.expire();
-        repository.save(link);
-        handleDenied(link.getShortCode(), AccessResult.VIEW_LIMIT_REACHED, "view_limit_reached", context);
-      }
-      if (!link.isActive()) {
-        handleDenied(link.getShortCode(), AccessResult.UNEXPECTED_STATE, "inactive", context);
-      }
+  private ResolveResultDto toResult(SecureLinkMetadata metadata, String issuedGrant) {
+    if (metadata.isRedirect()) {
+      return new ResolveResultDto(LinkType.REDIRECT, metadata.targetUrl(), null, null, issuedGrant);
+    }
 
-      if (link.isPasswordProtected()) {
-        if (password == null || password.isBlank()) {
-          handleDenied(link.getShortCode(), AccessResult.PASSWORD_REQUIRED, "password_required", HttpStatus.UNAUTHORIZED, "Password required", context);
-        }
-        if (!passwordEncoder.matches(password, link.getPasswordHash())) {
-          handleDenied(link.getShortCode(), AccessResult.INVALID_PASSWORD, "invalid_password", HttpStatus.UNAUTHORIZED, "Invalid password", context);
-        }
-      }
+    boolean fileExists = metrics.time(Stage.FILE_CHECK, () ->
+      metadata.filePath() != null && Files.exists(Paths.get(metadata.filePath())));
 
-      link.incrementViewCount();
-      repository.save(link);
+    if (!fileExists) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found");
+    }
 
-      log.info("secure_link_resolve_success | shortCode={} viewCount={}", link.getShortCode(), link.getViewCount());
+    Resource fileUri = fileUtils.getResource(metadata.filePath());
+    return new ResolveResultDto(LinkType.DOWNLOAD, null, fileUri, metadata.originalFileName(), issuedGrant);
+  }
+
+  private void checkNotRevoked(SecureLinkMetadata metadata, AccessContextDto context) {
+    if (metadata.isRevoked()) {
+      handleDenied(metadata.shortCode(), AccessResult.REVOKED, "revoked", context);
+    }
+  }
 
-      Counter.builder("secure_link_resolve_success_total")
-        .register(meterRegistry)
-        .increment();
+  private SecureLink checkCurrentState(String shortCode, AccessContextDto context) {
+    SecureLink link = repository.findByShortCode(shortCode)
+      .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Link not found"));
 
-      auditService.audit(shortCode, AccessResult.SUCCESS, context.ipAddress(), context.userAgent());
+    if (link.isRevoked()) {
+      handleDenied(shortCode, AccessResult.REVOKED, "revoked", context);
+    }
+    if (link.isExpired()) {
+      repository.save(link);
+      handleDenied(shortCode, AccessResult.EXPIRED, "expired", context);
+    }
+    if (!link.isActive() && !link.hasReachedViewLimit()) {
+      handleDenied(shortCode, AccessResult.UNEXPECTED_STATE, "inactive", context);
+    }
+    return link;
+  }
 
-      if (link.getTargetUrl() != null && !link.getTargetUrl().isBlank()) {
-        return new ResolveResultDto(LinkType.REDIRECT, link.getTargetUrl(), null, null);
+  // ETag of the file as served; a missing file is a 404 either way.
+  private String fileBinding(SecureLinkMetadata metadata) {
+    try {
+      if (metadata.filePath() != null) {
+        return FileDownloadWriter.eTag(Paths.get(metadata.filePath()));
       }
+    } catch (IOException e) {
+      log.debug("secure_link_resolve_file_unreadable | shortCode={}", metadata.shortCode(), e);
+    }
+    throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found");
+  }
 
-      if (link.getFilePath() == null || !Files.exists(Paths.get(link.getFilePath()))) {
-        throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found");
+  private void checkState(SecureLinkMetadata metadata, AccessContextDto context) {
+    String shortCode = metadata.shortCode();
+
+    checkNotRevoked(metadata, context);
+    if (metadata.isExpired()) {
+      if (metadata.isActive()) {
+        repository.findByShortCode(shortCode).ifPresent(link -> {
+          link.expire();
+          repository.save(link);
+        });
+        metadataCache.invalidate(shortCode);
       }
+      handleDenied(shortCode, AccessResult.EXPIRED, "expired", context);
+    }
+  }
 
+  private String checkPassword(SecureLinkMetadata metadata, String password, String accessGrant, AccessContextDto context) {
+    String shortCode = metadata.shortCode();
 
-      Resource fileUri = fileUtils.getResource(link.getFilePath());
-      return new ResolveResultDto(LinkType.DOWNLOAD, null,fileUri, link.getOriginalFileName());
+    if (!metadata.passwordProtected() || grantSigner.verify(accessGrant, shortCode)) {
+      return null;
+    }
 
-    } finally {
-      timer.stop(
-        Timer.builder("secure_link_resolve_duration_seconds")
-        .description("Time spent resolving secure links")
-        .register(meterRegistry)
-      );
+    if (password == null || password.isBlank()) {
+      handleDenied(shortCode, AccessResult.PASSWORD_REQUIRED, "password_required", HttpStatus.UNAUTHORIZED, "Password required", context);
+    }
+    if (!passwordEncoder.matches(password, metadata.passwordHash())) {
+      handleDenied(shortCode, AccessResult.INVALID_PASSWORD, "invalid_password", HttpStatus.UNAUTHORIZED, "Invalid password", context);
     }
+
+    return grantSigner.issue(shortCode);
+  }
+
+  private void registerView(String shortCode, AccessContextDto context) {
+    if (repository.registerView(shortCode, OffsetDateTime.now()) == 0) {
+      handleRejectedView(shortCode, context);
+    }
+  }
+
+  private void handleRejectedView(String shortCode, AccessContextDto context) {
+    metadataCache.invalidate(shortCode);
+
+    repository.findByShortCode(shortCode).ifPresent(link -> {
+      if (link.isRevoked()) {
+        handleDenied(shortCode, AccessResult.REVOKED, "revoked", context);
+      }
+      if (link.isExpired()) {
+        repository.save(link);
+        handleDenied(shortCode, AccessResult.EXPIRED, "expired", context);
+      }
+      if (link.hasReachedViewLimit()) {
+        link.expire();
+        repository.save(link);
+        handleDenied(shortCode, AccessResult.VIEW_LIMIT_REACHED, "view_limit_reached", context);
+      }
+    });
+
+    handleDenied(shortCode, AccessResult.UNEXPECTED_STATE, "inactive", context);
   }
 
   private void handleDenied(String shortCode, AccessResult result, String reason,AccessContextDto context) {
@@ -132,11 +270,14 @@ public class ResolveLinkServiceImpl implements ResolveLinkService {
   private void handleDenied(String shortCode, AccessResult result, String reason, HttpStatus status, String message, AccessContextDto context) {
     log.warn("secure_link_resolve_denied | shortCode={} reason={}", shortCode, reason);
 
-    meterRegistry.counter("secure_link_resolve_denied_total", "reason", reason)
-      .increment();
+    metrics.recordDenied(reason);
 
-    auditService.audit(shortCode, result, context.ipAddress(), context.userAgent());
+    audit(shortCode, result, context);
 
     throw new ResponseStatusException(status, message);
   }
+
+  private void audit(String shortCode, AccessResult result, AccessContextDto context) {
+    metrics.time(Stage.AUDIT, () -> auditService.audit(shortCode, result, context.ipAddress(), context.userAgent()));
+  }
 }
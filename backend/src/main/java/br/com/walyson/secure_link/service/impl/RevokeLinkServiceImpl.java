@@ -1,24 +1,59 @@
 package br.com.walyson.secure_link.service.impl;
 
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import br.com.walyson.secure_link.config.LinkRevokeProperties;
 import br.com.walyson.secure_link.domain.SecureLink;
+import br.com.walyson.secure_link.dto.RevokeLinksRequestDto;
+import br.com.walyson.secure_link.dto.RevokeLinksResultDto;
+import br.com.walyson.secure_link.infra.cache.SecureLinkMetadataCache;
+import br.com.walyson.secure_link.infra.scheduler.LinkExpirationQueue;
 import br.com.walyson.secure_link.repository.SecureLinkRepository;
 import br.com.walyson.secure_link.service.RevokeLinkService;
 import io.micrometer.core.instrument.MeterRegistry;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class RevokeLinkServiceImpl implements RevokeLinkService {
 
+  private static final OffsetDateTime EPOCH = OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
   private final SecureLinkRepository repository;
   private final MeterRegistry meterRegistry;
+  private final SecureLinkMetadataCache metadataCache;
+  private final LinkExpirationQueue expirationQueue;
+  private final TransactionTemplate transactionTemplate;
+  private final LinkRevokeProperties properties;
+
+  public RevokeLinkServiceImpl(
+    SecureLinkRepository repository,
+    MeterRegistry meterRegistry,
+    SecureLinkMetadataCache metadataCache,
+    LinkExpirationQueue expirationQueue,
+    PlatformTransactionManager transactionManager,
+    LinkRevokeProperties properties
+  ) {
+    this.repository = repository;
+    this.meterRegistry = meterRegistry;
+    this.metadataCache = metadataCache;
+    this.expirationQueue = expirationQueue;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.properties = properties;
+  }
 
   @Override
   @Transactional
@@ -42,6 +77,8 @@ public class RevokeLinkServiceImpl implements RevokeLinkService {
 
     link.revoke();
     repository.save(link);
+    metadataCache.invalidate(shortCode);
+    expirationQueue.cancel(shortCode);
 
     log.info("secure_link_revoked | shortCode={}", shortCode);
 
@@ -49,4 +86,94 @@ public class RevokeLinkServiceImpl implements RevokeLinkService {
 
   }
 
+  // One UPDATE per chunk, each in its own short transaction like the
+  // expiration sweep; no entity is loaded. Chunks already committed stay
+  // revoked if a later one fails.
+  @Override
+  public RevokeLinksResultDto revokeAll(RevokeLinksRequestDto request) {
+    boolean byShortCodes = request.shortCodes() != null && !request.shortCodes().isEmpty();
+    boolean byCreation = request.createdFrom() != null || request.createdTo() != null;
+    if (byShortCodes == byCreation) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+        "Provide either shortCodes or a createdFrom/createdTo range");
+    }
+
+    long start = System.nanoTime();
+    OffsetDateTime now = OffsetDateTime.now();
+    RevokeLinksResultDto result = byShortCodes
+      ? revokeShortCodes(request.shortCodes(), now)
+      : revokeCreatedBetween(request.createdFrom(), request.createdTo(), now);
+
+    meterRegistry.counter("secure_link_revoked_total").increment(result.revoked());
+
+    log.info("secure_link_bulk_revoked | mode={} matched={} revoked={} notFound={} durationMs={}",
+      byShortCodes ? "SHORT_CODES" : "CREATED_AT",
+      result.matched(),
+      result.revoked(),
+      result.notFound(),
+      TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+    return result;
+  }
+
+  private RevokeLinksResultDto revokeShortCodes(List<String> requested, OffsetDateTime now) {
+    List<String> shortCodes = requested.stream()
+      .filter(Objects::nonNull)
+      .distinct()
+      .toList();
+    if (shortCodes.size() > properties.getMaxShortCodes()) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+        "At most " + properties.getMaxShortCodes() + " short codes per request");
+    }
+
+    int matched = 0;
+    int revoked = 0;
+    for (int from = 0; from < shortCodes.size(); from += properties.getChunkSize()) {
+      List<String> slice = shortCodes.subList(from, Math.min(from + properties.getChunkSize(), shortCodes.size()));
+      Chunk chunk = revokeChunk(() -> repository.findExistingShortCodes(slice), now);
+      matched += chunk.shortCodes().size();
+      revoked += chunk.revoked();
+    }
+    return new RevokeLinksResultDto(matched, revoked, shortCodes.size() - matched);
+  }
+
+  private RevokeLinksResultDto revokeCreatedBetween(OffsetDateTime createdFrom, OffsetDateTime createdTo,
+      OffsetDateTime now) {
+    OffsetDateTime from = createdFrom == null ? EPOCH : createdFrom;
+    OffsetDateTime to = createdTo == null ? now : createdTo;
+    if (!from.isBefore(to)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "createdFrom must be before createdTo");
+    }
+
+    PageRequest page = PageRequest.of(0, properties.getChunkSize());
+    int matched = 0;
+    int revoked = 0;
+    while (true) {
+      Chunk chunk = revokeChunk(() -> repository.findShortCodesToRevoke(from, to, page), now);
+      matched += chunk.shortCodes().size();
+      revoked += chunk.revoked();
+
+      // A chunk revoking nothing was revoked concurrently and would be read again.
+      if (chunk.shortCodes().size() < properties.getChunkSize() || chunk.revoked() == 0) {
+        break;
+      }
+    }
+    return new RevokeLinksResultDto(matched, revoked, 0);
+  }
+
+  private Chunk revokeChunk(Supplier<List<String>> select, OffsetDateTime now) {
+    Chunk chunk = transactionTemplate.execute(status -> {
+      List<String> shortCodes = select.get();
+      if (shortCodes.isEmpty()) {
+        return new Chunk(shortCodes, 0);
+      }
+      int revoked = repository.revokeByShortCodes(shortCodes, now);
+      metadataCache.invalidateAll(shortCodes);
+      return new Chunk(shortCodes, revoked);
+    });
+    chunk.shortCodes().forEach(expirationQueue::cancel);
+    return chunk;
+  }
+
+  private record Chunk(List<String> shortCodes, int revoked) {}
 }
@@ -1,35 +1,120 @@
 package br.com.walyson.secure_link.service.impl;
 
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import br.com.walyson.secure_link.domain.SecureLink;
+import br.com.walyson.secure_link.config.LinkExpirationProperties;
+import br.com.walyson.secure_link.infra.cache.SecureLinkMetadataCache;
 import br.com.walyson.secure_link.repository.SecureLinkRepository;
+import br.com.walyson.secure_link.repository.projection.ExpiringLinkProjection;
 import br.com.walyson.secure_link.service.SecureLinkExpirationService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class SecureLinkExpirationServiceImpl implements SecureLinkExpirationService {
 
+  private static final OffsetDateTime EPOCH = OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
   private final SecureLinkRepository repository;
+  private final SecureLinkMetadataCache metadataCache;
+  private final TransactionTemplate transactionTemplate;
+  private final int chunkSize;
+  private final DistributionSummary chunkRows;
+  private final Timer chunkDuration;
+
+  public SecureLinkExpirationServiceImpl(
+    SecureLinkRepository repository,
+    SecureLinkMetadataCache metadataCache,
+    PlatformTransactionManager transactionManager,
+    LinkExpirationProperties properties,
+    MeterRegistry meterRegistry
+  ) {
+    this.repository = repository;
+    this.metadataCache = metadataCache;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.chunkSize = properties.getChunkSize();
 
+    this.chunkRows = DistributionSummary.builder("secure_link_expiration_chunk_rows")
+      .description("Links expired per chunk")
+      .register(meterRegistry);
+    this.chunkDuration = Timer.builder("secure_link_expiration_chunk_duration")
+      .description("Time spent expiring one chunk of links")
+      .register(meterRegistry);
+  }
+
+  // Walks the due links by (expiresAt, shortCode) and expires them with one
+  // UPDATE per chunk, each in its own short transaction; no entity is loaded.
   @Override
-  @Transactional
   public int expireLinks() {
     OffsetDateTime now = OffsetDateTime.now();
-    
-    List<SecureLink> expiredLinks =
-    repository.findLinksToExpire(now);
-    
-    expiredLinks.forEach(link ->
-      link.expire());;
-    
-    repository.saveAll(expiredLinks);
-    
-    return expiredLinks.size();
+    ExpiringLinkProjection after = null;
+    int totalExpired = 0;
+
+    while (true) {
+      long start = System.nanoTime();
+      Chunk chunk = expireChunk(now, after);
+
+      if (chunk.shortCodes().isEmpty()) {
+        break;
+      }
+
+      long durationNanos = System.nanoTime() - start;
+      chunkRows.record(chunk.expired());
+      chunkDuration.record(durationNanos, TimeUnit.NANOSECONDS);
+      log.info("secure_link_expiration_chunk | rows={} durationMs={}",
+        chunk.expired(), TimeUnit.NANOSECONDS.toMillis(durationNanos));
+
+      totalExpired += chunk.expired();
+      after = chunk.last();
+
+      if (chunk.shortCodes().size() < chunkSize) {
+        break;
+      }
+    }
+
+    return totalExpired;
+  }
+
+  @Override
+  public int expire(List<String> shortCodes) {
+    if (shortCodes.isEmpty()) {
+      return 0;
+    }
+    OffsetDateTime now = OffsetDateTime.now();
+    Integer expired = transactionTemplate.execute(status -> {
+      int updated = repository.expireByShortCodes(shortCodes, now);
+      metadataCache.invalidateAll(shortCodes);
+      return updated;
+    });
+    return expired == null ? 0 : expired;
+  }
+
+  private Chunk expireChunk(OffsetDateTime now, ExpiringLinkProjection after) {
+    return transactionTemplate.execute(status -> {
+      List<ExpiringLinkProjection> links = repository.findLinksToExpire(now,
+        after == null ? EPOCH : after.getExpiresAt(),
+        after == null ? "" : after.getShortCode(),
+        PageRequest.of(0, chunkSize));
+      List<String> shortCodes = links.stream().map(ExpiringLinkProjection::getShortCode).toList();
+      if (shortCodes.isEmpty()) {
+        return new Chunk(shortCodes, null, 0);
+      }
+      int expired = repository.expireByShortCodes(shortCodes, now);
+      metadataCache.invalidateAll(shortCodes);
+      return new Chunk(shortCodes, links.getLast(), expired);
+    });
   }
+
+  private record Chunk(List<String> shortCodes, ExpiringLinkProjection last, int expired) {}
 }
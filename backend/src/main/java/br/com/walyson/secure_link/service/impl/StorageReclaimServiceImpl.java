@@ -0,0 +1,190 @@
+package br.com.walyson.secure_link.service.impl;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import br.com.walyson.secure_link.config.StorageProperties;
+import br.com.walyson.secure_link.domain.SecureLink;
+import br.com.walyson.secure_link.dto.StorageReclaimResultDto;
+import br.com.walyson.secure_link.infra.storage.BlobStore;
+import br.com.walyson.secure_link.repository.SecureLinkRepository;
+import br.com.walyson.secure_link.repository.StoredBlobRepository;
+import br.com.walyson.secure_link.service.StorageReclaimService;
+import br.com.walyson.secure_link.utils.FileUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class StorageReclaimServiceImpl implements StorageReclaimService {
+
+  private static final int SHARD_COUNT = 256;
+
+  private final SecureLinkRepository linkRepository;
+  private final StoredBlobRepository blobRepository;
+  private final BlobStore blobStore;
+  private final FileUtils fileUtils;
+  private final StorageProperties.Reclaim properties;
+  private final AtomicLong backlog = new AtomicLong();
+  private final AtomicInteger nextShard = new AtomicInteger();
+  private final Counter orphansFound;
+  private final Counter orphansDeleted;
+
+  public StorageReclaimServiceImpl(
+    SecureLinkRepository linkRepository,
+    StoredBlobRepository blobRepository,
+    BlobStore blobStore,
+    FileUtils fileUtils,
+    StorageProperties storageProperties,
+    MeterRegistry meterRegistry
+  ) {
+    this.linkRepository = linkRepository;
+    this.blobRepository = blobRepository;
+    this.blobStore = blobStore;
+    this.fileUtils = fileUtils;
+    this.properties = storageProperties.getReclaim();
+
+    Gauge.builder("secure_link_storage_reclaim_backlog", backlog, AtomicLong::get)
+      .description("Inactive links past the grace period whose files are not released yet")
+      .register(meterRegistry);
+    this.orphansFound = Counter.builder("secure_link_storage_orphan_files_total")
+      .description("Stored files referenced by no link and no blob")
+      .register(meterRegistry);
+    this.orphansDeleted = Counter.builder("secure_link_storage_orphan_files_deleted_total")
+      .description("Orphan files removed by the reclaim job")
+      .register(meterRegistry);
+  }
+
+  @Override
+  public StorageReclaimResultDto reclaim() {
+    if (!properties.isEnabled()) {
+      return new StorageReclaimResultDto(0, 0, 0, 0);
+    }
+
+    long deadline = System.nanoTime() + properties.getMaxRunDuration().toNanos();
+    OffsetDateTime cutoff = OffsetDateTime.now().minus(properties.getGracePeriod());
+
+    int released = releaseInactiveLinks(cutoff, deadline);
+    backlog.set(linkRepository.countLinksToReclaim(cutoff));
+
+    OrphanScan orphans = properties.isOrphanScanEnabled()
+      ? scanOrphans(cutoff.toInstant(), incomingCutoff(cutoff), deadline)
+      : OrphanScan.NONE;
+
+    return new StorageReclaimResultDto(released, backlog.get(), orphans.found(), orphans.deleted());
+  }
+
+  // Released links drop out of the query, so every batch reads the head of
+  // the backlog again. Deletes are paced to keep the storage volume usable
+  // for downloads while a large backlog drains.
+  private int releaseInactiveLinks(OffsetDateTime cutoff, long deadline) {
+    long pauseNanos = TimeUnit.SECONDS.toNanos(1) / properties.getMaxDeletesPerSecond();
+    int released = 0;
+
+    while (System.nanoTime() < deadline) {
+      List<SecureLink> batch = linkRepository.findLinksToReclaim(
+        cutoff, PageRequest.of(0, properties.getBatchSize()));
+      int releasedInBatch = 0;
+
+      for (SecureLink link : batch) {
+        if (System.nanoTime() >= deadline) {
+          return released;
+        }
+        try {
+          blobStore.release(link);
+          if (link.isBlobReleased()) {
+            releasedInBatch++;
+          }
+        } catch (RuntimeException e) {
+          log.error("secure_link_storage_reclaim_failed | linkId={}", link.getId(), e);
+        }
+        pause(pauseNanos);
+      }
+
+      released += releasedInBatch;
+      if (batch.size() < properties.getBatchSize() || releasedInBatch == 0) {
+        break;
+      }
+    }
+
+    return released;
+  }
+
+  // Staged files get their own, longer cutoff: an upload that streams for
+  // longer than the grace period must not lose its file before it is published.
+  private Instant incomingCutoff(OffsetDateTime cutoff) {
+    OffsetDateTime incoming = OffsetDateTime.now().minus(properties.getIncomingGracePeriod());
+    return incoming.isBefore(cutoff) ? incoming.toInstant() : cutoff.toInstant();
+  }
+
+  // Walks one shard per run plus the incoming area. Only files older than
+  // the grace period are considered, so a blob published moments before its
+  // row is committed is never mistaken for an orphan.
+  private OrphanScan scanOrphans(Instant cutoff, Instant incomingCutoff, long deadline) {
+    String shard = "%02x".formatted(Math.floorMod(nextShard.getAndIncrement(), SHARD_COUNT));
+    Map<String, Instant> candidates = new LinkedHashMap<>();
+
+    try {
+      fileUtils.listShard(shard).forEach(filePath -> candidates.put(filePath, cutoff));
+      fileUtils.listIncoming().forEach(filePath -> candidates.put(filePath, incomingCutoff));
+    } catch (IOException e) {
+      log.warn("secure_link_storage_orphan_scan_failed | shard={}", shard, e);
+      return OrphanScan.NONE;
+    }
+
+    int found = 0;
+    int deleted = 0;
+
+    for (Map.Entry<String, Instant> candidate : candidates.entrySet()) {
+      String filePath = candidate.getKey();
+      if (System.nanoTime() >= deadline) {
+        break;
+      }
+      if (!fileUtils.isOlderThan(filePath, candidate.getValue())
+          || linkRepository.existsByFilePath(filePath)
+          || blobRepository.existsByFilePath(filePath)) {
+        continue;
+      }
+
+      found++;
+      orphansFound.increment();
+
+      if (properties.isDeleteOrphans()) {
+        long size = fileUtils.sizeOf(filePath);
+        fileUtils.delete(filePath);
+        blobStore.recordReclaimedBytes(size);
+        orphansDeleted.increment();
+        deleted++;
+        log.info("secure_link_storage_orphan_deleted | filePath={} size={}", filePath, size);
+      } else {
+        log.warn("secure_link_storage_orphan_found | filePath={}", filePath);
+      }
+    }
+
+    return new OrphanScan(found, deleted);
+  }
+
+  private record OrphanScan(int found, int deleted) {
+    static final OrphanScan NONE = new OrphanScan(0, 0);
+  }
+
+  private static void pause(long nanos) {
+    try {
+      TimeUnit.NANOSECONDS.sleep(nanos);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
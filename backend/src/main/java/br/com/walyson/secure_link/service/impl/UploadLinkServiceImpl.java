@@ -5,15 +5,16 @@ import java.time.OffsetDateTime;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
 import io.micrometer.core.instrument.MeterRegistry;
 
 import br.com.walyson.secure_link.domain.SecureLink;
 import br.com.walyson.secure_link.dto.CreateLinkResponseDto;
-import br.com.walyson.secure_link.repository.SecureLinkRepository;
+import br.com.walyson.secure_link.dto.StoredFileDto;
+import br.com.walyson.secure_link.infra.filter.ShortCodeFilter;
+import br.com.walyson.secure_link.infra.scheduler.LinkExpirationQueue;
+import br.com.walyson.secure_link.infra.storage.BlobStore;
 import br.com.walyson.secure_link.service.UploadLinkService;
 import br.com.walyson.secure_link.utils.CodeUtils;
 import br.com.walyson.secure_link.utils.FileUtils;
@@ -29,45 +30,57 @@ public class UploadLinkServiceImpl implements UploadLinkService {
 
   private final CodeUtils codeUtils;
   private final FileUtils fileUtils;
-  private final SecureLinkRepository repository;
   private final MeterRegistry meterRegistry;
   private final PasswordEncoder passwordEncoder;
   private final LinkTtlProperties linkTtlProperties;
+  private final ShortCodeFilter shortCodeFilter;
+  private final BlobStore blobStore;
+  private final LinkExpirationQueue expirationQueue;
 
-  @Transactional
-  public CreateLinkResponseDto upload(MultipartFile file, OffsetDateTime expiresAt, Integer maxViews, String password) {
+  public CreateLinkResponseDto upload(StoredFileDto upload, OffsetDateTime expiresAt, Integer maxViews, String password) {
 
-    if(file.isEmpty()){
+    if(upload == null || upload.size() == 0){
+      if (upload != null) {
+        fileUtils.delete(upload.filePath());
+      }
       throw new ResponseStatusException(
         HttpStatus.BAD_REQUEST, "File is required"
       );
     }
 
-    String shortCode = codeUtils.generateUniqueShortCode();
-    String storedFilename = fileUtils.storeFile(file);
-    String filePath = fileUtils.generateFilePath(storedFilename);
+    StoredFileDto file = blobStore.store(upload);
+    String shortCode = codeUtils.generateShortCode();
 
     OffsetDateTime resolvedExpiresAt = resolveExpiresAt(expiresAt);
 
     SecureLink link = new SecureLink(
       shortCode,
-      filePath,
-      file.getOriginalFilename(),
+      file.filePath(),
+      file.originalFileName(),
       resolvedExpiresAt,
       maxViews
     );
+    link.recordFileDigest(file.size(), file.sha256());
 
     if (password != null && !password.isBlank()) {
       String hash = passwordEncoder.encode(password);
       link.protectWithPassword(hash);
     }
 
-    repository.save(link);
+    try {
+      codeUtils.persistWithUniqueShortCode(link);
+    } catch (RuntimeException e) {
+      blobStore.release(file.sha256());
+      throw e;
+    }
+    shortCodeFilter.register(link.getShortCode());
+    expirationQueue.schedule(link.getShortCode(), link.getExpiresAt());
 
     meterRegistry.counter("secure_link_created_total", "type", "FILE").increment();
 
-    log.info("secure_link_created | type=FILE shortCode={} expiresAt={} maxViews={} passwordProtected={}",
+    log.info("secure_link_created | type=FILE shortCode={} size={} expiresAt={} maxViews={} passwordProtected={}",
       link.getShortCode(),
+      link.getFileSize(),
       link.getExpiresAt(),
       link.getMaxViews(),
       link.isPasswordProtected()
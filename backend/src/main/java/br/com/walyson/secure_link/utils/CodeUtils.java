@@ -1,32 +1,97 @@
 package br.com.walyson.secure_link.utils;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
 
 import com.aventrix.jnanoid.jnanoid.NanoIdUtils;
 
 import org.springframework.beans.factory.annotation.Value;
+import br.com.walyson.secure_link.domain.SecureLink;
 import br.com.walyson.secure_link.repository.SecureLinkRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class CodeUtils {
 
+  private static final int MAX_ATTEMPTS = 5;
+
   @Value("${app.base-url}")
   private String baseUrl;
 
   private final SecureLinkRepository repository;
+  private final MeterRegistry meterRegistry;
+
+  public String generateShortCode() {
+    return NanoIdUtils.randomNanoId(
+      NanoIdUtils.DEFAULT_NUMBER_GENERATOR,
+      NanoIdUtils.DEFAULT_ALPHABET,
+      8
+    );
+  }
+
+  // The unique key on short_code is the only collision check: the insert is
+  // attempted directly and the code is regenerated only if that key rejects it.
+  public void persistWithUniqueShortCode(SecureLink link) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        repository.saveAndFlush(link);
+        return;
+      } catch (DataIntegrityViolationException e) {
+        if (attempt >= MAX_ATTEMPTS || !repository.existsByShortCode(link.getShortCode())) {
+          throw e;
+        }
+
+        log.warn("secure_link_short_code_collision | shortCode={} attempt={}", link.getShortCode(), attempt);
+        meterRegistry.counter("secure_link_short_code_collisions_total").increment();
+
+        link.setId(null);
+        link.setShortCode(generateShortCode());
+      }
+    }
+  }
+
+  // Bulk variant: the rows go out as JDBC batches (hibernate.jdbc.batch_size)
+  // in a single transaction. One collision rolls the whole batch back, so the
+  // taken codes are then looked up with one IN query and replaced.
+  public void persistAllWithUniqueShortCodes(List<SecureLink> links) {
+    replaceShortCodes(links, Set.of());
+    for (int attempt = 1; ; attempt++) {
+      try {
+        repository.saveAllAndFlush(links);
+        return;
+      } catch (DataIntegrityViolationException e) {
+        Set<String> taken = new HashSet<>(repository.findExistingShortCodes(
+          links.stream().map(SecureLink::getShortCode).toList()));
+        if (attempt >= MAX_ATTEMPTS || taken.isEmpty()) {
+          throw e;
+        }
+
+        log.warn("secure_link_short_code_collision | batchSize={} collisions={} attempt={}",
+          links.size(), taken.size(), attempt);
+        meterRegistry.counter("secure_link_short_code_collisions_total").increment(taken.size());
+
+        links.forEach(link -> link.setId(null));
+        replaceShortCodes(links, taken);
+      }
+    }
+  }
 
-  public String generateUniqueShortCode() {
-    String code;
-    do {
-      code = NanoIdUtils.randomNanoId(
-        NanoIdUtils.DEFAULT_NUMBER_GENERATOR,
-        NanoIdUtils.DEFAULT_ALPHABET,
-        8
-      );
-    } while (repository.existsByShortCode(code));
-    return code;
+  // Regenerates every code that is taken or repeated within the batch.
+  private void replaceShortCodes(List<SecureLink> links, Set<String> taken) {
+    Set<String> used = new HashSet<>(taken);
+    for (SecureLink link : links) {
+      while (!used.add(link.getShortCode())) {
+        link.setShortCode(generateShortCode());
+      }
+    }
   }
 
   public String generateAccessUrl(String shortCode) {
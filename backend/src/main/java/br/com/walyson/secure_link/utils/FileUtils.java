@@ -1,52 +1,154 @@
 package br.com.walyson.secure_link.utils;
 
 import java.io.IOException;
-import java.net.MalformedURLException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
-import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.server.ResponseStatusException;
 
+import br.com.walyson.secure_link.config.StorageProperties;
+import br.com.walyson.secure_link.dto.StoredFileDto;
+import br.com.walyson.secure_link.infra.storage.StorageBackend;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
 @Component
 public class FileUtils {
 
-  @Value("${app.storage.path}")
-  private String storagePath;
+  private static final String INCOMING_DIR = "incoming/";
+
+  private final String storagePath;
+  private final List<StorageBackend> backends;
+  private final StorageBackend activeBackend;
+
+  public FileUtils(StorageProperties properties, List<StorageBackend> backends) {
+    this.storagePath = properties.getPath();
+    this.backends = List.copyOf(backends);
+    this.activeBackend = backends.stream()
+      .filter(backend -> backend.name().equals(properties.getBackend()))
+      .findFirst()
+      .orElseThrow(() -> new IllegalStateException("Unknown storage backend: " + properties.getBackend()));
+  }
+
+  public StorageBackend activeBackend() {
+    return activeBackend;
+  }
+
+  public String locate(String key) {
+    return activeBackend.locate(key);
+  }
+
+  // Writes the stream into the storage volume's incoming area, hashing and
+  // counting bytes on the way; the file is later renamed, never copied.
+  public StoredFileDto storeStream(InputStream content, String originalFilename) throws IOException {
+    Path directory = Paths.get(storagePath, INCOMING_DIR);
+    Files.createDirectories(directory);
+
+    String filename = UUID.randomUUID() + getExtension(originalFilename);
+    Path target = directory.resolve(filename);
+    MessageDigest digest = sha256();
+
+    try (DigestInputStream input = new DigestInputStream(content, digest)) {
+      long size = Files.copy(input, target);
+      return new StoredFileDto(
+        target.toString(),
+        originalFilename,
+        size,
+        HexFormat.of().formatHex(digest.digest())
+      );
+    } catch (IOException | RuntimeException e) {
+      delete(target.toString());
+      throw e;
+    }
+  }
+
+  public String publish(String stagedPath, String key) throws IOException {
+    return activeBackend.store(Paths.get(stagedPath), key);
+  }
+
+  public boolean exists(String filePath) {
+    return Files.exists(Paths.get(filePath));
+  }
 
-  public String generateFilePath(String filename) {
-    return storagePath + filename;
+  public long sizeOf(String filePath) {
+    try {
+      return Files.size(Paths.get(filePath));
+    } catch (IOException e) {
+      return 0;
+    }
   }
 
-  public String storeFile(MultipartFile file) {
+  public boolean isOlderThan(String filePath, Instant cutoff) {
     try {
-      Files.createDirectories(Paths.get(storagePath));
-      String extension = getExtension(file.getOriginalFilename());
-      String filename = UUID.randomUUID() + extension;
+      return Files.getLastModifiedTime(Paths.get(filePath)).toInstant().isBefore(cutoff);
+    } catch (IOException e) {
+      return false;
+    }
+  }
 
-      Files.copy(file.getInputStream(), Paths.get(storagePath).resolve(filename));
-      return filename;
+  // Files under one shard of every backend; files left behind by an old
+  // backend are still on disk after a switch.
+  public List<String> listShard(String shard) throws IOException {
+    List<String> files = new ArrayList<>();
+    for (StorageBackend backend : backends) {
+      files.addAll(backend.list(shard));
+    }
+    return files;
+  }
+
+  // Staged uploads that were never published or discarded.
+  public List<String> listIncoming() throws IOException {
+    Path directory = Paths.get(storagePath, INCOMING_DIR);
+    if (!Files.isDirectory(directory)) {
+      return List.of();
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+        .filter(Files::isRegularFile)
+        .map(Path::toString)
+        .toList();
+    }
+  }
+
+  public void delete(String filePath) {
+    try {
+      Optional<StorageBackend> owner = backends.stream()
+        .filter(backend -> backend.owns(filePath))
+        .findFirst();
+      if (owner.isPresent()) {
+        owner.get().delete(filePath);
+      } else {
+        Files.deleteIfExists(Paths.get(filePath));
+      }
     } catch (IOException e) {
-      throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "File error", e);
+      log.warn("secure_link_file_delete_failed | filePath={}", filePath, e);
     }
   }
 
   public Resource getResource(String filePath) {
-    try{
     Path path = Paths.get(filePath);
-    return new UrlResource(path.toUri());
+    return new FileSystemResource(path);
+  }
 
-    } catch(MalformedURLException e){
-      throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "File path error", e);
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
     }
   }
 
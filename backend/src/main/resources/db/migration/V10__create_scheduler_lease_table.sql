@@ -0,0 +1,7 @@
+CREATE TABLE scheduler_lease (
+  name VARCHAR(100) NOT NULL,
+  owner VARCHAR(100) NOT NULL,
+  expires_at DATETIME(6) NOT NULL,
+  renewed_at DATETIME(6) NOT NULL,
+  PRIMARY KEY (name)
+);
@@ -0,0 +1,17 @@
+CREATE TABLE link_access_rollup_hourly (
+  bucket_start DATETIME(6) NOT NULL,
+  short_code VARCHAR(20) NOT NULL,
+  result VARCHAR(30) NOT NULL,
+  access_count BIGINT NOT NULL,
+  PRIMARY KEY (bucket_start, short_code, result),
+  INDEX idx_link_access_rollup_result_short_code (result, short_code)
+);
+
+CREATE TABLE rollup_watermark (
+  name VARCHAR(100) NOT NULL,
+  rolled_up_until DATETIME(6) NOT NULL,
+  PRIMARY KEY (name)
+);
+
+INSERT INTO rollup_watermark (name, rolled_up_until)
+VALUES ('link_access_hourly', '1970-01-01 00:00:00');
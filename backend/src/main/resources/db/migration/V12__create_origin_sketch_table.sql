@@ -0,0 +1,8 @@
+CREATE TABLE origin_sketch_daily (
+  bucket_date DATE NOT NULL,
+  node_id VARCHAR(100) NOT NULL,
+  registers VARBINARY(16384) NOT NULL,
+  updated_at DATETIME(6) NOT NULL,
+  PRIMARY KEY (bucket_date, node_id),
+  INDEX idx_origin_sketch_daily_updated_at (updated_at)
+);
@@ -0,0 +1,8 @@
+CREATE TABLE top_short_code_checkpoint (
+  result VARCHAR(30) NOT NULL,
+  node_id VARCHAR(100) NOT NULL,
+  summary MEDIUMBLOB NOT NULL,
+  updated_at DATETIME(6) NOT NULL,
+  PRIMARY KEY (result, node_id),
+  INDEX idx_top_short_code_checkpoint_updated_at (updated_at)
+);
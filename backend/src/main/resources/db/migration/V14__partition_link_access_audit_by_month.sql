@@ -0,0 +1,26 @@
+-- Monthly RANGE partitions on accessed_at so old months can be archived and
+-- dropped as a whole. MySQL requires the partitioning column in every unique
+-- key, hence the wider primary key. Bounds are UTC epoch seconds of the
+-- first instant of the following month; p_future stays empty because the
+-- retention job keeps creating months ahead of time.
+ALTER TABLE link_access_audit
+  DROP PRIMARY KEY,
+  ADD PRIMARY KEY (id, accessed_at);
+
+ALTER TABLE link_access_audit
+  PARTITION BY RANGE (UNIX_TIMESTAMP(accessed_at)) (
+    PARTITION p_history VALUES LESS THAN (1767225600),
+    PARTITION p202601 VALUES LESS THAN (1769904000),
+    PARTITION p202602 VALUES LESS THAN (1772323200),
+    PARTITION p202603 VALUES LESS THAN (1775001600),
+    PARTITION p202604 VALUES LESS THAN (1777593600),
+    PARTITION p202605 VALUES LESS THAN (1780272000),
+    PARTITION p202606 VALUES LESS THAN (1782864000),
+    PARTITION p202607 VALUES LESS THAN (1785542400),
+    PARTITION p202608 VALUES LESS THAN (1788220800),
+    PARTITION p202609 VALUES LESS THAN (1790812800),
+    PARTITION p202610 VALUES LESS THAN (1793491200),
+    PARTITION p202611 VALUES LESS THAN (1796083200),
+    PARTITION p202612 VALUES LESS THAN (1798761600),
+    PARTITION p_future VALUES LESS THAN MAXVALUE
+  );
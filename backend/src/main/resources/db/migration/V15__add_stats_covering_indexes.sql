@@ -0,0 +1,18 @@
+-- Covering indexes for the filtered /api/stats queries, so grouped reads no
+-- longer visit base rows. The single-column accessed_at and short_code
+-- indexes are prefixes of the new ones and go away.
+ALTER TABLE link_access_audit
+  ADD INDEX idx_link_access_audit_accessed_result_code (accessed_at, result, short_code),
+  ADD INDEX idx_link_access_audit_code_accessed_result (short_code, accessed_at, result),
+  DROP INDEX idx_link_access_audit_accessed_at,
+  DROP INDEX idx_link_access_audit_short_code;
+
+-- Time ranges on the rollups use the primary key (bucket_start first); these
+-- serve a short code filter and the per-result ranking.
+ALTER TABLE link_access_rollup_hourly
+  ADD INDEX idx_link_access_rollup_code_bucket (short_code, bucket_start, result, access_count),
+  ADD INDEX idx_link_access_rollup_result_code_bucket (result, short_code, bucket_start, access_count),
+  DROP INDEX idx_link_access_rollup_result_short_code;
+
+CREATE INDEX idx_secure_link_created_at_status
+ON secure_link (created_at, status);
@@ -0,0 +1,17 @@
+-- The expiration sweep walks the due links by (expires_at, short_code), so
+-- it reads only the ACTIVE rows already past expires_at instead of every
+-- ACTIVE row. The queue refill uses the same order. Both older indexes are
+-- prefixes of the new one.
+ALTER TABLE secure_link
+  ADD INDEX idx_secure_link_status_expires_at_short_code (status, expires_at, short_code),
+  DROP INDEX IDX_secure_link_status_short_code,
+  DROP INDEX IDX_secure_link_status_expires_at;
+
+-- The view update expires a link when it reaches max_views, so the sweep no
+-- longer looks for it. This clears rows left ACTIVE at the limit by older
+-- versions.
+UPDATE secure_link
+SET status = 'EXPIRED', status_changed_at = CURRENT_TIMESTAMP(6)
+WHERE status = 'ACTIVE'
+AND max_views IS NOT NULL
+AND view_count >= max_views;
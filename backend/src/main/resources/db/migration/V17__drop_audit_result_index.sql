@@ -0,0 +1,5 @@
+-- Completes V15: every audit query filtering on result also bounds
+-- accessed_at and is served by (accessed_at, result, short_code), so the
+-- single-column result index from V5 only slows down inserts.
+ALTER TABLE link_access_audit
+  DROP INDEX idx_link_access_audit_result;
@@ -0,0 +1,3 @@
+ALTER TABLE secure_link
+ADD COLUMN file_size BIGINT,
+ADD COLUMN file_sha256 CHAR(64);
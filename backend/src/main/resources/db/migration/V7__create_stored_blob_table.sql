@@ -0,0 +1,14 @@
+CREATE TABLE stored_blob (
+  sha256 CHAR(64) NOT NULL,
+  file_path VARCHAR(500) NOT NULL,
+  size BIGINT NOT NULL,
+  ref_count INT NOT NULL,
+  created_at DATETIME(6) NOT NULL,
+  PRIMARY KEY (sha256)
+);
+
+ALTER TABLE secure_link
+ADD COLUMN blob_released BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE INDEX IDX_secure_link_blob_release
+ON secure_link (blob_released, status);
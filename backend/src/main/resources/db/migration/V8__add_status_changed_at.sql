@@ -0,0 +1,15 @@
+ALTER TABLE secure_link
+ADD COLUMN status_changed_at DATETIME(6) DEFAULT NULL;
+
+UPDATE secure_link
+SET status_changed_at = CURRENT_TIMESTAMP(6)
+WHERE status <> 'ACTIVE';
+
+CREATE INDEX IDX_secure_link_reclaim
+ON secure_link (blob_released, status_changed_at);
+
+CREATE INDEX IDX_secure_link_file_path
+ON secure_link (file_path);
+
+CREATE INDEX IDX_stored_blob_file_path
+ON stored_blob (file_path);
@@ -0,0 +1,2 @@
+CREATE INDEX IDX_secure_link_status_short_code
+ON secure_link (status, short_code);
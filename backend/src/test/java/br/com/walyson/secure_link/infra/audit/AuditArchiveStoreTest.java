@@ -0,0 +1,96 @@
+package br.com.walyson.secure_link.infra.audit;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import br.com.walyson.secure_link.config.AuditRetentionProperties;
+import br.com.walyson.secure_link.domain.LinkAccessAudit;
+import br.com.walyson.secure_link.domain.enums.AccessResult;
+
+class AuditArchiveStoreTest {
+
+  @TempDir
+  Path archiveDir;
+
+  private AuditArchiveStore store;
+
+  @BeforeEach
+  void setUp() {
+    AuditRetentionProperties properties = new AuditRetentionProperties();
+    properties.setArchivePath(archiveDir.toString());
+    store = new AuditArchiveStore(properties);
+  }
+
+  @Test
+  @DisplayName("Deve arquivar a partição compactada e ler de volta os IPs de origem")
+  void shouldArchivePartitionAndReadOrigins() throws Exception {
+    long written = store.write("p202601", Stream.of(
+      audit("10.0.0.1", "curl/8.0"),
+      audit(null, "Mozilla/5.0"),
+      audit("10.0.0.2", "x\",\"ipAddress\":\"evil\n\\")));
+
+    List<String> origins = new ArrayList<>();
+    store.forEachIpAddress(origins::add);
+
+    assertEquals(3, written);
+    assertEquals(List.of("10.0.0.1", "10.0.0.2"), origins);
+    assertEquals(List.of(archiveDir.resolve("link_access_audit-p202601.ndjson.gz")), store.archives());
+    try (Stream<Path> files = Files.list(archiveDir)) {
+      assertEquals(1, files.count());
+    }
+  }
+
+  @Test
+  @DisplayName("Deve ler só as origens do link e do período pedidos")
+  void shouldReadOriginsOfWindowAndLink() throws Exception {
+    store.write("p202601", Stream.of(
+      audit("10.0.0.1", "curl/8.0"),
+      audit("10.0.0.2", "curl/8.0", "other123", "2026-01-15T10:00:00Z"),
+      audit("10.0.0.3", "curl/8.0", "abc12345", "2026-01-20T10:00:00Z")));
+    store.write("p202603", Stream.of(audit("10.0.0.4", "curl/8.0", "abc12345", "2026-03-02T10:00:00Z")));
+
+    OffsetDateTime from = OffsetDateTime.parse("2026-01-10T00:00:00Z");
+    OffsetDateTime to = OffsetDateTime.parse("2026-01-16T00:00:00Z");
+    List<String> origins = new ArrayList<>();
+    store.forEachIpAddress(from, to, "abc12345", origins::add);
+
+    assertEquals(List.of("10.0.0.1"), origins);
+    assertEquals(List.of(archiveDir.resolve("link_access_audit-p202601.ndjson.gz")), store.archives(from, to));
+  }
+
+  @Test
+  @DisplayName("Deve escapar os campos de texto livre no NDJSON")
+  void shouldEscapeFreeText() {
+    String json = AuditArchiveStore.toJson(audit("::1", "agent \"quoted\"\t\u0001"));
+
+    assertTrue(json.contains("\"userAgent\":\"agent \\\"quoted\\\"\\t\\u0001\""), json);
+    assertEquals("::1", AuditArchiveStore.ipAddressOf(json));
+  }
+
+  private static LinkAccessAudit audit(String ipAddress, String userAgent) {
+    return audit(ipAddress, userAgent, "abc12345", "2026-01-15T10:00:00Z");
+  }
+
+  private static LinkAccessAudit audit(String ipAddress, String userAgent, String shortCode, String accessedAt) {
+    return LinkAccessAudit.builder()
+      .id(UUID.randomUUID())
+      .shortCode(shortCode)
+      .result(AccessResult.SUCCESS)
+      .ipAddress(ipAddress)
+      .userAgent(userAgent)
+      .accessedAt(OffsetDateTime.parse(accessedAt))
+      .build();
+  }
+}
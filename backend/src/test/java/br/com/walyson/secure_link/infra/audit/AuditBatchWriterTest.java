@@ -0,0 +1,111 @@
+package br.com.walyson.secure_link.infra.audit;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.com.walyson.secure_link.config.AuditWriterProperties;
+import br.com.walyson.secure_link.config.AuditWriterProperties.OverflowPolicy;
+import br.com.walyson.secure_link.domain.LinkAccessAudit;
+import br.com.walyson.secure_link.domain.enums.AccessResult;
+import br.com.walyson.secure_link.repository.LinkAccessAuditRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class AuditBatchWriterTest {
+
+  @Mock
+  private LinkAccessAuditRepository repository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private MeterRegistry meterRegistry;
+  private AuditWriterProperties properties;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+
+    properties = new AuditWriterProperties();
+    properties.setCapacity(2);
+    properties.setBatchSize(10);
+    properties.setFlushInterval(Duration.ofMinutes(1));
+  }
+
+  @Test
+  @DisplayName("Deve gravar auditorias pendentes em lote ao encerrar")
+  @SuppressWarnings("unchecked")
+  void shouldFlushPendingAuditsOnStop() {
+    AuditBatchWriter writer = new AuditBatchWriter(repository, transactionManager, properties, meterRegistry, true);
+    writer.start();
+
+    writer.submit(audit("a1"));
+    writer.submit(audit("a2"));
+    writer.stop();
+
+    ArgumentCaptor<List<LinkAccessAudit>> captor = ArgumentCaptor.forClass(List.class);
+    verify(repository, atLeastOnce()).saveAll(captor.capture());
+
+    long persisted = captor.getAllValues().stream().mapToLong(List::size).sum();
+    assertEquals(2, persisted);
+    assertFalse(writer.isRunning());
+  }
+
+  @Test
+  @DisplayName("Deve descartar e contabilizar auditoria quando a fila estiver cheia")
+  void shouldDropWhenQueueIsFull() {
+    properties.setOverflowPolicy(OverflowPolicy.DROP);
+    AuditBatchWriter writer = new AuditBatchWriter(repository, transactionManager, properties, meterRegistry, false);
+
+    writer.submit(audit("a1"));
+    writer.submit(audit("a2"));
+    writer.submit(audit("a3"));
+
+    assertEquals(1.0, meterRegistry.get("secure_link_audit_dropped_total").counter().count());
+    assertEquals(2.0, meterRegistry.get("secure_link_audit_queue_depth").gauge().value());
+    verify(repository, never()).saveAll(any());
+  }
+
+  @Test
+  @DisplayName("Deve gravar na thread chamadora quando a fila estiver cheia e a política for SYNC")
+  void shouldWriteSynchronouslyWhenQueueIsFull() {
+    properties.setOverflowPolicy(OverflowPolicy.SYNC);
+    AuditBatchWriter writer = new AuditBatchWriter(repository, transactionManager, properties, meterRegistry, false);
+
+    writer.submit(audit("a1"));
+    writer.submit(audit("a2"));
+
+    LinkAccessAudit overflow = audit("a3");
+    writer.submit(overflow);
+
+    verify(repository).saveAll(List.of(overflow));
+    assertEquals(1.0, meterRegistry.get("secure_link_audit_sync_fallback_total").counter().count());
+  }
+
+  private LinkAccessAudit audit(String shortCode) {
+    return LinkAccessAudit.builder()
+      .shortCode(shortCode)
+      .result(AccessResult.SUCCESS)
+      .ipAddress("127.0.0.1")
+      .userAgent("JUnit")
+      .accessedAt(OffsetDateTime.now())
+      .build();
+  }
+}
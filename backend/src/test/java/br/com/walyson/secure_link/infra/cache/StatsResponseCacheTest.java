@@ -0,0 +1,123 @@
+package br.com.walyson.secure_link.infra.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import br.com.walyson.secure_link.config.StatsCacheProperties;
+import br.com.walyson.secure_link.dto.stats.LinkStatusStatsDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class StatsResponseCacheTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private StatsResponseCache cache;
+
+  @BeforeEach
+  void setUp() {
+    StatsCacheProperties properties = new StatsCacheProperties();
+    properties.setTtl(Duration.ofMinutes(1));
+    meterRegistry = new SimpleMeterRegistry();
+    cache = new StatsResponseCache(properties, meterRegistry);
+  }
+
+  @Test
+  @DisplayName("Deve reutilizar a resposta memorizada e derivar o ETag do conteúdo")
+  void shouldMemoizeAndTagByContent() {
+    AtomicInteger calls = new AtomicInteger();
+
+    StatsResponseCache.Snapshot<LinkStatusStatsDto> first = cache.get("links|a", () -> {
+      calls.incrementAndGet();
+      return new LinkStatusStatsDto(1, 2, 3);
+    });
+    StatsResponseCache.Snapshot<LinkStatusStatsDto> second = cache.get("links|a", () -> {
+      calls.incrementAndGet();
+      return new LinkStatusStatsDto(9, 9, 9);
+    });
+    StatsResponseCache.Snapshot<LinkStatusStatsDto> equal =
+      cache.get("links|b", () -> new LinkStatusStatsDto(1, 2, 3));
+    StatsResponseCache.Snapshot<LinkStatusStatsDto> other =
+      cache.get("links|c", () -> new LinkStatusStatsDto(1, 2, 4));
+
+    assertEquals(1, calls.get());
+    assertSame(first, second);
+    assertEquals(first.eTag(), equal.eTag());
+    assertNotEquals(first.eTag(), other.eTag());
+    assertTrue(first.eTag().startsWith("\"") && first.eTag().endsWith("\""));
+  }
+
+  @Test
+  @DisplayName("Requisições idênticas simultâneas devem compartilhar uma única consulta")
+  void shouldCoalesceConcurrentMisses() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>();
+    List<StatsResponseCache.Snapshot<LinkStatusStatsDto>> results = new ArrayList<>();
+
+    for (int i = 0; i < 8; i++) {
+      threads.add(Thread.ofVirtual().start(() -> {
+        StatsResponseCache.Snapshot<LinkStatusStatsDto> snapshot = cache.get("links|a", () -> {
+          calls.incrementAndGet();
+          await(release);
+          return new LinkStatusStatsDto(1, 2, 3);
+        });
+        synchronized (results) {
+          results.add(snapshot);
+        }
+      }));
+    }
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (coalesced() < 7 && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    release.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals(1, calls.get());
+    assertEquals(7, coalesced());
+    assertEquals(8, results.size());
+    results.forEach(snapshot -> assertSame(results.get(0), snapshot));
+  }
+
+  @Test
+  @DisplayName("Não deve memorizar falhas")
+  void shouldNotCacheFailures() {
+    ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+      () -> cache.get("top|x", () -> {
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+      }));
+    assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+
+    StatsResponseCache.Snapshot<String> snapshot = cache.get("top|x", () -> "ok");
+
+    assertEquals("ok", snapshot.body());
+  }
+
+  private double coalesced() {
+    return meterRegistry.get("secure_link_stats_cache_coalesced_total").counter().count();
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+}
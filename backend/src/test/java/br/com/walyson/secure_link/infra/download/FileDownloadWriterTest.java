@@ -0,0 +1,122 @@
+package br.com.walyson.secure_link.infra.download;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class FileDownloadWriterTest {
+
+  @TempDir
+  Path tempDir;
+
+  private Path file;
+  private FileDownloadWriter writer;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    file = tempDir.resolve("report.txt");
+    Files.writeString(file, "0123456789", StandardCharsets.UTF_8);
+    writer = new FileDownloadWriter();
+  }
+
+  @Test
+  @DisplayName("Deve enviar o arquivo completo com Content-Length quando não houver Range")
+  void shouldWriteWholeFile() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/l/abc");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    writer.write(file, "report.txt", request, response);
+
+    assertEquals(200, response.getStatus());
+    assertEquals(10, response.getContentLengthLong());
+    assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+    assertEquals("0123456789", response.getContentAsString());
+  }
+
+  @Test
+  @DisplayName("Deve responder 206 com o trecho solicitado em Range")
+  void shouldWritePartialContent() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/l/abc");
+    request.addHeader(HttpHeaders.RANGE, "bytes=4-");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    writer.write(file, "report.txt", request, response);
+
+    assertEquals(206, response.getStatus());
+    assertEquals("bytes 4-9/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    assertEquals(6, response.getContentLengthLong());
+    assertEquals("456789", response.getContentAsString());
+  }
+
+  @Test
+  @DisplayName("Deve ignorar Range quando If-Range não corresponder ao ETag atual")
+  void shouldIgnoreRangeWhenIfRangeDoesNotMatch() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/l/abc");
+    request.addHeader(HttpHeaders.RANGE, "bytes=0-3");
+    request.addHeader(HttpHeaders.IF_RANGE, "\"stale\"");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    writer.write(file, "report.txt", request, response);
+
+    assertEquals(200, response.getStatus());
+    assertEquals("0123456789", response.getContentAsString());
+  }
+
+  @Test
+  @DisplayName("Deve honrar Range quando If-Range corresponder ao ETag atual")
+  void shouldHonourRangeWhenIfRangeMatches() throws Exception {
+    MockHttpServletResponse first = new MockHttpServletResponse();
+    writer.write(file, "report.txt", new MockHttpServletRequest("GET", "/l/abc"), first);
+
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/l/abc");
+    request.addHeader(HttpHeaders.RANGE, "bytes=0-3");
+    request.addHeader(HttpHeaders.IF_RANGE, first.getHeader(HttpHeaders.ETAG));
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    writer.write(file, "report.txt", request, response);
+
+    assertEquals(206, response.getStatus());
+    assertEquals("0123", response.getContentAsString());
+  }
+
+  @Test
+  @DisplayName("Deve responder 416 quando o Range estiver fora do arquivo")
+  void shouldRejectUnsatisfiableRange() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/l/abc");
+    request.addHeader(HttpHeaders.RANGE, "bytes=50-60");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    writer.write(file, "report.txt", request, response);
+
+    assertEquals(416, response.getStatus());
+    assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+  }
+
+  @Test
+  @DisplayName("Deve delegar ao sendfile do conector quando suportado")
+  void shouldDelegateToSendfileWhenSupported() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/l/abc");
+    request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+    request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    writer.write(file, "report.txt", request, response);
+
+    assertEquals(206, response.getStatus());
+    assertEquals(file.toRealPath().toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+    assertEquals(2L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+    assertEquals(6L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+    assertEquals(0, response.getContentAsByteArray().length);
+  }
+}
@@ -0,0 +1,53 @@
+package br.com.walyson.secure_link.infra.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShortCodeBloomFilterTest {
+
+  @Test
+  @DisplayName("Nunca deve negar um código registrado")
+  void shouldHaveNoFalseNegatives() {
+    ShortCodeBloomFilter filter = new ShortCodeBloomFilter(10_000, 0.01);
+
+    List<String> codes = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      codes.add("code-" + i);
+    }
+    codes.forEach(filter::put);
+
+    codes.forEach(code -> assertTrue(filter.mightContain(code), code));
+  }
+
+  @Test
+  @DisplayName("Deve manter a taxa de falso positivo próxima da configurada")
+  void shouldKeepFalsePositiveRateNearTarget() {
+    ShortCodeBloomFilter filter = new ShortCodeBloomFilter(10_000, 0.01);
+
+    for (int i = 0; i < 10_000; i++) {
+      filter.put("code-" + i);
+    }
+
+    int falsePositives = 0;
+    for (int i = 0; i < 100_000; i++) {
+      if (filter.mightContain("guess-" + i)) {
+        falsePositives++;
+      }
+    }
+
+    assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+  }
+
+  @Test
+  @DisplayName("Filtro vazio deve negar qualquer código")
+  void shouldRejectEverythingWhenEmpty() {
+    ShortCodeBloomFilter filter = new ShortCodeBloomFilter(1_000, 0.01);
+
+    assertFalse(filter.mightContain("abc12345"));
+  }
+}
@@ -0,0 +1,73 @@
+package br.com.walyson.secure_link.infra.filter;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import br.com.walyson.secure_link.config.LinkFilterProperties;
+import br.com.walyson.secure_link.repository.SecureLinkRepository;
+import br.com.walyson.secure_link.repository.projection.CreatedShortCodeProjection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ShortCodeFilterTest {
+
+  private SecureLinkRepository repository;
+  private ShortCodeFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    repository = mock(SecureLinkRepository.class);
+    when(repository.findShortCodesAfter(any(), any())).thenReturn(List.of("local01"));
+
+    LinkFilterProperties properties = new LinkFilterProperties();
+    properties.setExpectedInsertions(1_000);
+    filter = new ShortCodeFilter(repository, properties, new SimpleMeterRegistry());
+  }
+
+  @Test
+  @DisplayName("Deve consultar o banco para códigos desconhecidos até a primeira sincronização")
+  void shouldLetUnknownCodesThroughUntilSynced() {
+    filter.rebuild();
+
+    assertTrue(filter.mightExist("remote01"));
+
+    when(repository.findShortCodesCreatedSince(any(), eq(""), any())).thenReturn(List.of());
+    filter.sync();
+
+    assertTrue(filter.mightExist("local01"));
+    assertFalse(filter.mightExist("remote01"));
+  }
+
+  @Test
+  @DisplayName("Deve reconhecer códigos criados em outra réplica após a sincronização")
+  void shouldPickUpCodesCreatedElsewhere() {
+    filter.rebuild();
+
+    OffsetDateTime createdAt = OffsetDateTime.now();
+    when(repository.findShortCodesCreatedSince(any(), eq(""), any()))
+      .thenReturn(List.of(new Row("remote01", createdAt), new Row("local01", createdAt)));
+    filter.sync();
+
+    assertTrue(filter.mightExist("remote01"));
+    assertTrue(filter.mightExist("local01"));
+  }
+
+  @Test
+  @DisplayName("Não deve sincronizar antes da carga inicial")
+  void shouldNotSyncBeforeRebuild() {
+    filter.sync();
+
+    verify(repository, never()).findShortCodesCreatedSince(any(), any(), any());
+    assertTrue(filter.mightExist("remote01"));
+  }
+
+  private record Row(String getShortCode, OffsetDateTime getCreatedAt) implements CreatedShortCodeProjection {}
+}
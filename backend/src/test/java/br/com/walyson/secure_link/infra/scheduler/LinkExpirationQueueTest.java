@@ -0,0 +1,120 @@
+package br.com.walyson.secure_link.infra.scheduler;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import br.com.walyson.secure_link.config.LinkExpirationProperties;
+import br.com.walyson.secure_link.repository.SecureLinkRepository;
+import br.com.walyson.secure_link.repository.projection.ExpiringLinkProjection;
+import br.com.walyson.secure_link.service.SecureLinkExpirationService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class LinkExpirationQueueTest {
+
+  @Mock
+  private SecureLinkRepository repository;
+
+  @Mock
+  private SecureLinkExpirationService expirationService;
+
+  private MeterRegistry meterRegistry;
+  private LinkExpirationQueue queue;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    queue = new LinkExpirationQueue(repository, expirationService, new LinkExpirationProperties(),
+        meterRegistry, false);
+  }
+
+  @Test
+  @DisplayName("Deve expirar links carregados do banco assim que vencerem")
+  void shouldExpireLoadedLinksWhenDue() throws Exception {
+    ExpiringLinkProjection due = expiring("abc123", OffsetDateTime.now().plusNanos(20_000_000));
+    ExpiringLinkProjection later = expiring("def456", OffsetDateTime.now().plusMinutes(30));
+    when(repository.findExpiringBetween(any(), any(), any(), any())).thenReturn(List.of(due, later));
+    when(expirationService.expire(List.of("abc123"))).thenReturn(1);
+
+    queue.refill();
+    Thread.sleep(50);
+
+    assertEquals(1, queue.expireDue());
+    verify(expirationService, never()).expire(List.of("def456"));
+  }
+
+  @Test
+  @DisplayName("Não deve expirar pela fila um link revogado")
+  void shouldSkipCancelledLinks() {
+    when(repository.findExpiringBetween(any(), any(), any(), any())).thenReturn(List.of());
+    queue.refill();
+
+    queue.schedule("abc123", OffsetDateTime.now().minusSeconds(1));
+    queue.cancel("abc123");
+
+    assertEquals(0, queue.expireDue());
+    verifyNoInteractions(expirationService);
+  }
+
+  @Test
+  @DisplayName("Deve ignorar links que vencem após o horizonte carregado")
+  void shouldIgnoreLinksBeyondHorizon() {
+    when(repository.findExpiringBetween(any(), any(), any(), any())).thenReturn(List.of());
+    queue.refill();
+
+    queue.schedule("abc123", OffsetDateTime.now().plusDays(2));
+
+    assertEquals(0.0, meterRegistry.get("secure_link_expiration_queue_size").gauge().value());
+    assertEquals(0, queue.expireDue());
+    verifyNoInteractions(expirationService);
+  }
+
+  @Test
+  @DisplayName("Deve retomar a carga após o último código quando a página parar em um empate")
+  void shouldResumeRefillAfterTiedExpirations() {
+    LinkExpirationProperties properties = new LinkExpirationProperties();
+    properties.getQueue().setCapacity(2);
+    MeterRegistry registry = new SimpleMeterRegistry();
+    queue = new LinkExpirationQueue(repository, expirationService, properties, registry, false);
+
+    OffsetDateTime tie = OffsetDateTime.now().plusMinutes(10);
+    when(repository.findExpiringBetween(any(), isNull(), any(), any()))
+        .thenReturn(List.of(expiring("aaa111", tie), expiring("bbb222", tie)));
+    when(repository.findExpiringBetween(eq(tie), eq("bbb222"), any(), any()))
+        .thenReturn(List.of(expiring("ccc333", tie)));
+
+    queue.refill();
+    queue.cancel("aaa111");
+    queue.refill();
+
+    verify(repository).findExpiringBetween(eq(tie), eq("bbb222"), any(), any());
+    assertEquals(2.0, registry.get("secure_link_expiration_queue_size").gauge().value());
+  }
+
+  private static ExpiringLinkProjection expiring(String shortCode, OffsetDateTime expiresAt) {
+    return new ExpiringLinkProjection() {
+      @Override
+      public String getShortCode() {
+        return shortCode;
+      }
+
+      @Override
+      public OffsetDateTime getExpiresAt() {
+        return expiresAt;
+      }
+    };
+  }
+}
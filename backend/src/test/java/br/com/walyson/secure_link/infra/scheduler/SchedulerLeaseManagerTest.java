@@ -0,0 +1,89 @@
+package br.com.walyson.secure_link.infra.scheduler;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.com.walyson.secure_link.config.SchedulerLeaseProperties;
+import br.com.walyson.secure_link.repository.SchedulerLeaseRepository;
+
+@ExtendWith(MockitoExtension.class)
+class SchedulerLeaseManagerTest {
+
+  private static final String LEASE = "link-expiration";
+
+  @Mock
+  private SchedulerLeaseRepository repository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private SchedulerLeaseProperties properties;
+  private SchedulerLeaseManager leaseManager;
+
+  @BeforeEach
+  void setUp() {
+    properties = new SchedulerLeaseProperties();
+    properties.setNodeId("node-a");
+    leaseManager = new SchedulerLeaseManager(repository, properties, transactionManager);
+  }
+
+  @Test
+  @DisplayName("Deve renovar o lease quando este nó já for o dono ou o lease tiver vencido")
+  void shouldRenewLease() {
+    when(repository.acquire(eq(LEASE), eq("node-a"), any(), any())).thenReturn(1);
+
+    assertTrue(leaseManager.tryAcquire(LEASE));
+    verify(repository, never()).insert(any(), any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("Deve criar o lease quando ainda não existir")
+  void shouldCreateMissingLease() {
+    when(repository.acquire(eq(LEASE), eq("node-a"), any(), any())).thenReturn(0);
+    when(repository.existsById(LEASE)).thenReturn(false);
+
+    assertTrue(leaseManager.tryAcquire(LEASE));
+    verify(repository).insert(eq(LEASE), eq("node-a"), any(), any());
+  }
+
+  @Test
+  @DisplayName("Não deve executar quando outro nó detiver o lease")
+  void shouldStandByWhenAnotherNodeHoldsLease() {
+    when(repository.acquire(eq(LEASE), eq("node-a"), any(), any())).thenReturn(0);
+    when(repository.existsById(LEASE)).thenReturn(true);
+
+    assertFalse(leaseManager.tryAcquire(LEASE));
+    verify(repository, never()).insert(any(), any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("Deve perder a disputa quando outro nó criar o lease primeiro")
+  void shouldLoseInsertRace() {
+    when(repository.acquire(eq(LEASE), eq("node-a"), any(), any())).thenReturn(0);
+    when(repository.existsById(LEASE)).thenReturn(false);
+    doThrow(new DataIntegrityViolationException("duplicate"))
+        .when(repository).insert(eq(LEASE), eq("node-a"), any(), any());
+
+    assertFalse(leaseManager.tryAcquire(LEASE));
+  }
+
+  @Test
+  @DisplayName("Deve sempre executar quando o lease estiver desligado")
+  void shouldAlwaysRunWhenLeaseDisabled() {
+    properties.setEnabled(false);
+
+    assertTrue(leaseManager.tryAcquire(LEASE));
+    verifyNoInteractions(repository);
+  }
+}
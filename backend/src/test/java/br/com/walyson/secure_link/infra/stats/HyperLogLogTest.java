@@ -0,0 +1,56 @@
+package br.com.walyson.secure_link.infra.stats;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+  @Test
+  @DisplayName("Deve estimar a cardinalidade com erro abaixo de 3%")
+  void shouldEstimateCardinality() {
+    HyperLogLog sketch = new HyperLogLog(HyperLogLog.DEFAULT_PRECISION);
+
+    for (int i = 0; i < 100_000; i++) {
+      sketch.add(ip(i));
+      sketch.add(ip(i % 10));
+    }
+
+    assertEquals(100_000, sketch.estimate(), 3_000);
+  }
+
+  @Test
+  @DisplayName("Deve contar exatamente poucos valores distintos")
+  void shouldCountSmallCardinalities() {
+    HyperLogLog sketch = new HyperLogLog(HyperLogLog.DEFAULT_PRECISION);
+
+    for (int i = 0; i < 1_000; i++) {
+      sketch.add(ip(i % 5));
+    }
+
+    assertEquals(5, sketch.estimate());
+  }
+
+  @Test
+  @DisplayName("Deve unir esboços de dias e nós diferentes sem contar duas vezes")
+  void shouldMergeSketches() {
+    HyperLogLog monday = new HyperLogLog(HyperLogLog.DEFAULT_PRECISION);
+    HyperLogLog tuesday = new HyperLogLog(HyperLogLog.DEFAULT_PRECISION);
+
+    for (int i = 0; i < 20_000; i++) {
+      monday.add(ip(i));
+      tuesday.add(ip(i + 10_000));
+    }
+
+    HyperLogLog merged = HyperLogLog.fromBytes(monday.toBytes());
+    merged.merge(tuesday);
+
+    assertEquals(30_000, merged.estimate(), 900);
+    assertEquals(monday.estimate(), HyperLogLog.fromBytes(monday.toBytes()).estimate());
+  }
+
+  private static String ip(int i) {
+    return "10." + (i >>> 16) + "." + ((i >>> 8) & 0xff) + "." + (i & 0xff);
+  }
+}
@@ -0,0 +1,74 @@
+package br.com.walyson.secure_link.infra.stats;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingTest {
+
+  @Test
+  @DisplayName("Deve contar exatamente enquanto houver espaço para todos os códigos")
+  void shouldCountExactlyBelowCapacity() {
+    SpaceSaving summary = new SpaceSaving(10);
+
+    for (int i = 0; i < 100; i++) {
+      summary.offer("code" + (i % 4));
+    }
+    summary.offer("code0");
+
+    assertEquals(new SpaceSaving.Item("code0", 26, 0), summary.top(1).getFirst());
+    assertEquals(0, summary.floor());
+  }
+
+  @Test
+  @DisplayName("Deve manter os códigos mais acessados com contagens dentro do erro informado")
+  void shouldKeepHeavyHittersWithinBounds() {
+    SpaceSaving summary = new SpaceSaving(50);
+    long[] exact = new long[5];
+    Random random = new Random(42);
+
+    for (int i = 0; i < 100_000; i++) {
+      if (random.nextInt(10) < 3) {
+        int hot = random.nextInt(5);
+        exact[hot]++;
+        summary.offer("hot" + hot);
+      } else {
+        summary.offer("cold" + random.nextInt(50_000));
+      }
+    }
+
+    List<SpaceSaving.Item> top = summary.top(5);
+
+    assertEquals(5, top.size());
+    for (SpaceSaving.Item item : top) {
+      assertTrue(item.key().startsWith("hot"), item.key());
+      long trueCount = exact[Integer.parseInt(item.key().substring(3))];
+      assertTrue(item.count() >= trueCount);
+      assertTrue(item.count() - item.error() <= trueCount);
+    }
+  }
+
+  @Test
+  @DisplayName("Deve somar resumos de réplicas diferentes e preservar o formato serializado")
+  void shouldMergeSummaries() {
+    SpaceSaving first = SpaceSaving.fromCounts(2, Map.of("aaa", 50L, "bbb", 40L, "ccc", 10L));
+    SpaceSaving second = new SpaceSaving(2);
+    for (int i = 0; i < 31; i++) {
+      second.offer("ccc");
+    }
+
+    SpaceSaving merged = SpaceSaving.fromBytes(first.toBytes());
+    merged.merge(second);
+
+    assertEquals(10, first.floor());
+    assertEquals(
+      List.of(new SpaceSaving.Item("aaa", 50, 0), new SpaceSaving.Item("ccc", 41, 10)),
+      merged.top(2));
+    assertEquals(40, merged.floor());
+  }
+}
@@ -0,0 +1,98 @@
+package br.com.walyson.secure_link.infra.stats;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.com.walyson.secure_link.config.TopShortCodeProperties;
+import br.com.walyson.secure_link.domain.TopShortCodeCheckpoint;
+import br.com.walyson.secure_link.domain.enums.AccessResult;
+import br.com.walyson.secure_link.infra.scheduler.SchedulerLeaseManager;
+import br.com.walyson.secure_link.repository.LinkAccessRollupRepository;
+import br.com.walyson.secure_link.repository.TopShortCodeCheckpointRepository;
+import br.com.walyson.secure_link.service.AccessRollupService;
+
+@ExtendWith(MockitoExtension.class)
+class TopShortCodeTrackerTest {
+
+  @Mock
+  private TopShortCodeCheckpointRepository repository;
+
+  @Mock
+  private LinkAccessRollupRepository rollupRepository;
+
+  @Mock
+  private AccessRollupService rollupService;
+
+  @Mock
+  private SchedulerLeaseManager leaseManager;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private TopShortCodeTracker tracker;
+
+  @BeforeEach
+  void setUp() {
+    when(leaseManager.nodeId()).thenReturn("node-1");
+    tracker = new TopShortCodeTracker(repository, rollupRepository, rollupService, new TopShortCodeProperties(),
+        leaseManager, transactionManager);
+  }
+
+  @Test
+  @DisplayName("Deve juntar checkpoints antigos de outras réplicas em uma linha retired e apagá-los")
+  void shouldFoldStaleCheckpointsIntoRetiredRow() {
+    List<TopShortCodeCheckpoint> stale = List.of(
+        checkpoint("pod-a", "abc", 3),
+        checkpoint("pod-b", "abc", 2));
+
+    when(repository.findStale(eq(AccessResult.SUCCESS), any(),
+        argThat(kept -> kept.containsAll(List.of("seed", "retired", "node-1"))))).thenReturn(stale);
+    when(repository.findById(new TopShortCodeCheckpoint.Key(AccessResult.SUCCESS, "retired")))
+        .thenReturn(Optional.empty());
+
+    int compacted = tracker.compact(OffsetDateTime.now().minusHours(24));
+
+    ArgumentCaptor<TopShortCodeCheckpoint> saved = ArgumentCaptor.forClass(TopShortCodeCheckpoint.class);
+    verify(repository).save(saved.capture());
+    verify(repository).deleteAll(stale);
+
+    assertEquals(2, compacted);
+    assertEquals("retired", saved.getValue().getNodeId());
+    assertEquals(5, SpaceSaving.fromBytes(saved.getValue().getSummary()).top(1).get(0).count());
+  }
+
+  @Test
+  @DisplayName("Não deve contar em dobro checkpoints já incorporados à linha retired")
+  void shouldDropCompactedCheckpointsOnRefresh() {
+    when(repository.findAll()).thenReturn(List.of(checkpoint("pod-a", "abc", 3)));
+    when(repository.findNodeIds()).thenReturn(Set.of("pod-a"), Set.of("retired"));
+    tracker.refresh();
+
+    when(repository.findByUpdatedAtGreaterThanEqual(any())).thenReturn(List.of(checkpoint("retired", "abc", 3)));
+    tracker.refresh();
+
+    assertEquals(3, tracker.top(AccessResult.SUCCESS, 1).get(0).count());
+  }
+
+  private static TopShortCodeCheckpoint checkpoint(String nodeId, String shortCode, long count) {
+    SpaceSaving summary = new SpaceSaving(10);
+    summary.offer(shortCode, count);
+    return new TopShortCodeCheckpoint(AccessResult.SUCCESS, nodeId, summary.toBytes(), OffsetDateTime.now());
+  }
+}
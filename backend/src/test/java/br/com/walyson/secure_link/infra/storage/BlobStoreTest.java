@@ -0,0 +1,163 @@
+package br.com.walyson.secure_link.infra.storage;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.com.walyson.secure_link.config.StorageProperties;
+import br.com.walyson.secure_link.domain.SecureLink;
+import br.com.walyson.secure_link.domain.StoredBlob;
+import br.com.walyson.secure_link.dto.StoredFileDto;
+import br.com.walyson.secure_link.repository.SecureLinkRepository;
+import br.com.walyson.secure_link.repository.StoredBlobRepository;
+import br.com.walyson.secure_link.utils.FileUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class BlobStoreTest {
+
+  private static final String SHA256 = "ed7002b439e9ac845f22357d822bac1444730fbdb6016d3ec9432297b9ec9f73";
+
+  @TempDir
+  Path storage;
+
+  @Mock
+  private StoredBlobRepository blobRepository;
+
+  @Mock
+  private SecureLinkRepository linkRepository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private MeterRegistry meterRegistry;
+  private FileUtils fileUtils;
+  private BlobStore blobStore;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    StorageProperties storageProperties = storageProperties();
+    fileUtils = new FileUtils(storageProperties, List.of(new ShardedFileSystemBackend(storageProperties)));
+
+    blobStore = new BlobStore(fileUtils, blobRepository, linkRepository, transactionManager, meterRegistry);
+  }
+
+  @Test
+  @DisplayName("Deve mover o arquivo para o caminho do hash quando o conteúdo for novo")
+  void shouldPromoteNewContent() throws Exception {
+    StoredFileDto staged = stage("content");
+    when(blobRepository.incrementRefCount(SHA256)).thenReturn(0);
+
+    StoredFileDto stored = blobStore.store(staged);
+
+    assertEquals(fileUtils.locate(SHA256), stored.filePath());
+    assertEquals("content", Files.readString(Path.of(stored.filePath())));
+    assertFalse(Files.exists(Path.of(staged.filePath())));
+    verify(blobRepository).insertFirstReference(eq(SHA256), eq(stored.filePath()), eq(7L), any());
+  }
+
+  @Test
+  @DisplayName("Deve reutilizar blob existente e descartar a cópia recebida")
+  void shouldReuseExistingBlob() throws Exception {
+    Path blob = Path.of(fileUtils.locate(SHA256));
+    Files.createDirectories(blob.getParent());
+    Files.writeString(blob, "content");
+
+    StoredFileDto staged = stage("content");
+    when(blobRepository.incrementRefCount(SHA256)).thenReturn(1);
+
+    StoredFileDto stored = blobStore.store(staged);
+
+    assertEquals(blob.toString(), stored.filePath());
+    assertFalse(Files.exists(Path.of(staged.filePath())));
+    verify(blobRepository, never()).insertFirstReference(any(), any(), anyLong(), any());
+    assertEquals(1.0, meterRegistry.get("secure_link_blob_deduplicated_total").counter().count());
+  }
+
+  @Test
+  @DisplayName("Deve apagar o blob quando a última referência for liberada")
+  void shouldReclaimBlobWhenLastReferenceIsReleased() throws Exception {
+    Path blobPath = Path.of(fileUtils.locate(SHA256));
+    Files.createDirectories(blobPath.getParent());
+    Files.writeString(blobPath, "content");
+
+    StoredBlob blob = new StoredBlob();
+    blob.setSha256(SHA256);
+    blob.setFilePath(blobPath.toString());
+    blob.setRefCount(0);
+
+    when(blobRepository.decrementRefCount(SHA256)).thenReturn(1);
+    when(blobRepository.findForUpdate(SHA256)).thenReturn(Optional.of(blob));
+
+    blobStore.release(SHA256);
+
+    assertFalse(Files.exists(blobPath));
+    verify(blobRepository).delete(blob);
+  }
+
+  @Test
+  @DisplayName("Não deve liberar duas vezes a referência de um mesmo link")
+  void shouldReleaseLinkReferenceOnlyOnce() {
+    SecureLink link = new SecureLink("abc123", "/storage/blob", "file.txt", OffsetDateTime.now(), null);
+    link.setId(UUID.randomUUID());
+    link.recordFileDigest(7, SHA256);
+    link.revoke();
+
+    when(linkRepository.markBlobReleased(link.getId())).thenReturn(0);
+
+    blobStore.release(link);
+
+    verify(blobRepository, never()).decrementRefCount(any());
+  }
+
+  @Test
+  @DisplayName("Deve apagar o arquivo de um link sem hash ao liberar a referência")
+  void shouldDeleteLegacyFileOnRelease() throws Exception {
+    Path legacy = Files.writeString(storage.resolve("legacy.pdf"), "pdf");
+    SecureLink link = new SecureLink("abc123", legacy.toString(), "legacy.pdf", OffsetDateTime.now(), null);
+    link.setId(UUID.randomUUID());
+    link.expire();
+
+    when(linkRepository.markBlobReleased(link.getId())).thenReturn(1);
+
+    blobStore.release(link);
+
+    assertTrue(link.isBlobReleased());
+    assertFalse(Files.exists(legacy));
+    verify(blobRepository, never()).decrementRefCount(any());
+    assertEquals(3.0, meterRegistry.get("secure_link_storage_reclaimed_bytes_total").counter().count());
+  }
+
+  private StoredFileDto stage(String content) throws Exception {
+    try (ByteArrayInputStream input = new ByteArrayInputStream(content.getBytes())) {
+      return fileUtils.storeStream(input, "file.txt");
+    }
+  }
+
+  private StorageProperties storageProperties() {
+    StorageProperties storageProperties = new StorageProperties();
+    storageProperties.setPath(storage.toString() + "/");
+    return storageProperties;
+  }
+}
@@ -0,0 +1,90 @@
+package br.com.walyson.secure_link.infra.storage;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import br.com.walyson.secure_link.config.StorageProperties;
+
+class StorageBackendTest {
+
+  private static final String SHA256 = "ed7002b439e9ac845f22357d822bac1444730fbdb6016d3ec9432297b9ec9f73";
+
+  @TempDir
+  Path storage;
+
+  @TempDir
+  Path bucket;
+
+  private StorageProperties properties;
+
+  @BeforeEach
+  void setUp() {
+    properties = new StorageProperties();
+    properties.setPath(storage.toString() + "/");
+    properties.getObjectStore().setPath(bucket.toString() + "/");
+  }
+
+  @Test
+  @DisplayName("Deve distribuir blobs em diretórios pelo prefixo do hash")
+  void shouldShardByHashPrefix() throws Exception {
+    ShardedFileSystemBackend backend = new ShardedFileSystemBackend(properties);
+    Path staged = Files.writeString(storage.resolve("staged"), "content");
+
+    String location = backend.store(staged, SHA256);
+
+    assertEquals(storage.resolve("ed").resolve("70").resolve(SHA256).toString(), location);
+    assertEquals("content", Files.readString(Path.of(location)));
+    assertFalse(Files.exists(staged));
+    assertTrue(backend.owns(location));
+    assertFalse(backend.owns(storage.resolve("legacy.pdf").toString()));
+  }
+
+  @Test
+  @DisplayName("Deve usar o hash da chave como prefixo quando a chave não for um hash")
+  void shouldShardNonHashKeys() {
+    ShardedFileSystemBackend backend = new ShardedFileSystemBackend(properties);
+
+    Path location = Path.of(backend.locate("2f1c-report.pdf"));
+
+    assertEquals("2f1c-report.pdf", location.getFileName().toString());
+    assertTrue(backend.owns(location.toString()));
+  }
+
+  @Test
+  @DisplayName("Deve publicar objeto imutável com metadados no object store")
+  void shouldPublishImmutableObjectWithMetadata() throws Exception {
+    LocalObjectStoreBackend backend = new LocalObjectStoreBackend(properties);
+    Path first = Files.writeString(storage.resolve("first"), "content");
+    Path second = Files.writeString(storage.resolve("second"), "other");
+
+    String location = backend.store(first, SHA256);
+    backend.store(second, SHA256);
+
+    assertEquals("content", Files.readString(Path.of(location)));
+    assertFalse(Files.exists(second));
+    assertTrue(Files.readString(Path.of(location + ".meta")).contains("content-length=7"));
+
+    backend.delete(location);
+
+    assertFalse(Files.exists(Path.of(location)));
+    assertFalse(Files.exists(Path.of(location + ".meta")));
+  }
+
+  @Test
+  @DisplayName("Deve reportar capacidade e latência do backend")
+  void shouldProbeCapacityAndLatency() {
+    StorageProbe probe = new ShardedFileSystemBackend(properties).probe();
+
+    assertTrue(probe.healthy());
+    assertEquals(ShardedFileSystemBackend.NAME, probe.backend());
+    assertTrue(probe.totalBytes() > 0);
+    assertTrue(probe.latencyMillis() >= 0);
+  }
+}
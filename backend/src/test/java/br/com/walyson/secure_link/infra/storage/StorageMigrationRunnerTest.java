@@ -0,0 +1,80 @@
+package br.com.walyson.secure_link.infra.storage;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.com.walyson.secure_link.config.StorageProperties;
+import br.com.walyson.secure_link.infra.cache.SecureLinkMetadataCache;
+import br.com.walyson.secure_link.repository.SecureLinkRepository;
+import br.com.walyson.secure_link.repository.StoredBlobRepository;
+import br.com.walyson.secure_link.utils.FileUtils;
+
+@ExtendWith(MockitoExtension.class)
+class StorageMigrationRunnerTest {
+
+  @TempDir
+  Path storage;
+
+  @Mock
+  private SecureLinkRepository linkRepository;
+
+  @Mock
+  private StoredBlobRepository blobRepository;
+
+  @Mock
+  private SecureLinkMetadataCache metadataCache;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private ShardedFileSystemBackend backend;
+  private StorageMigrationRunner runner;
+
+  @BeforeEach
+  void setUp() {
+    StorageProperties properties = new StorageProperties();
+    properties.setPath(storage.toString() + "/");
+
+    backend = new ShardedFileSystemBackend(properties);
+    FileUtils fileUtils = new FileUtils(properties, List.of(backend));
+
+    runner = new StorageMigrationRunner(fileUtils, linkRepository, blobRepository, metadataCache,
+        transactionManager, properties);
+  }
+
+  @Test
+  @DisplayName("Deve mover arquivos do layout plano e atualizar os registros")
+  void shouldMoveFlatFilesAndRewriteRows() throws Exception {
+    Path legacy = Files.writeString(storage.resolve("legacy.pdf"), "pdf");
+    String migrated = backend.locate("legacy.pdf");
+    String missing = storage.resolve("gone.txt").toString();
+
+    when(linkRepository.findFilePathsAfter(eq(""), any()))
+        .thenReturn(List.of(legacy.toString(), missing, migrated));
+
+    StorageMigrationRunner.Result result = runner.migrate();
+
+    assertEquals(new StorageMigrationRunner.Result(1, 1, 1), result);
+    assertEquals("pdf", Files.readString(Path.of(migrated)));
+    assertFalse(Files.exists(legacy));
+    verify(linkRepository).updateFilePath(legacy.toString(), migrated);
+    verify(blobRepository).replaceFilePath(legacy.toString(), migrated);
+    verify(linkRepository, never()).updateFilePath(eq(missing), any());
+    verify(metadataCache).invalidateAll();
+  }
+}
@@ -0,0 +1,146 @@
+package br.com.walyson.secure_link.infra.upload;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.walyson.secure_link.config.StorageProperties;
+import br.com.walyson.secure_link.config.UploadProperties;
+import br.com.walyson.secure_link.dto.LinkUploadRequestDto;
+import br.com.walyson.secure_link.infra.storage.ShardedFileSystemBackend;
+import br.com.walyson.secure_link.utils.FileUtils;
+
+class MultipartUploadParserTest {
+
+  private static final String BOUNDARY = "----secure-link-boundary";
+
+  @TempDir
+  Path storage;
+
+  private UploadProperties properties;
+  private MultipartUploadParser parser;
+
+  @BeforeEach
+  void setUp() {
+    StorageProperties storageProperties = storageProperties();
+    FileUtils fileUtils = new FileUtils(storageProperties, List.of(new ShardedFileSystemBackend(storageProperties)));
+
+    properties = new UploadProperties();
+    parser = new MultipartUploadParser(fileUtils, properties);
+  }
+
+  @Test
+  @DisplayName("Deve gravar o arquivo direto no storage com tamanho e SHA-256")
+  void shouldStoreFileWithDigest() throws Exception {
+    MockHttpServletRequest request = multipartRequest(
+        field("expiresAt", "2030-01-01T10:00:00Z")
+            + field("maxViews", "3")
+            + field("password", "secret")
+            + file("report.txt", "content"));
+
+    LinkUploadRequestDto result = parser.parse(request);
+
+    assertEquals(7, result.file().size());
+    assertEquals("ed7002b439e9ac845f22357d822bac1444730fbdb6016d3ec9432297b9ec9f73", result.file().sha256());
+    assertEquals("report.txt", result.file().originalFileName());
+    assertEquals("content", Files.readString(Paths.get(result.file().filePath())));
+    assertEquals(OffsetDateTime.parse("2030-01-01T10:00:00Z"), result.expiresAt());
+    assertEquals(3, result.maxViews());
+    assertEquals("secret", result.password());
+  }
+
+  @Test
+  @DisplayName("Deve lançar 413 e não deixar arquivo parcial quando exceder o limite")
+  void shouldRejectOversizedFile() throws Exception {
+    properties.setMaxFileSize(DataSize.ofBytes(4));
+
+    MockHttpServletRequest request = multipartRequest(file("big.bin", "0123456789"));
+
+    ResponseStatusException ex = assertThrows(
+        ResponseStatusException.class,
+        () -> parser.parse(request));
+
+    assertEquals(HttpStatus.CONTENT_TOO_LARGE, ex.getStatusCode());
+    try (var files = Files.list(storage.resolve("incoming"))) {
+      assertEquals(0, files.count());
+    }
+  }
+
+  @Test
+  @DisplayName("Deve remover o arquivo gravado quando um campo for inválido")
+  void shouldDeleteStoredFileWhenFieldIsInvalid() throws Exception {
+    MockHttpServletRequest request = multipartRequest(
+        file("report.txt", "content") + field("maxViews", "many"));
+
+    ResponseStatusException ex = assertThrows(
+        ResponseStatusException.class,
+        () -> parser.parse(request));
+
+    assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+    try (var files = Files.list(storage.resolve("incoming"))) {
+      assertEquals(0, files.count());
+    }
+  }
+
+  @Test
+  @DisplayName("Deve lançar 413 quando a requisição trouxer partes demais")
+  void shouldRejectTooManyParts() throws Exception {
+    MockHttpServletRequest request = multipartRequest(
+        file("report.txt", "content") + field("extra", "x").repeat(20));
+
+    ResponseStatusException ex = assertThrows(
+        ResponseStatusException.class,
+        () -> parser.parse(request));
+
+    assertEquals(HttpStatus.CONTENT_TOO_LARGE, ex.getStatusCode());
+    try (var files = Files.list(storage.resolve("incoming"))) {
+      assertEquals(0, files.count());
+    }
+  }
+
+  private static String field(String name, String value) {
+    return "--" + BOUNDARY + "\r\n"
+        + "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+        + value + "\r\n";
+  }
+
+  private static String file(String filename, String content) {
+    return "--" + BOUNDARY + "\r\n"
+        + "Content-Disposition: form-data; name=\"file\"; filename=\"" + filename + "\"\r\n"
+        + "Content-Type: application/octet-stream\r\n\r\n"
+        + content + "\r\n";
+  }
+
+  private static MockHttpServletRequest multipartRequest(String parts) throws Exception {
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    body.write(parts.getBytes(StandardCharsets.UTF_8));
+    body.write(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/links/upload");
+    request.setContentType("multipart/form-data; boundary=" + BOUNDARY);
+    request.setContent(body.toByteArray());
+    return request;
+  }
+
+  private StorageProperties storageProperties() {
+    StorageProperties storageProperties = new StorageProperties();
+    storageProperties.setPath(storage.toString() + "/");
+    return storageProperties;
+  }
+}
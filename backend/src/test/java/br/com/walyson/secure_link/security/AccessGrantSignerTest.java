@@ -0,0 +1,71 @@
+package br.com.walyson.secure_link.security;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import br.com.walyson.secure_link.config.AccessGrantProperties;
+
+class AccessGrantSignerTest {
+
+  @Test
+  @DisplayName("Deve aceitar grant emitido para o mesmo shortCode")
+  void shouldVerifyIssuedGrant() {
+    AccessGrantSigner signer = signer("secret", Duration.ofMinutes(5));
+
+    String grant = signer.issue("abc123");
+
+    assertTrue(signer.verify(grant, "abc123"));
+    assertFalse(signer.verify(grant, "other"));
+  }
+
+  @Test
+  @DisplayName("Deve rejeitar grant expirado")
+  void shouldRejectExpiredGrant() {
+    AccessGrantSigner signer = signer("secret", Duration.ofSeconds(-1));
+
+    assertFalse(signer.verify(signer.issue("abc123"), "abc123"));
+  }
+
+  @Test
+  @DisplayName("Deve rejeitar grant adulterado ou assinado com outra chave")
+  void shouldRejectTamperedGrant() {
+    AccessGrantSigner signer = signer("secret", Duration.ofMinutes(5));
+    AccessGrantSigner otherSigner = signer("another-secret", Duration.ofMinutes(5));
+
+    String grant = signer.issue("abc123");
+    String forgedPayload = Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(("abc123:" + Long.MAX_VALUE).getBytes(StandardCharsets.UTF_8));
+    String tampered = forgedPayload + grant.substring(grant.indexOf('.'));
+
+    assertFalse(signer.verify(tampered, "abc123"));
+    assertFalse(otherSigner.verify(grant, "abc123"));
+    assertFalse(signer.verify("not-a-grant", "abc123"));
+    assertFalse(signer.verify(null, "abc123"));
+  }
+
+  @Test
+  @DisplayName("Deve exigir o mesmo vínculo quando o grant for verificado com vínculo")
+  void shouldCheckBinding() {
+    AccessGrantSigner signer = signer("secret", Duration.ofMinutes(5));
+
+    String grant = signer.issue("abc123", "\"7-18c\"");
+
+    assertTrue(signer.verify(grant, "abc123", "\"7-18c\""));
+    assertTrue(signer.verify(grant, "abc123"));
+    assertFalse(signer.verify(grant, "abc123", "\"8-18c\""));
+    assertFalse(signer.verify(signer.issue("abc123"), "abc123", "\"7-18c\""));
+  }
+
+  private AccessGrantSigner signer(String secret, Duration ttl) {
+    AccessGrantProperties properties = new AccessGrantProperties();
+    properties.setSecret(secret);
+    properties.setTtl(ttl);
+    return new AccessGrantSigner(properties);
+  }
+}
@@ -0,0 +1,91 @@
+package br.com.walyson.secure_link.service;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.com.walyson.secure_link.config.StatsRollupProperties;
+import br.com.walyson.secure_link.domain.RollupWatermark;
+import br.com.walyson.secure_link.repository.LinkAccessAuditRepository;
+import br.com.walyson.secure_link.repository.LinkAccessRollupRepository;
+import br.com.walyson.secure_link.repository.RollupWatermarkRepository;
+import br.com.walyson.secure_link.service.impl.AccessRollupServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class AccessRollupServiceTest {
+
+  @Mock
+  private LinkAccessAuditRepository auditRepository;
+
+  @Mock
+  private LinkAccessRollupRepository rollupRepository;
+
+  @Mock
+  private RollupWatermarkRepository watermarkRepository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private RollupWatermark watermark;
+  private AccessRollupServiceImpl service;
+
+  @BeforeEach
+  void setUp() {
+    StatsRollupProperties properties = new StatsRollupProperties();
+    service = new AccessRollupServiceImpl(auditRepository, rollupRepository, watermarkRepository, properties,
+        transactionManager, new SimpleMeterRegistry());
+
+    watermark = new RollupWatermark(AccessRollupServiceImpl.WATERMARK,
+        OffsetDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(5));
+    when(watermarkRepository.findById(AccessRollupServiceImpl.WATERMARK)).thenAnswer(i -> Optional.of(watermark));
+    when(watermarkRepository.findForUpdate(AccessRollupServiceImpl.WATERMARK)).thenAnswer(i -> Optional.of(watermark));
+  }
+
+  @Test
+  @DisplayName("Deve agregar apenas as horas com acessos e avançar a marca d'água")
+  void shouldRollUpAccessedHoursAndAdvanceWatermark() {
+    OffsetDateTime start = watermark.getRolledUpUntil();
+    OffsetDateTime accessedHour = start.plusHours(2);
+
+    when(auditRepository.findFirstAccessBetween(eq(start), any())).thenReturn(accessedHour.plusMinutes(10));
+    when(auditRepository.findFirstAccessBetween(eq(accessedHour.plusHours(1)), any())).thenReturn(null);
+    when(rollupRepository.rollupHour(accessedHour, accessedHour.plusHours(1))).thenReturn(3);
+
+    int hours = service.rollup();
+
+    assertEquals(1, hours);
+    verify(rollupRepository, times(1)).rollupHour(any(), any());
+    assertTrue(watermark.getRolledUpUntil().isAfter(accessedHour.plusHours(1)));
+    assertEquals(0, watermark.getRolledUpUntil().getMinute());
+  }
+
+  @Test
+  @DisplayName("Não deve agregar quando outra réplica já tiver avançado a marca d'água")
+  void shouldSkipWhenWatermarkMovedConcurrently() {
+    OffsetDateTime start = watermark.getRolledUpUntil();
+    when(auditRepository.findFirstAccessBetween(eq(start), any())).thenAnswer(i -> {
+      watermark.setRolledUpUntil(start.plusHours(1));
+      return start.plusMinutes(5);
+    });
+
+    int hours = service.rollup();
+
+    assertEquals(0, hours);
+    verify(rollupRepository, never()).rollupHour(any(), any());
+  }
+}
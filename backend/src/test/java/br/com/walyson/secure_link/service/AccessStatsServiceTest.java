@@ -0,0 +1,304 @@
+package br.com.walyson.secure_link.service;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import br.com.walyson.secure_link.domain.enums.AccessResult;
+import br.com.walyson.secure_link.dto.stats.AccessSummaryDto;
+import br.com.walyson.secure_link.dto.stats.DailyAccessDto;
+import br.com.walyson.secure_link.dto.stats.StatsFilterDto;
+import br.com.walyson.secure_link.dto.stats.StatsPageDto;
+import br.com.walyson.secure_link.dto.stats.TopLinkDto;
+import br.com.walyson.secure_link.infra.audit.AuditArchiveStore;
+import br.com.walyson.secure_link.infra.stats.SpaceSaving;
+import br.com.walyson.secure_link.infra.stats.TopShortCodeTracker;
+import br.com.walyson.secure_link.infra.stats.UniqueOriginTracker;
+import br.com.walyson.secure_link.repository.LinkAccessAuditRepository;
+import br.com.walyson.secure_link.repository.LinkAccessRollupRepository;
+import br.com.walyson.secure_link.repository.SecureLinkRepository;
+import br.com.walyson.secure_link.repository.projection.AccessSummaryProjection;
+import br.com.walyson.secure_link.repository.projection.DailyAccessProjection;
+import br.com.walyson.secure_link.repository.projection.ShortCodeCountProjection;
+import br.com.walyson.secure_link.service.impl.AccessStatsServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class AccessStatsServiceTest {
+
+  private static final OffsetDateTime WATERMARK = OffsetDateTime.parse("2026-01-10T12:00:00Z");
+  private static final OffsetDateTime EPOCH = OffsetDateTime.parse("1970-01-01T00:00:00Z");
+  private static final LocalDate BEFORE_FIRST_DAY = LocalDate.of(1969, 12, 31);
+
+  @Mock
+  private LinkAccessRollupRepository rollupRepository;
+
+  @Mock
+  private LinkAccessAuditRepository auditRepository;
+
+  @Mock
+  private SecureLinkRepository linkRepository;
+
+  @Mock
+  private AccessRollupService rollupService;
+
+  @Mock
+  private UniqueOriginTracker uniqueOriginTracker;
+
+  @Mock
+  private TopShortCodeTracker topShortCodeTracker;
+
+  @Mock
+  private AuditArchiveStore archiveStore;
+
+  private AccessStatsServiceImpl service;
+
+  @BeforeEach
+  void setUp() {
+    service = new AccessStatsServiceImpl(rollupRepository, auditRepository, linkRepository, rollupService,
+      uniqueOriginTracker, topShortCodeTracker, archiveStore);
+    lenient().when(rollupService.rolledUpUntil()).thenReturn(WATERMARK);
+  }
+
+  @Test
+  @DisplayName("Deve somar o resumo das agregações com os acessos após a marca d'água")
+  void shouldMergeSummaryWithTail() {
+    when(rollupRepository.fetchAccessSummaryProjection(EPOCH, WATERMARK, null)).thenReturn(summary(100L, 80L, 20L, 5L));
+    when(auditRepository.fetchAccessSummaryProjection(eq(WATERMARK), any(), isNull()))
+        .thenReturn(summary(10L, 9L, 1L, null));
+    when(uniqueOriginTracker.estimate()).thenReturn(7L);
+
+    AccessSummaryDto result = service.summary(StatsFilterDto.NONE, false);
+
+    assertEquals(new AccessSummaryDto(110, 89, 21, 5, 7), result);
+    verify(auditRepository, never()).countUniqueOrigins();
+  }
+
+  @Test
+  @DisplayName("Deve contar origens únicas na auditoria quando a contagem exata for pedida")
+  void shouldCountExactOriginsOnRequest() {
+    when(rollupRepository.fetchAccessSummaryProjection(EPOCH, WATERMARK, null))
+        .thenReturn(summary(null, null, null, null));
+    when(auditRepository.fetchAccessSummaryProjection(eq(WATERMARK), any(), isNull()))
+        .thenReturn(summary(0L, 0L, 0L, 0L));
+    when(auditRepository.countUniqueOrigins()).thenReturn(3L);
+
+    AccessSummaryDto result = service.summary(StatsFilterDto.NONE, true);
+
+    assertEquals(3, result.uniqueOrigins());
+    verifyNoInteractions(uniqueOriginTracker);
+  }
+
+  @Test
+  @DisplayName("Deve unir as origens arquivadas às da auditoria na contagem exata")
+  void shouldCountArchivedOriginsWhenExact() throws Exception {
+    when(rollupRepository.fetchAccessSummaryProjection(EPOCH, WATERMARK, null))
+        .thenReturn(summary(null, null, null, null));
+    when(auditRepository.fetchAccessSummaryProjection(eq(WATERMARK), any(), isNull()))
+        .thenReturn(summary(0L, 0L, 0L, 0L));
+    when(archiveStore.archives()).thenReturn(List.of(Path.of("link_access_audit-p202601.ndjson.gz")));
+    when(auditRepository.streamDistinctIpAddresses()).thenReturn(Stream.of("10.0.0.1", "10.0.0.2"));
+    doAnswer(invocation -> {
+      Consumer<String> action = invocation.getArgument(0);
+      action.accept("10.0.0.2");
+      action.accept("10.0.0.3");
+      return null;
+    }).when(archiveStore).forEachIpAddress(any());
+
+    AccessSummaryDto result = service.summary(StatsFilterDto.NONE, true);
+
+    assertEquals(3, result.uniqueOrigins());
+    verify(auditRepository, never()).countUniqueOrigins();
+  }
+
+  @Test
+  @DisplayName("Deve dividir o período filtrado na marca d'água e arredondar para horas cheias")
+  void shouldSplitFilteredRangeAtWatermark() {
+    StatsFilterDto filter = new StatsFilterDto(WATERMARK.minusMinutes(90), WATERMARK.plusMinutes(20), "abc");
+    OffsetDateTime from = WATERMARK.minusHours(2);
+    OffsetDateTime to = WATERMARK.plusHours(1);
+
+    when(rollupRepository.fetchAccessSummaryProjection(from, WATERMARK, "abc")).thenReturn(summary(4L, 3L, 1L, 0L));
+    when(auditRepository.fetchAccessSummaryProjection(WATERMARK, to, "abc")).thenReturn(summary(1L, 1L, 0L, 0L));
+    when(auditRepository.countUniqueOrigins(from, to, "abc")).thenReturn(2L);
+
+    AccessSummaryDto result = service.summary(filter, false);
+
+    assertEquals(new AccessSummaryDto(5, 4, 1, 0, 2), result);
+    verifyNoInteractions(uniqueOriginTracker);
+  }
+
+  @Test
+  @DisplayName("Deve unir as origens arquivadas do período filtrado às da auditoria")
+  void shouldCountArchivedOriginsWhenFiltered() throws Exception {
+    StatsFilterDto filter = new StatsFilterDto(WATERMARK.minusDays(60), WATERMARK, "abc");
+    OffsetDateTime from = WATERMARK.minusDays(60);
+
+    when(rollupRepository.fetchAccessSummaryProjection(from, WATERMARK, "abc")).thenReturn(summary(4L, 3L, 1L, 0L));
+    when(auditRepository.fetchAccessSummaryProjection(WATERMARK, WATERMARK, "abc")).thenReturn(summary(0L, 0L, 0L, 0L));
+    when(archiveStore.archives(from, WATERMARK)).thenReturn(List.of(Path.of("link_access_audit-p202601.ndjson.gz")));
+    when(auditRepository.streamDistinctIpAddresses(from, WATERMARK, "abc")).thenReturn(Stream.of("10.0.0.1"));
+    doAnswer(invocation -> {
+      Consumer<String> action = invocation.getArgument(3);
+      action.accept("10.0.0.1");
+      action.accept("10.0.0.2");
+      return null;
+    }).when(archiveStore).forEachIpAddress(eq(from), eq(WATERMARK), eq("abc"), any());
+
+    AccessSummaryDto result = service.summary(filter, false);
+
+    assertEquals(2, result.uniqueOrigins());
+    verify(auditRepository, never()).countUniqueOrigins(any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("Deve rejeitar um período com início depois do fim")
+  void shouldRejectInvertedRange() {
+    StatsFilterDto filter = new StatsFilterDto(WATERMARK, WATERMARK.minusDays(1), null);
+
+    ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+      () -> service.hourly(filter));
+
+    assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+  }
+
+  @Test
+  @DisplayName("Deve paginar os dias somando agregações e auditoria recente")
+  void shouldPageDailyAccesses() {
+    LocalDate first = LocalDate.of(2026, 1, 8);
+    when(rollupRepository.countDailyAccesses(eq(EPOCH), eq(WATERMARK), isNull(), eq(BEFORE_FIRST_DAY), any()))
+        .thenReturn(List.of(day(first, 10), day(first.plusDays(1), 5)));
+    when(auditRepository.countDailyAccesses(eq(WATERMARK), any(), isNull(), eq(BEFORE_FIRST_DAY), any()))
+        .thenReturn(List.of(day(first.plusDays(1), 1), day(first.plusDays(2), 4)));
+
+    StatsPageDto<DailyAccessDto> page = service.daily(StatsFilterDto.NONE, null, 2);
+
+    assertEquals(List.of(new DailyAccessDto(first, 10), new DailyAccessDto(first.plusDays(1), 6)), page.items());
+    assertEquals("2026-01-09", page.nextCursor());
+  }
+
+  @Test
+  @DisplayName("Deve considerar links do período recente fora do ranking agregado")
+  void shouldPromoteTailLinksIntoTopLinks() {
+    when(auditRepository.countByShortCode(eq(AccessResult.SUCCESS), eq(WATERMARK), any(), isNull()))
+        .thenReturn(List.of(count("ccc", 15), count("bbb", 1)));
+    when(rollupRepository.findTopShortCodes(AccessResult.SUCCESS, EPOCH, WATERMARK, null, Long.MAX_VALUE, "",
+        PageRequest.of(0, 4)))
+        .thenReturn(List.of(count("aaa", 50), count("bbb", 40)));
+    when(rollupRepository.countByShortCodes(AccessResult.SUCCESS, List.of("ccc"), EPOCH, WATERMARK))
+        .thenReturn(List.of(count("ccc", 30)));
+
+    StatsPageDto<TopLinkDto> top = service.topLinks(StatsFilterDto.NONE, null, 2, true);
+
+    assertEquals(List.of(new TopLinkDto("aaa", 50, 0), new TopLinkDto("ccc", 45, 0)), top.items());
+    assertEquals("45:ccc", top.nextCursor());
+    verifyNoInteractions(topShortCodeTracker);
+  }
+
+  @Test
+  @DisplayName("Deve continuar o ranking exato após o cursor sem repetir links")
+  void shouldResumeExactRankingAfterCursor() {
+    when(auditRepository.countByShortCode(eq(AccessResult.SUCCESS), eq(WATERMARK), any(), isNull()))
+        .thenReturn(List.of(count("eee", 2), count("ddd", 5)));
+    when(rollupRepository.findTopShortCodes(AccessResult.SUCCESS, EPOCH, WATERMARK, null, 45L, "ccc",
+        PageRequest.of(0, 4)))
+        .thenReturn(List.of(count("eee", 44), count("bbb", 40), count("ddd", 38)));
+
+    StatsPageDto<TopLinkDto> top = service.topLinks(StatsFilterDto.NONE, "45:ccc", 2, true);
+
+    assertEquals(List.of(new TopLinkDto("ddd", 43, 0), new TopLinkDto("bbb", 40, 0)), top.items());
+    assertEquals("40:bbb", top.nextCursor());
+  }
+
+  @Test
+  @DisplayName("Deve responder o ranking pelo resumo em memória com o erro máximo de cada contagem")
+  void shouldAnswerTopLinksFromTracker() {
+    when(topShortCodeTracker.top(AccessResult.SUCCESS, Integer.MAX_VALUE))
+        .thenReturn(List.of(new SpaceSaving.Item("aaa", 52, 0), new SpaceSaving.Item("ccc", 47, 3),
+          new SpaceSaving.Item("bbb", 20, 0)));
+
+    StatsPageDto<TopLinkDto> top = service.topLinks(StatsFilterDto.NONE, "52:aaa", 1, false);
+
+    assertEquals(List.of(new TopLinkDto("ccc", 47, 3)), top.items());
+    assertEquals("47:ccc", top.nextCursor());
+    verifyNoInteractions(rollupRepository, auditRepository);
+  }
+
+  @Test
+  @DisplayName("Deve rejeitar um cursor inválido")
+  void shouldRejectInvalidCursor() {
+    ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+      () -> service.securityExceptions(StatsFilterDto.NONE, "abc", 5, true));
+
+    assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+  }
+
+  private static AccessSummaryProjection summary(Long total, Long success, Long failed, Long expired) {
+    return new AccessSummaryProjection() {
+      @Override
+      public Long getTotal() {
+        return total;
+      }
+
+      @Override
+      public Long getSuccess() {
+        return success;
+      }
+
+      @Override
+      public Long getFailed() {
+        return failed;
+      }
+
+      @Override
+      public Long getExpired() {
+        return expired;
+      }
+    };
+  }
+
+  private static ShortCodeCountProjection count(String shortCode, long count) {
+    return new ShortCodeCountProjection() {
+      @Override
+      public String getShortCode() {
+        return shortCode;
+      }
+
+      @Override
+      public long getCount() {
+        return count;
+      }
+    };
+  }
+
+  private static DailyAccessProjection day(LocalDate date, long count) {
+    return new DailyAccessProjection() {
+      @Override
+      public LocalDate getAccessDate() {
+        return date;
+      }
+
+      @Override
+      public long getCount() {
+        return count;
+      }
+    };
+  }
+}
@@ -0,0 +1,110 @@
+package br.com.walyson.secure_link.service;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import br.com.walyson.secure_link.config.AuditRetentionProperties;
+import br.com.walyson.secure_link.dto.AuditRetentionResultDto;
+import br.com.walyson.secure_link.infra.audit.AuditArchiveStore;
+import br.com.walyson.secure_link.infra.audit.AuditPartitionManager;
+import br.com.walyson.secure_link.infra.audit.AuditPartitionManager.Partition;
+import br.com.walyson.secure_link.service.impl.AuditRetentionServiceImpl;
+
+@ExtendWith(MockitoExtension.class)
+class AuditRetentionServiceTest {
+
+  @Mock
+  private AuditPartitionManager partitionManager;
+
+  @Mock
+  private AuditArchiveStore archiveStore;
+
+  @Mock
+  private AccessRollupService rollupService;
+
+  private AuditRetentionProperties properties;
+  private AuditRetentionServiceImpl service;
+  private YearMonth currentMonth;
+
+  @BeforeEach
+  void setUp() {
+    properties = new AuditRetentionProperties();
+    properties.setKeepMonths(2);
+    service = new AuditRetentionServiceImpl(partitionManager, archiveStore, rollupService, properties);
+    currentMonth = YearMonth.now(ZoneOffset.UTC);
+  }
+
+  @Test
+  @DisplayName("Deve arquivar e descartar apenas partições fora da retenção e já agregadas")
+  void shouldArchiveOnlyExpiredRolledUpPartitions() throws Exception {
+    Partition old = partition(currentMonth.minusMonths(3));
+    Partition expired = partition(currentMonth.minusMonths(2));
+    Partition kept = partition(currentMonth.minusMonths(1));
+    Partition future = new Partition("p_future", null);
+    List<Partition> partitions = List.of(old, expired, kept, future);
+
+    when(partitionManager.partitions()).thenReturn(partitions);
+    when(partitionManager.createMonthsUntil(partitions, currentMonth.plusMonths(3))).thenReturn(1);
+    when(rollupService.rolledUpUntil()).thenReturn(OffsetDateTime.now(ZoneOffset.UTC).minusHours(1));
+    when(partitionManager.stream(anyString())).thenReturn(Stream.empty());
+    when(archiveStore.write(eq(old.name()), any())).thenReturn(10L);
+    when(archiveStore.write(eq(expired.name()), any())).thenReturn(5L);
+
+    AuditRetentionResultDto result = service.enforceRetention();
+
+    assertEquals(new AuditRetentionResultDto(1, 2, 15), result);
+    InOrder order = inOrder(archiveStore, partitionManager);
+    order.verify(archiveStore).write(eq(old.name()), any());
+    order.verify(partitionManager).drop(old.name());
+    order.verify(archiveStore).write(eq(expired.name()), any());
+    order.verify(partitionManager).drop(expired.name());
+    verify(partitionManager, never()).drop(kept.name());
+  }
+
+  @Test
+  @DisplayName("Não deve descartar partições com horas ainda não agregadas")
+  void shouldKeepPartitionsNotRolledUp() {
+    Partition expired = partition(currentMonth.minusMonths(2));
+    List<Partition> partitions = List.of(expired, new Partition("p_future", null));
+
+    when(partitionManager.partitions()).thenReturn(partitions);
+    when(rollupService.rolledUpUntil()).thenReturn(OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+
+    AuditRetentionResultDto result = service.enforceRetention();
+
+    assertEquals(0, result.partitionsArchived());
+    verify(partitionManager, never()).drop(anyString());
+  }
+
+  @Test
+  @DisplayName("Não deve fazer nada quando a tabela não é particionada")
+  void shouldSkipUnpartitionedTable() {
+    when(partitionManager.partitions()).thenReturn(List.of());
+
+    AuditRetentionResultDto result = service.enforceRetention();
+
+    assertEquals(new AuditRetentionResultDto(0, 0, 0), result);
+    verifyNoInteractions(archiveStore, rollupService);
+  }
+
+  private static Partition partition(YearMonth month) {
+    Instant upperBound = AuditPartitionManager.startOf(month.plusMonths(1));
+    return new Partition("p%d%02d".formatted(month.getYear(), month.getMonthValue()), upperBound);
+  }
+}
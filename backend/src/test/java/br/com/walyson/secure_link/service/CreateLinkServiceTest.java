@@ -2,6 +2,8 @@ package br.com.walyson.secure_link.service;
 
 import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,18 +17,26 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import br.com.walyson.secure_link.config.LinkBatchProperties;
 import br.com.walyson.secure_link.config.LinkTtlProperties;
 import br.com.walyson.secure_link.domain.SecureLink;
+import br.com.walyson.secure_link.dto.CreateLinkBatchResponseDto;
 import br.com.walyson.secure_link.dto.CreateLinkRequestDto;
 import br.com.walyson.secure_link.dto.CreateLinkResponseDto;
-import br.com.walyson.secure_link.repository.SecureLinkRepository;
+import br.com.walyson.secure_link.infra.filter.ShortCodeFilter;
+import br.com.walyson.secure_link.infra.scheduler.LinkExpirationQueue;
+import br.com.walyson.secure_link.security.PasswordHashPool;
 import br.com.walyson.secure_link.service.impl.CreateLinkServiceImpl;
 import br.com.walyson.secure_link.utils.CodeUtils;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
+import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.server.ResponseStatusException;
+
+import jakarta.validation.Validation;
 
 @ExtendWith(MockitoExtension.class)
 class CreateLinkServiceTest {
@@ -34,16 +44,23 @@ class CreateLinkServiceTest {
   @Mock
   private CodeUtils codeUtils;
 
-  @Mock
-  private SecureLinkRepository repository;
-
   @Mock
   private PasswordEncoder passwordEncoder;
 
   @Mock
   private LinkTtlProperties linkTtlProperties;
 
+  @Mock
+  private ShortCodeFilter shortCodeFilter;
+
+  @Mock
+  private LinkExpirationQueue expirationQueue;
+
+  @Mock
+  private PasswordHashPool passwordHashPool;
+
   private MeterRegistry meterRegistry;
+  private LinkBatchProperties linkBatchProperties;
 
   @InjectMocks
   private CreateLinkServiceImpl service;
@@ -51,13 +68,18 @@ class CreateLinkServiceTest {
   @BeforeEach
   void setUp() {
     meterRegistry = new SimpleMeterRegistry();
+    linkBatchProperties = new LinkBatchProperties();
 
     service = new CreateLinkServiceImpl(
         codeUtils,
-        repository,
         meterRegistry,
         passwordEncoder,
-        linkTtlProperties);
+        linkTtlProperties,
+        shortCodeFilter,
+        expirationQueue,
+        passwordHashPool,
+        linkBatchProperties,
+        Validation.buildDefaultValidatorFactory().getValidator());
   }
 
   @Test
@@ -71,7 +93,7 @@ class CreateLinkServiceTest {
         "https://example.com",
         null);
 
-    when(codeUtils.generateUniqueShortCode())
+    when(codeUtils.generateShortCode())
         .thenReturn("abc123");
     when(codeUtils.generateAccessUrl("abc123"))
         .thenReturn("http://localhost/l/abc123");
@@ -82,13 +104,15 @@ class CreateLinkServiceTest {
     assertEquals("abc123", response.shortCode());
     assertEquals(expiresAt, response.expiresAt());
 
-    verify(repository).save(any(SecureLink.class));
+    verify(codeUtils).persistWithUniqueShortCode(any(SecureLink.class));
+    verify(shortCodeFilter).register("abc123");
+    verify(expirationQueue).schedule("abc123", expiresAt);
   }
 
   @Test
   @DisplayName("Deve usar TTL default quando expiresAt for nulo")
   void shouldUseDefaultTtlWhenExpiresAtIsNull() {
-    when(codeUtils.generateUniqueShortCode())
+    when(codeUtils.generateShortCode())
         .thenReturn("ttl123");
     when(codeUtils.generateAccessUrl("ttl123"))
         .thenReturn("http://localhost/l/ttl123");
@@ -106,13 +130,13 @@ class CreateLinkServiceTest {
     assertNotNull(response);
     assertNotNull(response.expiresAt());
 
-    verify(repository).save(any(SecureLink.class));
+    verify(codeUtils).persistWithUniqueShortCode(any(SecureLink.class));
   }
 
   @Test
   @DisplayName("Deve criar link protegido por senha quando password for informado")
   void shouldCreatePasswordProtectedLink() {
-    when(codeUtils.generateUniqueShortCode())
+    when(codeUtils.generateShortCode())
         .thenReturn("secure123");
     when(codeUtils.generateAccessUrl("secure123"))
         .thenReturn("http://localhost/l/secure123");
@@ -128,14 +152,14 @@ class CreateLinkServiceTest {
     service.create(request);
 
     verify(passwordEncoder).encode("secret");
-    verify(repository).save(argThat(
+    verify(codeUtils).persistWithUniqueShortCode(argThat(
         SecureLink::isPasswordProtected));
   }
 
   @Test
   @DisplayName("Não deve proteger link quando password for nulo ou vazio")
   void shouldNotProtectLinkWhenPasswordIsBlank() {
-    when(codeUtils.generateUniqueShortCode())
+    when(codeUtils.generateShortCode())
         .thenReturn("nopass");
     when(codeUtils.generateAccessUrl("nopass"))
         .thenReturn("http://localhost/l/nopass");
@@ -149,6 +173,52 @@ class CreateLinkServiceTest {
     service.create(request);
 
     verify(passwordEncoder, never()).encode(any());
-    verify(repository).save(any(SecureLink.class));
+    verify(codeUtils).persistWithUniqueShortCode(any(SecureLink.class));
+  }
+
+  @Test
+  @DisplayName("Deve criar em lote apenas os itens válidos e relatar os rejeitados")
+  void shouldCreateValidItemsOfBatch() {
+    OffsetDateTime expiresAt = OffsetDateTime.now().plusHours(2);
+    List<CreateLinkRequestDto> requests = List.of(
+        new CreateLinkRequestDto(expiresAt, 1, "https://a.com", "secret"),
+        new CreateLinkRequestDto(expiresAt, null, "not a url", null),
+        new CreateLinkRequestDto(expiresAt, null, "https://b.com", null));
+
+    when(codeUtils.generateShortCode()).thenReturn("code0001", "code0002");
+    when(codeUtils.generateAccessUrl(any()))
+        .thenAnswer(invocation -> "http://localhost/l/" + invocation.getArgument(0));
+    when(passwordHashPool.encodeAll(Arrays.asList("secret", null)))
+        .thenReturn(Arrays.asList("hashed-secret", null));
+
+    CreateLinkBatchResponseDto response = service.createBatch(requests);
+
+    assertEquals(2, response.created());
+    assertEquals(1, response.rejected());
+    assertEquals("code0001", response.items().get(0).link().shortCode());
+    assertNull(response.items().get(1).link());
+    assertTrue(response.items().get(1).error().startsWith("targetUrl"));
+    assertEquals("code0002", response.items().get(2).link().shortCode());
+
+    verify(codeUtils).persistAllWithUniqueShortCodes(argThat(links ->
+        links.size() == 2 && links.get(0).isPasswordProtected() && !links.get(1).isPasswordProtected()));
+    verify(codeUtils, never()).persistWithUniqueShortCode(any());
+    verify(shortCodeFilter).register("code0001");
+    verify(shortCodeFilter).register("code0002");
+    verify(expirationQueue, times(2)).schedule(any(), eq(expiresAt));
+    assertEquals(2.0, meterRegistry.get("secure_link_created_total").tag("type", "REDIRECT").counter().count());
+  }
+
+  @Test
+  @DisplayName("Deve rejeitar lote acima do tamanho máximo")
+  void shouldRejectOversizedBatch() {
+    linkBatchProperties.setMaxSize(2);
+    CreateLinkRequestDto request = new CreateLinkRequestDto(null, null, "https://a.com", null);
+
+    ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+        () -> service.createBatch(List.of(request, request, request)));
+
+    assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    verifyNoInteractions(codeUtils, passwordHashPool);
   }
 }
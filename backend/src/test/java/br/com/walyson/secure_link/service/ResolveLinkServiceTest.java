@@ -21,12 +21,20 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.server.ResponseStatusException;
 
+import br.com.walyson.secure_link.config.AccessGrantProperties;
+import br.com.walyson.secure_link.config.LinkCacheProperties;
+import br.com.walyson.secure_link.config.LinkFilterProperties;
 import br.com.walyson.secure_link.domain.SecureLink;
 import br.com.walyson.secure_link.domain.enums.AccessResult;
 import br.com.walyson.secure_link.domain.enums.LinkType;
 import br.com.walyson.secure_link.dto.AccessContextDto;
 import br.com.walyson.secure_link.dto.ResolveResultDto;
+import br.com.walyson.secure_link.infra.cache.SecureLinkMetadataCache;
+import br.com.walyson.secure_link.infra.download.FileDownloadWriter;
+import br.com.walyson.secure_link.infra.filter.ShortCodeFilter;
+import br.com.walyson.secure_link.infra.metrics.ResolveLinkMetrics;
 import br.com.walyson.secure_link.repository.SecureLinkRepository;
+import br.com.walyson.secure_link.security.AccessGrantSigner;
 import br.com.walyson.secure_link.service.impl.ResolveLinkServiceImpl;
 import br.com.walyson.secure_link.utils.FileUtils;
 
@@ -49,6 +57,8 @@ class ResolveLinkServiceTest {
   private LinkAccessAuditService auditService;
 
   private MeterRegistry meterRegistry;
+  private AccessGrantSigner grantSigner;
+  private ShortCodeFilter shortCodeFilter;
   private ResolveLinkServiceImpl service;
 
   private final AccessContextDto context = new AccessContextDto("127.0.0.1", "JUnit");
@@ -56,13 +66,36 @@ class ResolveLinkServiceTest {
   @BeforeEach
   void setUp() {
     meterRegistry = new SimpleMeterRegistry();
+    grantSigner = new AccessGrantSigner(new AccessGrantProperties());
+    shortCodeFilter = new ShortCodeFilter(repository, new LinkFilterProperties(), meterRegistry);
 
     service = new ResolveLinkServiceImpl(
         fileUtils,
         repository,
-        meterRegistry,
+        new ResolveLinkMetrics(meterRegistry),
         passwordEncoder,
-        auditService);
+        auditService,
+        new SecureLinkMetadataCache(repository, new LinkCacheProperties(), meterRegistry),
+        grantSigner,
+        shortCodeFilter);
+  }
+
+  @Test
+  @DisplayName("Deve lançar 404 sem consultar o banco quando o código não estiver no filtro")
+  void shouldRejectUnknownCodeWithoutDatabaseLookup() {
+    shortCodeFilter.rebuild();
+    shortCodeFilter.sync();
+    shortCodeFilter.register("known");
+
+    ResponseStatusException ex = assertThrows(
+        ResponseStatusException.class,
+        () -> service.resolve("ghost404", null, null, context));
+
+    assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+    assertEquals(1.0, meterRegistry.get("secure_link_resolve_filtered_total").counter().count());
+
+    verify(repository, never()).findByShortCode(any());
+    verifyNoInteractions(auditService);
   }
 
   @Test
@@ -73,7 +106,7 @@ class ResolveLinkServiceTest {
 
     ResponseStatusException ex = assertThrows(
         ResponseStatusException.class,
-        () -> service.resolve("404", null, context));
+        () -> service.resolve("404", null, null, context));
 
     assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
 
@@ -97,7 +130,7 @@ class ResolveLinkServiceTest {
 
     ResponseStatusException ex = assertThrows(
         ResponseStatusException.class,
-        () -> service.resolve("revoked", null, context));
+        () -> service.resolve("revoked", null, null, context));
 
     assertEquals(HttpStatus.GONE, ex.getStatusCode());
 
@@ -121,7 +154,7 @@ class ResolveLinkServiceTest {
 
     ResponseStatusException ex = assertThrows(
         ResponseStatusException.class,
-        () -> service.resolve("secure", null, context));
+        () -> service.resolve("secure", null, null, context));
 
     assertEquals(HttpStatus.UNAUTHORIZED, ex.getStatusCode());
 
@@ -148,7 +181,7 @@ class ResolveLinkServiceTest {
 
     ResponseStatusException ex = assertThrows(
         ResponseStatusException.class,
-        () -> service.resolve("secure", "wrong", context));
+        () -> service.resolve("secure", "wrong", null, context));
 
     assertEquals(HttpStatus.UNAUTHORIZED, ex.getStatusCode());
 
@@ -173,7 +206,7 @@ class ResolveLinkServiceTest {
 
     ResponseStatusException ex = assertThrows(
         ResponseStatusException.class,
-        () -> service.resolve("limit", null, context));
+        () -> service.resolve("limit", null, null, context));
 
     assertEquals(HttpStatus.GONE, ex.getStatusCode());
 
@@ -195,10 +228,12 @@ class ResolveLinkServiceTest {
 
     when(repository.findByShortCode("file404"))
         .thenReturn(Optional.of(link));
+    when(repository.registerView(eq("file404"), any()))
+        .thenReturn(1);
 
     ResponseStatusException ex = assertThrows(
         ResponseStatusException.class,
-        () -> service.resolve("file404", null, context));
+        () -> service.resolve("file404", null, null, context));
 
     assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
   }
@@ -219,18 +254,307 @@ class ResolveLinkServiceTest {
 
     when(repository.findByShortCode("file"))
         .thenReturn(Optional.of(link));
+    when(repository.registerView(eq("file"), any()))
+        .thenReturn(1);
 
     when(fileUtils.getResource(file.toString()))
         .thenReturn(resource);
 
-    ResolveResultDto result = service.resolve("file", null, context);
+    ResolveResultDto result = service.resolve("file", null, null, context);
 
     assertEquals(LinkType.DOWNLOAD, result.type());
     assertEquals("file.txt", result.originalFilename());
 
-    verify(repository).save(link);
+    verify(repository).registerView(eq("file"), any());
+    verify(repository, never()).save(any());
     verify(auditService)
         .audit("file", AccessResult.SUCCESS,
             context.ipAddress(), context.userAgent());
   }
+
+  @Test
+  @DisplayName("Deve emitir grant em todo download, mesmo sem senha")
+  void shouldIssueGrantForEveryDownload() throws Exception {
+    Path file = Files.createTempFile("test", ".txt");
+    SecureLink link = new SecureLink("file", file.toString(), "file.txt", OffsetDateTime.now().plusHours(1), 1);
+
+    when(repository.findByShortCode("file")).thenReturn(Optional.of(link));
+    when(repository.registerView(eq("file"), any())).thenReturn(1);
+    when(fileUtils.getResource(file.toString())).thenReturn(mock(Resource.class));
+
+    ResolveResultDto result = service.resolve("file", null, null, context);
+
+    assertTrue(grantSigner.verify(result.accessGrant(), "file", FileDownloadWriter.eTag(file)));
+  }
+
+  @Test
+  @DisplayName("Deve retomar download com grant após esgotar as visualizações, sem contar nova visualização")
+  void shouldResumeWithGrantWithoutCountingView() throws Exception {
+    Path file = Files.createTempFile("test", ".txt");
+    SecureLink link = new SecureLink("file", file.toString(), "file.txt", OffsetDateTime.now().plusHours(1), 1);
+    link.incrementViewCount();
+
+    when(repository.findByShortCode("file")).thenReturn(Optional.of(link));
+    when(fileUtils.getResource(file.toString())).thenReturn(mock(Resource.class));
+
+    ResolveResultDto result = service.resume("file", grantSigner.issue("file", FileDownloadWriter.eTag(file)), context);
+
+    assertEquals(LinkType.DOWNLOAD, result.type());
+    verify(repository, never()).registerView(any(), any());
+    verify(auditService)
+        .audit("file", AccessResult.RESUMED,
+            context.ipAddress(), context.userAgent());
+  }
+
+  @Test
+  @DisplayName("Deve lançar 410 ao retomar download de link expirado, mesmo com grant")
+  void shouldRejectResumeAfterExpiry() throws Exception {
+    Path file = Files.createTempFile("test", ".txt");
+    SecureLink link = new SecureLink("file", file.toString(), "file.txt", OffsetDateTime.now().minusMinutes(1), 3);
+
+    when(repository.findByShortCode("file")).thenReturn(Optional.of(link));
+
+    ResponseStatusException ex = assertThrows(
+        ResponseStatusException.class,
+        () -> service.resume("file", grantSigner.issue("file", FileDownloadWriter.eTag(file)), context));
+
+    assertEquals(HttpStatus.GONE, ex.getStatusCode());
+    verify(auditService)
+        .audit("file", AccessResult.EXPIRED,
+            context.ipAddress(), context.userAgent());
+  }
+
+  @Test
+  @DisplayName("Deve consultar o banco ao retomar download e recusar link revogado em outra réplica")
+  void shouldRejectResumeWhenRevokedElsewhere() throws Exception {
+    Path file = Files.createTempFile("test", ".txt");
+    SecureLink cached = new SecureLink("file", file.toString(), "file.txt", OffsetDateTime.now().plusHours(1), 3);
+    SecureLink revoked = new SecureLink("file", file.toString(), "file.txt", OffsetDateTime.now().plusHours(1), 3);
+    revoked.revoke();
+
+    when(repository.findByShortCode("file")).thenReturn(Optional.of(cached), Optional.of(revoked));
+
+    ResponseStatusException ex = assertThrows(
+        ResponseStatusException.class,
+        () -> service.resume("file", grantSigner.issue("file", FileDownloadWriter.eTag(file)), context));
+
+    assertEquals(HttpStatus.GONE, ex.getStatusCode());
+    verify(auditService)
+        .audit("file", AccessResult.REVOKED,
+            context.ipAddress(), context.userAgent());
+  }
+
+  @Test
+  @DisplayName("Deve lançar 401 ao retomar download com grant de outra versão do arquivo")
+  void shouldRejectResumeWithGrantForAnotherFile() throws Exception {
+    Path file = Files.createTempFile("test", ".txt");
+    SecureLink link = new SecureLink("file", file.toString(), "file.txt", OffsetDateTime.now().plusHours(1), 3);
+
+    when(repository.findByShortCode("file")).thenReturn(Optional.of(link));
+
+    ResponseStatusException ex = assertThrows(
+        ResponseStatusException.class,
+        () -> service.resume("file", grantSigner.issue("file"), context));
+
+    assertEquals(HttpStatus.UNAUTHORIZED, ex.getStatusCode());
+    verify(repository, never()).registerView(any(), any());
+  }
+
+  @Test
+  @DisplayName("Deve lançar 401 ao retomar download sem grant")
+  void shouldRejectResumeWithoutGrant() throws Exception {
+    Path file = Files.createTempFile("test", ".txt");
+    SecureLink link = new SecureLink("file", file.toString(), "file.txt", OffsetDateTime.now().plusHours(1), 1);
+
+    when(repository.findByShortCode("file")).thenReturn(Optional.of(link));
+
+    ResponseStatusException ex = assertThrows(
+        ResponseStatusException.class,
+        () -> service.resume("file", null, context));
+
+    assertEquals(HttpStatus.UNAUTHORIZED, ex.getStatusCode());
+    verify(repository, never()).registerView(any(), any());
+    verify(auditService)
+        .audit("file", AccessResult.GRANT_REQUIRED,
+            context.ipAddress(), context.userAgent());
+  }
+
+  @Test
+  @DisplayName("Deve pré-registrar o contador de negação por falta de grant")
+  void shouldPreRegisterGrantRequiredDenials() {
+    assertEquals(0.0, meterRegistry.get("secure_link_resolve_denied_total")
+        .tag("reason", "grant_required")
+        .counter()
+        .count());
+  }
+
+  @Test
+  @DisplayName("Deve verificar o acesso em HEAD sem contar visualização")
+  void shouldInspectWithoutCountingView() {
+    SecureLink link = new SecureLink("redirect", "https://example.com", OffsetDateTime.now().plusHours(1), 1);
+
+    when(repository.findByShortCode("redirect")).thenReturn(Optional.of(link));
+
+    ResolveResultDto result = service.inspect("redirect", null, null, context);
+
+    assertEquals(LinkType.REDIRECT, result.type());
+    verify(repository, never()).registerView(any(), any());
+    verifyNoInteractions(auditService);
+  }
+
+  @Test
+  @DisplayName("Deve registrar visualização com uma única atualização condicional")
+  void shouldRegisterViewWithConditionalUpdate() {
+    SecureLink link = new SecureLink(
+        "redirect",
+        "https://example.com",
+        OffsetDateTime.now().plusHours(1),
+        null);
+
+    when(repository.findByShortCode("redirect"))
+        .thenReturn(Optional.of(link));
+    when(repository.registerView(eq("redirect"), any()))
+        .thenReturn(1);
+
+    ResolveResultDto result = service.resolve("redirect", null, null, context);
+
+    assertEquals(LinkType.REDIRECT, result.type());
+    assertEquals("https://example.com", result.targetUrl());
+
+    verify(repository, never()).save(any());
+    verify(auditService)
+        .audit("redirect", AccessResult.SUCCESS,
+            context.ipAddress(), context.userAgent());
+  }
+
+  @Test
+  @DisplayName("Deve registrar a duração de cada etapa da resolução")
+  void shouldRecordStageTimers() {
+    SecureLink link = new SecureLink(
+        "timed",
+        "https://example.com",
+        OffsetDateTime.now().plusHours(1),
+        null);
+
+    when(repository.findByShortCode("timed"))
+        .thenReturn(Optional.of(link));
+    when(repository.registerView(eq("timed"), any()))
+        .thenReturn(1);
+
+    service.resolve("timed", null, null, context);
+
+    for (String stage : new String[] { "db_lookup", "state_check", "password", "view_count", "audit" }) {
+      assertEquals(1, meterRegistry.get("secure_link_resolve_stage_duration_seconds")
+          .tag("stage", stage)
+          .timer()
+          .count(), stage);
+    }
+    assertEquals(0, meterRegistry.get("secure_link_resolve_stage_duration_seconds")
+        .tag("stage", "file_check")
+        .timer()
+        .count());
+    assertEquals(1.0, meterRegistry.get("secure_link_resolve_success_total").counter().count());
+  }
+
+  @Test
+  @DisplayName("Deve lançar 410 quando a atualização condicional for rejeitada por revogação concorrente")
+  void shouldDenyWhenConditionalUpdateIsRejected() {
+    SecureLink active = new SecureLink(
+        "race",
+        "https://example.com",
+        OffsetDateTime.now().plusHours(1),
+        5);
+
+    SecureLink revoked = new SecureLink(
+        "race",
+        "https://example.com",
+        OffsetDateTime.now().plusHours(1),
+        5);
+    revoked.revoke();
+
+    when(repository.findByShortCode("race"))
+        .thenReturn(Optional.of(active))
+        .thenReturn(Optional.of(revoked));
+    when(repository.registerView(eq("race"), any()))
+        .thenReturn(0);
+
+    ResponseStatusException ex = assertThrows(
+        ResponseStatusException.class,
+        () -> service.resolve("race", null, null, context));
+
+    assertEquals(HttpStatus.GONE, ex.getStatusCode());
+
+    verify(auditService)
+        .audit("race", AccessResult.REVOKED,
+            context.ipAddress(), context.userAgent());
+  }
+
+  @Test
+  @DisplayName("Deve emitir grant de acesso após senha válida")
+  void shouldIssueGrantAfterValidPassword() {
+    SecureLink link = new SecureLink(
+        "granted",
+        "https://secure.com",
+        OffsetDateTime.now().plusHours(1),
+        null);
+    link.protectWithPassword("hashed");
+
+    when(repository.findByShortCode("granted"))
+        .thenReturn(Optional.of(link));
+    when(passwordEncoder.matches("secret", "hashed"))
+        .thenReturn(true);
+    when(repository.registerView(eq("granted"), any()))
+        .thenReturn(1);
+
+    ResolveResultDto result = service.resolve("granted", "secret", null, context);
+
+    assertNotNull(result.accessGrant());
+    assertTrue(grantSigner.verify(result.accessGrant(), "granted"));
+  }
+
+  @Test
+  @DisplayName("Não deve verificar senha quando grant válido for informado")
+  void shouldSkipPasswordCheckWithValidGrant() {
+    SecureLink link = new SecureLink(
+        "granted",
+        "https://secure.com",
+        OffsetDateTime.now().plusHours(1),
+        null);
+    link.protectWithPassword("hashed");
+
+    when(repository.findByShortCode("granted"))
+        .thenReturn(Optional.of(link));
+    when(repository.registerView(eq("granted"), any()))
+        .thenReturn(1);
+
+    ResolveResultDto result = service.resolve("granted", null, grantSigner.issue("granted"), context);
+
+    assertEquals(LinkType.REDIRECT, result.type());
+    assertNull(result.accessGrant());
+    verify(passwordEncoder, never()).matches(any(), any());
+  }
+
+  @Test
+  @DisplayName("Deve exigir senha quando grant pertencer a outro link")
+  void shouldRejectGrantIssuedForAnotherLink() {
+    SecureLink link = new SecureLink(
+        "granted",
+        "https://secure.com",
+        OffsetDateTime.now().plusHours(1),
+        null);
+    link.protectWithPassword("hashed");
+
+    when(repository.findByShortCode("granted"))
+        .thenReturn(Optional.of(link));
+
+    ResponseStatusException ex = assertThrows(
+        ResponseStatusException.class,
+        () -> service.resolve("granted", null, grantSigner.issue("other"), context));
+
+    assertEquals(HttpStatus.UNAUTHORIZED, ex.getStatusCode());
+
+    verify(auditService)
+        .audit("granted", AccessResult.PASSWORD_REQUIRED,
+            context.ipAddress(), context.userAgent());
+  }
 }
@@ -8,9 +8,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.Mockito.*;
@@ -19,7 +22,12 @@ import static org.junit.jupiter.api.Assertions.*;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
+import br.com.walyson.secure_link.config.LinkRevokeProperties;
 import br.com.walyson.secure_link.domain.SecureLink;
+import br.com.walyson.secure_link.dto.RevokeLinksRequestDto;
+import br.com.walyson.secure_link.dto.RevokeLinksResultDto;
+import br.com.walyson.secure_link.infra.cache.SecureLinkMetadataCache;
+import br.com.walyson.secure_link.infra.scheduler.LinkExpirationQueue;
 import br.com.walyson.secure_link.service.impl.RevokeLinkServiceImpl;
 import br.com.walyson.secure_link.repository.SecureLinkRepository;
 
@@ -29,13 +37,25 @@ class RevokeLinkServiceTest {
   @Mock
   private SecureLinkRepository repository;
 
+  @Mock
+  private SecureLinkMetadataCache metadataCache;
+
+  @Mock
+  private LinkExpirationQueue expirationQueue;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
   private MeterRegistry meterRegistry;
   private RevokeLinkServiceImpl service;
 
   @BeforeEach
   void setUp() {
     meterRegistry = new SimpleMeterRegistry();
-    service = new RevokeLinkServiceImpl(repository, meterRegistry);
+    LinkRevokeProperties properties = new LinkRevokeProperties();
+    properties.setChunkSize(2);
+    service = new RevokeLinkServiceImpl(repository, meterRegistry, metadataCache, expirationQueue,
+        transactionManager, properties);
   }
 
   @Test
@@ -53,7 +73,10 @@ class RevokeLinkServiceTest {
     service.revoke("abc123");
 
     assertTrue(link.isRevoked());
+    assertNotNull(link.getStatusChangedAt());
     verify(repository).save(link);
+    verify(metadataCache).invalidate("abc123");
+    verify(expirationQueue).cancel("abc123");
   }
 
   @Test
@@ -87,5 +110,58 @@ class RevokeLinkServiceTest {
     service.revoke("revoked");
 
     verify(repository, never()).save(any());
+    verify(metadataCache, never()).invalidate(any());
+  }
+
+  @Test
+  @DisplayName("Deve revogar lista de códigos em blocos e contar os inexistentes")
+  void shouldRevokeShortCodesInChunks() {
+    when(repository.findExistingShortCodes(List.of("aaa", "bbb"))).thenReturn(List.of("aaa", "bbb"));
+    when(repository.findExistingShortCodes(List.of("ccc"))).thenReturn(List.of());
+    when(repository.revokeByShortCodes(eq(List.of("aaa", "bbb")), any())).thenReturn(1);
+
+    RevokeLinksResultDto result = service.revokeAll(
+        new RevokeLinksRequestDto(Arrays.asList("aaa", "bbb", "ccc", "aaa", null), null, null));
+
+    assertEquals(new RevokeLinksResultDto(2, 1, 1), result);
+    verify(repository, times(1)).revokeByShortCodes(any(), any());
+    verify(metadataCache).invalidateAll(List.of("aaa", "bbb"));
+    verify(expirationQueue).cancel("aaa");
+    verify(expirationQueue).cancel("bbb");
+    verify(repository, never()).findByShortCode(any());
+    assertEquals(1.0, meterRegistry.get("secure_link_revoked_total").counter().count());
+  }
+
+  @Test
+  @DisplayName("Deve revogar links criados no período até esgotar os blocos")
+  void shouldRevokeLinksCreatedInRange() {
+    OffsetDateTime from = OffsetDateTime.now().minusDays(1);
+
+    when(repository.findShortCodesToRevoke(eq(from), any(), any()))
+        .thenReturn(List.of("aaa", "bbb"), List.of("ccc"));
+    when(repository.revokeByShortCodes(eq(List.of("aaa", "bbb")), any())).thenReturn(2);
+    when(repository.revokeByShortCodes(eq(List.of("ccc")), any())).thenReturn(1);
+
+    RevokeLinksResultDto result = service.revokeAll(new RevokeLinksRequestDto(null, from, null));
+
+    assertEquals(new RevokeLinksResultDto(3, 3, 0), result);
+    verify(repository, times(2)).findShortCodesToRevoke(eq(from), any(), any());
+    verify(metadataCache).invalidateAll(List.of("ccc"));
+    verify(expirationQueue).cancel("ccc");
+  }
+
+  @Test
+  @DisplayName("Deve exigir códigos ou período, mas não ambos")
+  void shouldRequireExactlyOneCriterion() {
+    OffsetDateTime from = OffsetDateTime.now().minusDays(1);
+
+    ResponseStatusException neither = assertThrows(ResponseStatusException.class,
+        () -> service.revokeAll(new RevokeLinksRequestDto(List.of(), null, null)));
+    ResponseStatusException both = assertThrows(ResponseStatusException.class,
+        () -> service.revokeAll(new RevokeLinksRequestDto(List.of("aaa"), from, null)));
+
+    assertEquals(HttpStatus.BAD_REQUEST, neither.getStatusCode());
+    assertEquals(HttpStatus.BAD_REQUEST, both.getStatusCode());
+    verifyNoInteractions(repository);
   }
 }
@@ -14,9 +14,16 @@ import java.util.List;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
-import br.com.walyson.secure_link.domain.SecureLink;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.com.walyson.secure_link.config.LinkExpirationProperties;
+import br.com.walyson.secure_link.infra.cache.SecureLinkMetadataCache;
 import br.com.walyson.secure_link.service.impl.SecureLinkExpirationServiceImpl;
 import br.com.walyson.secure_link.repository.SecureLinkRepository;
+import br.com.walyson.secure_link.repository.projection.ExpiringLinkProjection;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class SecureLinkExpirationServiceTest {
@@ -24,49 +31,71 @@ class SecureLinkExpirationServiceTest {
   @Mock
   private SecureLinkRepository repository;
 
+  @Mock
+  private SecureLinkMetadataCache metadataCache;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private static final OffsetDateTime EPOCH = OffsetDateTime.parse("1970-01-01T00:00:00Z");
+
+  private MeterRegistry meterRegistry;
   private SecureLinkExpirationServiceImpl service;
 
   @BeforeEach
   void setUp() {
-    service = new SecureLinkExpirationServiceImpl(repository);
+    meterRegistry = new SimpleMeterRegistry();
+    LinkExpirationProperties properties = new LinkExpirationProperties();
+    properties.setChunkSize(2);
+
+    service = new SecureLinkExpirationServiceImpl(repository, metadataCache, transactionManager, properties,
+        meterRegistry);
   }
 
   @Test
-  @DisplayName("Deve expirar links vencidos")
+  @DisplayName("Deve expirar links vencidos em lotes paginados pelo vencimento e código")
   void shouldExpireLinks() {
-    SecureLink link1 = new SecureLink(
-        "l1",
-        "url",
-        OffsetDateTime.now().minusMinutes(10),
-        5);
-
-    SecureLink link2 = new SecureLink(
-        "l2",
-        "url",
-        OffsetDateTime.now().minusMinutes(20),
-        3);
-
-    when(repository.findLinksToExpire(any()))
-        .thenReturn(List.of(link1, link2));
+    OffsetDateTime expiresAt = OffsetDateTime.parse("2026-01-10T12:00:00Z");
+    when(repository.findLinksToExpire(any(), eq(EPOCH), eq(""), any()))
+        .thenReturn(List.of(expiring("l1", expiresAt.minusMinutes(1)), expiring("l2", expiresAt)));
+    when(repository.findLinksToExpire(any(), eq(expiresAt), eq("l2"), any()))
+        .thenReturn(List.of(expiring("l3", expiresAt)));
+    when(repository.expireByShortCodes(eq(List.of("l1", "l2")), any())).thenReturn(2);
+    when(repository.expireByShortCodes(eq(List.of("l3")), any())).thenReturn(1);
 
     int expired = service.expireLinks();
 
-    assertEquals(2, expired);
-    assertTrue(link1.isExpired());
-    assertTrue(link2.isExpired());
-
-    verify(repository).saveAll(List.of(link1, link2));
+    assertEquals(3, expired);
+    verify(metadataCache).invalidateAll(List.of("l1", "l2"));
+    verify(metadataCache).invalidateAll(List.of("l3"));
+    verify(repository, never()).saveAll(any());
+    assertEquals(2, meterRegistry.get("secure_link_expiration_chunk_rows").summary().count());
+    assertEquals(3.0, meterRegistry.get("secure_link_expiration_chunk_rows").summary().totalAmount());
   }
 
   @Test
   @DisplayName("Deve retornar 0 quando não houver links para expirar")
   void shouldReturnZeroWhenNoLinksToExpire() {
-    when(repository.findLinksToExpire(any()))
+    when(repository.findLinksToExpire(any(), eq(EPOCH), eq(""), any()))
         .thenReturn(List.of());
 
     int expired = service.expireLinks();
 
     assertEquals(0, expired);
-    verify(repository).saveAll(List.of());
+    verify(repository, never()).expireByShortCodes(any(), any());
+  }
+
+  private static ExpiringLinkProjection expiring(String shortCode, OffsetDateTime expiresAt) {
+    return new ExpiringLinkProjection() {
+      @Override
+      public String getShortCode() {
+        return shortCode;
+      }
+
+      @Override
+      public OffsetDateTime getExpiresAt() {
+        return expiresAt;
+      }
+    };
   }
 }
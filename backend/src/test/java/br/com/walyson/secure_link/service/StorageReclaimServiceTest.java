@@ -0,0 +1,155 @@
+package br.com.walyson.secure_link.service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import br.com.walyson.secure_link.config.StorageProperties;
+import br.com.walyson.secure_link.domain.SecureLink;
+import br.com.walyson.secure_link.dto.StorageReclaimResultDto;
+import br.com.walyson.secure_link.infra.storage.BlobStore;
+import br.com.walyson.secure_link.infra.storage.ShardedFileSystemBackend;
+import br.com.walyson.secure_link.repository.SecureLinkRepository;
+import br.com.walyson.secure_link.repository.StoredBlobRepository;
+import br.com.walyson.secure_link.service.impl.StorageReclaimServiceImpl;
+import br.com.walyson.secure_link.utils.FileUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class StorageReclaimServiceTest {
+
+  @TempDir
+  Path storage;
+
+  @Mock
+  private SecureLinkRepository linkRepository;
+
+  @Mock
+  private StoredBlobRepository blobRepository;
+
+  @Mock
+  private BlobStore blobStore;
+
+  private MeterRegistry meterRegistry;
+  private StorageProperties properties;
+  private FileUtils fileUtils;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    properties = new StorageProperties();
+    properties.setPath(storage.toString() + "/");
+    properties.getReclaim().setMaxDeletesPerSecond(1000);
+    fileUtils = new FileUtils(properties, List.of(new ShardedFileSystemBackend(properties)));
+  }
+
+  @Test
+  @DisplayName("Deve liberar os arquivos de links inativos após o período de carência")
+  void shouldReleaseLinksPastGracePeriod() {
+    properties.getReclaim().setOrphanScanEnabled(false);
+    SecureLink first = inactiveLink("abc123");
+    SecureLink second = inactiveLink("def456");
+
+    when(linkRepository.findLinksToReclaim(any(), any())).thenReturn(List.of(first, second));
+    doAnswer(invocation -> {
+      invocation.<SecureLink>getArgument(0).setBlobReleased(true);
+      return null;
+    }).when(blobStore).release(any(SecureLink.class));
+    when(linkRepository.countLinksToReclaim(any())).thenReturn(0L);
+
+    StorageReclaimResultDto result = service().reclaim();
+
+    assertEquals(2, result.released());
+    assertEquals(0, result.backlog());
+    verify(blobStore).release(first);
+    verify(blobStore).release(second);
+    verify(linkRepository).findLinksToReclaim(
+      argThat(cutoff -> cutoff.isBefore(OffsetDateTime.now().minusHours(23))), any());
+  }
+
+  @Test
+  @DisplayName("Deve apenas reportar arquivos órfãos quando a remoção estiver desligada")
+  void shouldReportOrphansWithoutDeleting() throws Exception {
+    Path orphan = staleIncomingFile("orphan.bin");
+
+    StorageReclaimResultDto result = service().reclaim();
+
+    assertEquals(1, result.orphansFound());
+    assertEquals(0, result.orphansDeleted());
+    assertTrue(Files.exists(orphan));
+    assertEquals(1.0, meterRegistry.get("secure_link_storage_orphan_files_total").counter().count());
+  }
+
+  @Test
+  @DisplayName("Deve apagar arquivos órfãos antigos e preservar os referenciados")
+  void shouldDeleteOnlyUnreferencedOrphans() throws Exception {
+    properties.getReclaim().setDeleteOrphans(true);
+    Path orphan = staleIncomingFile("orphan.bin");
+    Path referenced = staleIncomingFile("referenced.bin");
+    Path recent = Files.writeString(storage.resolve("incoming").resolve("recent.bin"), "data");
+
+    when(linkRepository.existsByFilePath(referenced.toString())).thenReturn(true);
+
+    StorageReclaimResultDto result = service().reclaim();
+
+    assertEquals(1, result.orphansDeleted());
+    assertFalse(Files.exists(orphan));
+    assertTrue(Files.exists(referenced));
+    assertTrue(Files.exists(recent));
+    verify(blobStore).recordReclaimedBytes(4);
+  }
+
+  @Test
+  @DisplayName("Deve preservar upload em incoming/ mais antigo que a carência, mas dentro da carência de uploads")
+  void shouldKeepStagedUploadsWithinIncomingGracePeriod() throws Exception {
+    properties.getReclaim().setDeleteOrphans(true);
+    Path staged = incomingFile("staged.bin", Duration.ofDays(2));
+
+    StorageReclaimResultDto result = service().reclaim();
+
+    assertEquals(0, result.orphansFound());
+    assertTrue(Files.exists(staged));
+  }
+
+  private StorageReclaimServiceImpl service() {
+    return new StorageReclaimServiceImpl(linkRepository, blobRepository, blobStore, fileUtils, properties,
+        meterRegistry);
+  }
+
+  private SecureLink inactiveLink(String shortCode) {
+    SecureLink link = new SecureLink(shortCode, "/storage/" + shortCode, "file.txt", OffsetDateTime.now(), null);
+    link.setId(UUID.randomUUID());
+    link.expire();
+    return link;
+  }
+
+  private Path staleIncomingFile(String name) throws Exception {
+    return incomingFile(name, Duration.ofDays(4));
+  }
+
+  private Path incomingFile(String name, Duration age) throws Exception {
+    Path directory = Files.createDirectories(storage.resolve("incoming"));
+    Path file = Files.writeString(directory.resolve(name), "data");
+    Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(age)));
+    return file;
+  }
+}
@@ -13,9 +13,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import org.springframework.http.HttpStatus;
-import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
 import static org.mockito.Mockito.*;
@@ -23,7 +21,10 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import br.com.walyson.secure_link.domain.SecureLink;
 import br.com.walyson.secure_link.dto.CreateLinkResponseDto;
-import br.com.walyson.secure_link.repository.SecureLinkRepository;
+import br.com.walyson.secure_link.dto.StoredFileDto;
+import br.com.walyson.secure_link.infra.filter.ShortCodeFilter;
+import br.com.walyson.secure_link.infra.scheduler.LinkExpirationQueue;
+import br.com.walyson.secure_link.infra.storage.BlobStore;
 import br.com.walyson.secure_link.service.impl.UploadLinkServiceImpl;
 import br.com.walyson.secure_link.utils.CodeUtils;
 import br.com.walyson.secure_link.utils.FileUtils;
@@ -35,8 +36,8 @@ import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 @ExtendWith(MockitoExtension.class)
 class UploadLinkServiceTest {
 
-  @Mock
-  private SecureLinkRepository repository;
+  private static final String SHA256 = "ed7002b439e9ac845f22357d822bac1444730fbdb6016d3ec9432297b9ec9f73";
+  private static final String BLOB_PATH = "/storage/blobs/" + SHA256;
 
   @Mock
   private CodeUtils codeUtils;
@@ -50,6 +51,15 @@ class UploadLinkServiceTest {
   @Mock
   private LinkTtlProperties linkTtlProperties;
 
+  @Mock
+  private ShortCodeFilter shortCodeFilter;
+
+  @Mock
+  private BlobStore blobStore;
+
+  @Mock
+  private LinkExpirationQueue expirationQueue;
+
   private MeterRegistry meterRegistry;
 
   @InjectMocks
@@ -62,28 +72,24 @@ class UploadLinkServiceTest {
     service = new UploadLinkServiceImpl(
         codeUtils,
         fileUtils,
-        repository,
         meterRegistry,
         passwordEncoder,
-        linkTtlProperties);
+        linkTtlProperties,
+        shortCodeFilter,
+        blobStore,
+        expirationQueue);
   }
 
   @Test
   @DisplayName("Deve realizar upload de arquivo e criar link com sucesso")
   void shouldCreateLinkFromUpload() {
-    MultipartFile file = new MockMultipartFile(
-        "file",
-        "test.txt",
-        "text/plain",
-        "content".getBytes());
+    StoredFileDto file = storedFile(7);
 
     OffsetDateTime expiresAt = OffsetDateTime.now().plusHours(1);
     Integer maxViews = 3;
 
-    when(codeUtils.generateUniqueShortCode()).thenReturn("abc123");
-    when(fileUtils.storeFile(any())).thenReturn("stored.txt");
-    when(fileUtils.generateFilePath("stored.txt"))
-        .thenReturn("/storage/stored.txt");
+    when(codeUtils.generateShortCode()).thenReturn("abc123");
+    when(blobStore.store(any())).thenReturn(blob());
     when(codeUtils.generateAccessUrl("abc123"))
         .thenReturn("http://localhost/l/abc123");
 
@@ -93,13 +99,33 @@ class UploadLinkServiceTest {
     assertEquals("abc123", response.shortCode());
     assertEquals(maxViews, response.maxViews());
 
-    verify(repository).save(any(SecureLink.class));
+    verify(codeUtils).persistWithUniqueShortCode(argThat(link ->
+        BLOB_PATH.equals(link.getFilePath())
+            && Long.valueOf(7).equals(link.getFileSize())
+            && SHA256.equals(link.getFileSha256())));
+    verify(shortCodeFilter).register("abc123");
+  }
+
+  @Test
+  @DisplayName("Deve liberar a referência do blob quando a persistência falhar")
+  void shouldReleaseBlobWhenPersistFails() {
+    when(codeUtils.generateShortCode()).thenReturn("fail123");
+    when(blobStore.store(any())).thenReturn(blob());
+    doThrow(new IllegalStateException("db down"))
+        .when(codeUtils).persistWithUniqueShortCode(any());
+
+    assertThrows(
+        IllegalStateException.class,
+        () -> service.upload(storedFile(7), OffsetDateTime.now().plusHours(1), 1, null));
+
+    verify(blobStore).release(SHA256);
+    verify(shortCodeFilter, never()).register(any());
   }
 
   @Test
   @DisplayName("Deve lançar 400 quando arquivo estiver vazio")
   void shouldThrowBadRequestWhenFileIsEmpty() {
-    MultipartFile emptyFile = new MockMultipartFile("file", new byte[0]);
+    StoredFileDto emptyFile = storedFile(0);
 
     ResponseStatusException ex = assertThrows(
         ResponseStatusException.class,
@@ -108,22 +134,18 @@ class UploadLinkServiceTest {
     assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
     assertEquals("File is required", ex.getReason());
 
-    verify(repository, never()).save(any());
+    verify(codeUtils, never()).persistWithUniqueShortCode(any());
+    verify(blobStore, never()).store(any());
+    verify(fileUtils).delete("/storage/stored.txt");
   }
 
   @Test
   @DisplayName("Deve usar TTL default quando expiresAt for nulo")
   void shouldUseDefaultTtlWhenExpiresAtIsNull() {
-    MultipartFile file = new MockMultipartFile(
-        "file",
-        "test.txt",
-        "text/plain",
-        "content".getBytes());
-
-    when(codeUtils.generateUniqueShortCode()).thenReturn("ttl123");
-    when(fileUtils.storeFile(any())).thenReturn("stored.txt");
-    when(fileUtils.generateFilePath("stored.txt"))
-        .thenReturn("/storage/stored.txt");
+    StoredFileDto file = storedFile(7);
+
+    when(codeUtils.generateShortCode()).thenReturn("ttl123");
+    when(blobStore.store(any())).thenReturn(blob());
     when(codeUtils.generateAccessUrl("ttl123"))
         .thenReturn("http://localhost/l/ttl123");
     when(linkTtlProperties.getDefaultTtl())
@@ -134,22 +156,16 @@ class UploadLinkServiceTest {
     assertNotNull(response);
     assertNotNull(response.expiresAt());
 
-    verify(repository).save(any(SecureLink.class));
+    verify(codeUtils).persistWithUniqueShortCode(any(SecureLink.class));
   }
 
   @Test
   @DisplayName("Deve criar link protegido por senha quando password for informado")
   void shouldCreatePasswordProtectedLink() {
-    MultipartFile file = new MockMultipartFile(
-        "file",
-        "test.txt",
-        "text/plain",
-        "content".getBytes());
-
-    when(codeUtils.generateUniqueShortCode()).thenReturn("secure123");
-    when(fileUtils.storeFile(any())).thenReturn("stored.txt");
-    when(fileUtils.generateFilePath("stored.txt"))
-        .thenReturn("/storage/stored.txt");
+    StoredFileDto file = storedFile(7);
+
+    when(codeUtils.generateShortCode()).thenReturn("secure123");
+    when(blobStore.store(any())).thenReturn(blob());
     when(codeUtils.generateAccessUrl("secure123"))
         .thenReturn("http://localhost/l/secure123");
     when(passwordEncoder.encode("secret"))
@@ -158,7 +174,15 @@ class UploadLinkServiceTest {
     service.upload(file, OffsetDateTime.now().plusHours(1), 2, "secret");
 
     verify(passwordEncoder).encode("secret");
-    verify(repository).save(argThat(
+    verify(codeUtils).persistWithUniqueShortCode(argThat(
         SecureLink::isPasswordProtected));
   }
+
+  private static StoredFileDto storedFile(long size) {
+    return new StoredFileDto("/storage/stored.txt", "test.txt", size, SHA256);
+  }
+
+  private static StoredFileDto blob() {
+    return new StoredFileDto(BLOB_PATH, "test.txt", 7, SHA256);
+  }
 }
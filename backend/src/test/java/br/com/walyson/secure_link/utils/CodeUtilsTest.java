@@ -0,0 +1,158 @@
+package br.com.walyson.secure_link.utils;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import br.com.walyson.secure_link.domain.SecureLink;
+import br.com.walyson.secure_link.repository.SecureLinkRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class CodeUtilsTest {
+
+  @Mock
+  private SecureLinkRepository repository;
+
+  private MeterRegistry meterRegistry;
+  private CodeUtils codeUtils;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    codeUtils = new CodeUtils(repository, meterRegistry);
+  }
+
+  @Test
+  @DisplayName("Deve persistir sem consultar existência do código")
+  void shouldPersistWithoutExistenceCheck() {
+    SecureLink link = new SecureLink("abc12345", "https://example.com", OffsetDateTime.now().plusHours(1), null);
+
+    codeUtils.persistWithUniqueShortCode(link);
+
+    verify(repository).saveAndFlush(link);
+    verify(repository, never()).existsByShortCode(any());
+    assertEquals("abc12345", link.getShortCode());
+  }
+
+  @Test
+  @DisplayName("Deve gerar novo código quando a chave única rejeitar o insert")
+  void shouldRetryWithNewCodeOnCollision() {
+    SecureLink link = new SecureLink("taken123", "https://example.com", OffsetDateTime.now().plusHours(1), null);
+    List<String> attempted = new ArrayList<>();
+
+    when(repository.saveAndFlush(link)).thenAnswer(invocation -> {
+      attempted.add(link.getShortCode());
+      if (attempted.size() == 1) {
+        throw new DataIntegrityViolationException("duplicate short_code");
+      }
+      return link;
+    });
+    when(repository.existsByShortCode("taken123")).thenReturn(true);
+
+    codeUtils.persistWithUniqueShortCode(link);
+
+    assertEquals(2, attempted.size());
+    assertNotEquals("taken123", link.getShortCode());
+    assertEquals(link.getShortCode(), attempted.get(1));
+    assertEquals(1.0, meterRegistry.get("secure_link_short_code_collisions_total").counter().count());
+  }
+
+  @Test
+  @DisplayName("Deve propagar violação que não seja colisão de código")
+  void shouldRethrowOtherIntegrityViolations() {
+    SecureLink link = new SecureLink("abc12345", "https://example.com", OffsetDateTime.now().plusHours(1), null);
+
+    when(repository.saveAndFlush(link)).thenThrow(new DataIntegrityViolationException("not null"));
+    when(repository.existsByShortCode("abc12345")).thenReturn(false);
+
+    assertThrows(DataIntegrityViolationException.class, () -> codeUtils.persistWithUniqueShortCode(link));
+
+    verify(repository, times(1)).saveAndFlush(link);
+  }
+
+  @Test
+  @DisplayName("Deve tentar um código novo a cada colisão e desistir após 5 tentativas")
+  void shouldGiveUpAfterMaxAttempts() {
+    SecureLink link = new SecureLink("abc12345", "https://example.com", OffsetDateTime.now().plusHours(1), null);
+    List<String> attempted = new ArrayList<>();
+    DataIntegrityViolationException duplicate = new DataIntegrityViolationException("duplicate short_code");
+
+    when(repository.saveAndFlush(link)).thenAnswer(invocation -> {
+      attempted.add(link.getShortCode());
+      throw duplicate;
+    });
+    when(repository.existsByShortCode(any())).thenReturn(true);
+
+    DataIntegrityViolationException ex = assertThrows(
+        DataIntegrityViolationException.class,
+        () -> codeUtils.persistWithUniqueShortCode(link));
+
+    assertSame(duplicate, ex);
+    assertEquals(5, attempted.size());
+    assertEquals(5, attempted.stream().distinct().count());
+    verify(repository, times(4)).existsByShortCode(any());
+    assertEquals(4.0, meterRegistry.get("secure_link_short_code_collisions_total").counter().count());
+  }
+
+  @Test
+  @DisplayName("Deve desistir do lote após 5 tentativas com colisão")
+  void shouldGiveUpOnBatchAfterMaxAttempts() {
+    SecureLink link = new SecureLink("aaa11111", "https://a.com", OffsetDateTime.now().plusHours(1), null);
+    List<SecureLink> links = List.of(link);
+
+    when(repository.saveAllAndFlush(links)).thenThrow(new DataIntegrityViolationException("duplicate short_code"));
+    when(repository.findExistingShortCodes(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+    assertThrows(DataIntegrityViolationException.class, () -> codeUtils.persistAllWithUniqueShortCodes(links));
+
+    verify(repository, times(5)).saveAllAndFlush(links);
+    assertEquals(4.0, meterRegistry.get("secure_link_short_code_collisions_total").counter().count());
+  }
+
+  @Test
+  @DisplayName("Deve trocar apenas os códigos já usados quando o lote colidir")
+  void shouldReplaceTakenCodesInBatch() {
+    SecureLink first = new SecureLink("aaa11111", "https://a.com", OffsetDateTime.now().plusHours(1), null);
+    SecureLink second = new SecureLink("bbb22222", "https://b.com", OffsetDateTime.now().plusHours(1), null);
+    SecureLink repeated = new SecureLink("aaa11111", "https://c.com", OffsetDateTime.now().plusHours(1), null);
+    List<SecureLink> links = List.of(first, second, repeated);
+    List<List<String>> attempted = new ArrayList<>();
+
+    when(repository.saveAllAndFlush(links)).thenAnswer(invocation -> {
+      attempted.add(links.stream().map(SecureLink::getShortCode).toList());
+      links.forEach(link -> link.setId(UUID.randomUUID()));
+      if (attempted.size() == 1) {
+        throw new DataIntegrityViolationException("duplicate short_code");
+      }
+      return links;
+    });
+    when(repository.findExistingShortCodes(any())).thenReturn(List.of("bbb22222"));
+
+    codeUtils.persistAllWithUniqueShortCodes(links);
+
+    assertEquals(2, attempted.size());
+    assertEquals("aaa11111", attempted.get(0).get(0));
+    assertNotEquals("aaa11111", attempted.get(0).get(2));
+    assertEquals("aaa11111", first.getShortCode());
+    assertNotEquals("bbb22222", second.getShortCode());
+    assertEquals(attempted.get(0).get(2), repeated.getShortCode());
+    assertEquals(1.0, meterRegistry.get("secure_link_short_code_collisions_total").counter().count());
+  }
+}